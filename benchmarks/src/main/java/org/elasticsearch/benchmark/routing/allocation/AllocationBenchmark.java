@@ -98,7 +98,11 @@ public class AllocationBenchmark {
             "       10|     10|        2|    50",
             "      100|      1|        2|    50",
             "      100|      3|        2|    50",
-            "      100|     10|        2|    50" }
+            "      100|     10|        2|    50",
+
+            // large clusters with 100k shards in total
+            "    10000|      5|        1|   500",
+            "    50000|      1|        1|   500" }
     )
     public String indicesShardsReplicasNodes = "10|1|0|1";
 
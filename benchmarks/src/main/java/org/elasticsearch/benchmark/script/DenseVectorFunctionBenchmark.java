@@ -0,0 +1,145 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.script;
+
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.VectorUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a query vector to {@code dense_vector} doc values the way the {@code script_score} vector functions do when
+ * they rescore a large number of candidates by brute force. The vector functions live in x-pack, so this benchmark
+ * carries copies of their loops over the encoded vectors, which are big-endian floats followed by the magnitude.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(DenseVectorFunctionBenchmark.NUM_VECTORS)
+@State(Scope.Benchmark)
+public class DenseVectorFunctionBenchmark {
+    static final int NUM_VECTORS = 100_000;
+    private static final int INT_BYTES = 4;
+    private static final VarHandle BIG_ENDIAN_FLOAT = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.BIG_ENDIAN);
+
+    @Param({ "128", "768" })
+    public int dims;
+
+    private BytesRef[] vectors;
+    private float[] queryVector;
+    private float[] decoded;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        vectors = new BytesRef[NUM_VECTORS];
+        for (int i = 0; i < NUM_VECTORS; i++) {
+            ByteBuffer byteBuffer = ByteBuffer.allocate(INT_BYTES * (dims + 1));
+            double magnitude = 0;
+            for (int dim = 0; dim < dims; dim++) {
+                float value = random.nextFloat();
+                byteBuffer.putFloat(value);
+                magnitude += value * value;
+            }
+            byteBuffer.putFloat((float) Math.sqrt(magnitude));
+            vectors[i] = new BytesRef(byteBuffer.array());
+        }
+        queryVector = new float[dims];
+        for (int dim = 0; dim < dims; dim++) {
+            queryVector[dim] = random.nextFloat();
+        }
+        decoded = new float[dims];
+    }
+
+    /**
+     * The scalar loop over a {@link ByteBuffer} that the vector functions used before reading the encoded vector directly.
+     */
+    @Benchmark
+    public void dotProductByteBuffer(Blackhole bh) {
+        for (BytesRef vector : vectors) {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(vector.bytes, vector.offset, vector.length);
+            double dotProduct = 0;
+            for (float queryValue : queryVector) {
+                dotProduct += queryValue * byteBuffer.getFloat();
+            }
+            bh.consume(dotProduct);
+        }
+    }
+
+    @Benchmark
+    public void decodeAndDotProduct(Blackhole bh) {
+        for (BytesRef vector : vectors) {
+            for (int dim = 0; dim < decoded.length; dim++) {
+                decoded[dim] = decodeFloat(vector, dim);
+            }
+            bh.consume(VectorUtil.dotProduct(queryVector, decoded));
+        }
+    }
+
+    @Benchmark
+    public void dotProduct(Blackhole bh) {
+        for (BytesRef vector : vectors) {
+            double dotProduct = 0;
+            for (int dim = 0; dim < queryVector.length; dim++) {
+                dotProduct += queryVector[dim] * decodeFloat(vector, dim);
+            }
+            bh.consume(dotProduct);
+        }
+    }
+
+    @Benchmark
+    public void l1Norm(Blackhole bh) {
+        for (BytesRef vector : vectors) {
+            double l1norm = 0;
+            for (int dim = 0; dim < queryVector.length; dim++) {
+                l1norm += Math.abs(queryVector[dim] - decodeFloat(vector, dim));
+            }
+            bh.consume(l1norm);
+        }
+    }
+
+    @Benchmark
+    public void l2Norm(Blackhole bh) {
+        for (BytesRef vector : vectors) {
+            double l2norm = 0;
+            for (int dim = 0; dim < queryVector.length; dim++) {
+                double diff = queryVector[dim] - decodeFloat(vector, dim);
+                l2norm += diff * diff;
+            }
+            bh.consume(Math.sqrt(l2norm));
+        }
+    }
+
+    /**
+     * Reads a dimension of an encoded vector the way {@code VectorEncoderDecoder#decodeFloat} does.
+     */
+    private static float decodeFloat(BytesRef vector, int dim) {
+        return (float) BIG_ENDIAN_FLOAT.get(vector.bytes, vector.offset + dim * INT_BYTES);
+    }
+}
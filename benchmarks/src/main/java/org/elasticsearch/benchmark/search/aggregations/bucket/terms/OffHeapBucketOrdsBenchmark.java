@@ -0,0 +1,93 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.search.aggregations.bucket.terms;
+
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.LongArray;
+import org.elasticsearch.common.util.PageCacheRecycler;
+import org.elasticsearch.search.aggregations.CardinalityUpperBound;
+import org.elasticsearch.search.aggregations.bucket.terms.LongKeyedBucketOrds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares collecting high cardinality terms into {@link LongKeyedBucketOrds} and
+ * counting documents per bucket, the core of a {@code terms} aggregation, with
+ * {@link BigArrays} pages allocated on and off the Java heap.
+ */
+@Fork(2)
+@Warmup(iterations = 10)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(OffHeapBucketOrdsBenchmark.LIMIT)
+@State(Scope.Benchmark)
+public class OffHeapBucketOrdsBenchmark {
+    static final int LIMIT = 1_000_000;
+
+    @Param({ "false", "true" })
+    public boolean offHeap;
+
+    /**
+     * The number of distinct terms to collect.
+     */
+    @Param({ "1000", "100000", "1000000" })
+    public long distinctValues;
+
+    private BigArrays bigArrays;
+
+    @Setup
+    public void setup() {
+        PageCacheRecycler recycler = new PageCacheRecycler(
+            Settings.builder().put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), offHeap).build()
+        );
+        bigArrays = new BigArrays(recycler, null, CircuitBreaker.REQUEST);
+    }
+
+    @Benchmark
+    public void terms(Blackhole bh) {
+        try (
+            LongKeyedBucketOrds ords = LongKeyedBucketOrds.build(bigArrays, CardinalityUpperBound.ONE);
+            LongArray docCounts = bigArrays.newLongArray(1, true)
+        ) {
+            LongArray counts = docCounts;
+            for (long i = 0; i < LIMIT; i++) {
+                long ord = ords.add(0, (i * 7919) % distinctValues);
+                if (ord < 0) {
+                    ord = -1 - ord;
+                } else {
+                    counts = bigArrays.grow(counts, ord + 1);
+                }
+                counts.increment(ord, 1);
+            }
+            if (ords.size() != distinctValues) {
+                throw new IllegalArgumentException("Expected [" + distinctValues + "] but found [" + ords.size() + "]");
+            }
+            bh.consume(counts);
+            if (counts != docCounts) {
+                counts.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.translog;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.core.internal.io.IOUtils;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.IndexSettings;
+import org.elasticsearch.index.seqno.SequenceNumbers;
+import org.elasticsearch.index.shard.ShardId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates over all operations of a translog generation that is no longer written to, like peer recovery and local
+ * recovery from the translog do, reading the file with positional reads or through a memory mapping.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TranslogSnapshotBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean mmap;
+
+    @Param({ "100000" })
+    public int numOperations;
+
+    /**
+     * The size of the source of each operation in bytes.
+     */
+    @Param({ "100", "1000" })
+    public int sourceSize;
+
+    private Path path;
+    private Translog translog;
+    private TranslogReader reader;
+
+    @Setup
+    public void setup() throws IOException {
+        path = Files.createTempDirectory("translog");
+        final Settings settings = Settings.builder()
+            .put("index.number_of_replicas", 0)
+            .put("index.number_of_shards", 1)
+            .put("index.version.created", Version.CURRENT)
+            .build();
+        final IndexSettings indexSettings = new IndexSettings(IndexMetadata.builder("index").settings(settings).build(), settings);
+        final ShardId shardId = new ShardId(new Index("index", "_na_"), 0);
+        final TranslogConfig config = new TranslogConfig(shardId, path, indexSettings, BigArrays.NON_RECYCLING_INSTANCE);
+        final String translogUUID = Translog.createEmptyTranslog(path, SequenceNumbers.NO_OPS_PERFORMED, shardId, 1);
+        translog = new Translog(
+            config,
+            translogUUID,
+            new TranslogDeletionPolicy(),
+            () -> SequenceNumbers.NO_OPS_PERFORMED,
+            () -> 1L,
+            seqNo -> {}
+        );
+        final Random random = new Random(0);
+        final byte[] source = new byte[sourceSize];
+        for (int i = 0; i < numOperations; i++) {
+            random.nextBytes(source);
+            translog.add(new Translog.Index(Integer.toString(i), i, 1, source));
+        }
+        final long generation = translog.currentFileGeneration();
+        translog.rollGeneration();
+        final Checkpoint checkpoint = Checkpoint.read(path.resolve(Translog.getCommitCheckpointFileName(generation)));
+        reader = translog.openReader(path.resolve(Translog.getFilename(generation)), checkpoint);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        IOUtils.close(reader, translog);
+        IOUtils.rm(path);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) throws IOException {
+        try (TranslogSnapshot snapshot = new TranslogSnapshot(reader, reader.sizeInBytes(), mmap)) {
+            Translog.Operation operation;
+            while ((operation = snapshot.next()) != null) {
+                bh.consume(operation);
+            }
+        }
+    }
+}
@@ -51,6 +51,7 @@ public class StatsResponseTests extends AbstractResponseTestCase<EnrichStatsActi
                     randomNonNegativeLong(),
                     randomNonNegativeLong(),
                     randomNonNegativeLong(),
+                    randomNonNegativeLong(),
                     randomNonNegativeLong()
                 )
             );
@@ -187,14 +187,17 @@ class DatabaseReaderLazyLoader implements Closeable {
         InetAddress ipAddress,
         CheckedBiFunction<DatabaseReader, InetAddress, Optional<T>, Exception> responseProvider
     ) {
-        SpecialPermission.check();
-        return AccessController.doPrivileged((PrivilegedAction<T>) () -> cache.putIfAbsent(ipAddress, databasePath.toString(), ip -> {
-            try {
-                return responseProvider.apply(get(), ipAddress).orElse(null);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        }));
+        // only a cache miss needs the elevated permissions for jackson, so cache hits skip the access control context
+        return cache.putIfAbsent(ipAddress, databasePath.toString(), ip -> {
+            SpecialPermission.check();
+            return AccessController.doPrivileged((PrivilegedAction<AbstractResponse>) () -> {
+                try {
+                    return responseProvider.apply(get(), ip).orElse(null);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        });
     }
 
     DatabaseReader get() throws IOException {
@@ -15,6 +15,9 @@ import org.elasticsearch.common.cache.CacheBuilder;
 
 import java.net.InetAddress;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -23,16 +26,39 @@ import java.util.function.Function;
  * This cache differs from the maxmind's {@link NodeCache} such that this cache stores the deserialized Json objects to avoid the
  * cost of deserialization for each lookup (cached or not). This comes at slight expense of higher memory usage, but significant
  * reduction of CPU usage.
+ *
+ * Every geoip processor of every write thread looks up its ip address in this cache, and each cache hit takes the lock that
+ * guards the LRU list of a {@link Cache}. The entries are therefore spread over several independent caches, chosen by the hash
+ * of the key, so that concurrent lookups rarely wait on the same lock. Each of these caches holds an equal share of the
+ * configured maximum number of entries, and evicts its least recently used entries independently of the others.
  */
 final class GeoIpCache {
-    private final Cache<CacheKey, AbstractResponse> cache;
+
+    private static final int MAX_STRIPES = 16;
+    private static final long MIN_ENTRIES_PER_STRIPE = 128;
+
+    private final List<Cache<CacheKey, AbstractResponse>> stripes;
 
     // package private for testing
     GeoIpCache(long maxSize) {
         if (maxSize < 0) {
             throw new IllegalArgumentException("geoip max cache size must be 0 or greater");
         }
-        this.cache = CacheBuilder.<CacheKey, AbstractResponse>builder().setMaximumWeight(maxSize).build();
+        int numStripes = (int) Math.min(MAX_STRIPES, Math.max(1, maxSize / MIN_ENTRIES_PER_STRIPE));
+        List<Cache<CacheKey, AbstractResponse>> stripes = new ArrayList<>(numStripes);
+        for (int i = 0; i < numStripes; i++) {
+            // hand out the remainder of the division to the first stripes, so that the sizes add up to maxSize
+            long stripeSize = maxSize / numStripes + (i < maxSize % numStripes ? 1 : 0);
+            stripes.add(CacheBuilder.<CacheKey, AbstractResponse>builder().setMaximumWeight(stripeSize).build());
+        }
+        this.stripes = Collections.unmodifiableList(stripes);
+    }
+
+    private Cache<CacheKey, AbstractResponse> stripe(CacheKey cacheKey) {
+        if (stripes.size() == 1) {
+            return stripes.get(0);
+        }
+        return stripes.get(Math.floorMod(cacheKey.hashCode(), stripes.size()));
     }
 
     @SuppressWarnings("unchecked")
@@ -44,6 +70,7 @@ final class GeoIpCache {
 
         // can't use cache.computeIfAbsent due to the elevated permissions for the jackson (run via the cache loader)
         CacheKey cacheKey = new CacheKey(ip, databasePath);
+        Cache<CacheKey, AbstractResponse> cache = stripe(cacheKey);
         // intentionally non-locking for simplicity...it's OK if we re-put the same key/value in the cache during a race condition.
         AbstractResponse response = cache.get(cacheKey);
         if (response == null) {
@@ -58,23 +85,29 @@ final class GeoIpCache {
     // only useful for testing
     AbstractResponse get(InetAddress ip, String databasePath) {
         CacheKey cacheKey = new CacheKey(ip, databasePath);
-        return cache.get(cacheKey);
+        return stripe(cacheKey).get(cacheKey);
     }
 
     public int purgeCacheEntriesForDatabase(Path databaseFile) {
         String databasePath = databaseFile.toString();
         int counter = 0;
-        for (CacheKey key : cache.keys()) {
-            if (key.databasePath.equals(databasePath)) {
-                cache.invalidate(key);
-                counter++;
+        for (Cache<CacheKey, AbstractResponse> cache : stripes) {
+            for (CacheKey key : cache.keys()) {
+                if (key.databasePath.equals(databasePath)) {
+                    cache.invalidate(key);
+                    counter++;
+                }
             }
         }
         return counter;
     }
 
     public int count() {
-        return cache.count();
+        int count = 0;
+        for (Cache<CacheKey, AbstractResponse> cache : stripes) {
+            count += cache.count();
+        }
+        return count;
     }
 
     /**
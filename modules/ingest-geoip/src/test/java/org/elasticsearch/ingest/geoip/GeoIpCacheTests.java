@@ -11,8 +11,12 @@ package org.elasticsearch.ingest.geoip;
 import com.maxmind.geoip2.model.AbstractResponse;
 
 import org.elasticsearch.common.network.InetAddresses;
+import org.elasticsearch.core.PathUtils;
 import org.elasticsearch.test.ESTestCase;
 
+import java.net.InetAddress;
+
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.Mockito.mock;
 
 public class GeoIpCacheTests extends ESTestCase {
@@ -47,6 +51,38 @@ public class GeoIpCacheTests extends ESTestCase {
         assertSame(response2, cache.get(InetAddresses.forString("127.0.0.1"), "path/to/db2"));
     }
 
+    public void testStripedCache() {
+        GeoIpCache cache = new GeoIpCache(1000);
+        AbstractResponse response = mock(AbstractResponse.class);
+
+        int numAddresses = randomIntBetween(1, 500);
+        for (int i = 0; i < numAddresses; i++) {
+            InetAddress ip = InetAddresses.forString("10.0." + (i / 256) + "." + (i % 256));
+            assertSame(response, cache.putIfAbsent(ip, "path/to/db1", addr -> response));
+            assertSame(response, cache.putIfAbsent(ip, "path/to/db2", addr -> response));
+        }
+        assertEquals(2 * numAddresses, cache.count());
+        for (int i = 0; i < numAddresses; i++) {
+            InetAddress ip = InetAddresses.forString("10.0." + (i / 256) + "." + (i % 256));
+            assertSame(response, cache.get(ip, "path/to/db1"));
+        }
+
+        assertEquals(numAddresses, cache.purgeCacheEntriesForDatabase(PathUtils.get("path/to/db1")));
+        assertEquals(numAddresses, cache.count());
+        assertNull(cache.get(InetAddresses.forString("10.0.0.0"), "path/to/db1"));
+        assertSame(response, cache.get(InetAddresses.forString("10.0.0.0"), "path/to/db2"));
+    }
+
+    public void testStripedCacheSize() {
+        GeoIpCache cache = new GeoIpCache(1000);
+        AbstractResponse response = mock(AbstractResponse.class);
+        for (int i = 0; i < 2000; i++) {
+            InetAddress ip = InetAddresses.forString("10.0." + (i / 256) + "." + (i % 256));
+            cache.putIfAbsent(ip, "path/to/db", addr -> response);
+        }
+        assertThat(cache.count(), lessThanOrEqualTo(1000));
+    }
+
     public void testThrowsFunctionsException() {
         GeoIpCache cache = new GeoIpCache(1);
         IllegalArgumentException ex = expectThrows(
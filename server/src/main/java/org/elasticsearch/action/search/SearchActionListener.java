@@ -18,7 +18,7 @@ import org.elasticsearch.search.SearchShardTarget;
 abstract class SearchActionListener<T extends SearchPhaseResult> implements ActionListener<T> {
 
     final int requestIndex;
-    private final SearchShardTarget searchShardTarget;
+    final SearchShardTarget searchShardTarget;
 
     protected SearchActionListener(SearchShardTarget searchShardTarget, int shardIndex) {
         assert shardIndex >= 0 : "shard index must be positive";
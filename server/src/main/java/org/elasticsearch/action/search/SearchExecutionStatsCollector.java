@@ -9,6 +9,8 @@
 package org.elasticsearch.action.search;
 
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.node.ResponseCollectorService;
 import org.elasticsearch.search.SearchPhaseResult;
 import org.elasticsearch.search.query.QuerySearchResult;
@@ -20,19 +22,28 @@ import java.util.function.BiFunction;
 /**
  * A wrapper of search action listeners (search results) that unwraps the query
  * result to get the piggybacked queue size and service time EWMA, adding those
- * values to the coordinating nodes' {@link ResponseCollectorService}.
+ * values to the coordinating nodes' {@link ResponseCollectorService}. The
+ * response time is recorded for the node and for the queried shard copy.
  */
 public final class SearchExecutionStatsCollector extends ActionListener.Delegating<SearchPhaseResult, SearchPhaseResult> {
 
     private final String nodeId;
+    @Nullable
+    private final ShardId shardId;
     private final ResponseCollectorService collector;
     private final long startNanos;
 
-    SearchExecutionStatsCollector(ActionListener<SearchPhaseResult> listener, ResponseCollectorService collector, String nodeId) {
+    SearchExecutionStatsCollector(
+        ActionListener<SearchPhaseResult> listener,
+        ResponseCollectorService collector,
+        String nodeId,
+        @Nullable ShardId shardId
+    ) {
         super(Objects.requireNonNull(listener, "listener cannot be null"));
         this.collector = Objects.requireNonNull(collector, "response collector cannot be null");
         this.startNanos = System.nanoTime();
         this.nodeId = nodeId;
+        this.shardId = shardId;
     }
 
     @SuppressWarnings("unchecked")
@@ -42,7 +53,8 @@ public final class SearchExecutionStatsCollector extends ActionListener.Delegati
         return (connection, originalListener) -> new SearchExecutionStatsCollector(
             (ActionListener<SearchPhaseResult>) originalListener,
             service,
-            connection.getNode().getId()
+            connection.getNode().getId(),
+            originalListener.searchShardTarget == null ? null : originalListener.searchShardTarget.getShardId()
         );
     }
 
@@ -56,6 +68,9 @@ public final class SearchExecutionStatsCollector extends ActionListener.Delegati
             // EWMA/queue size may be -1 if the query node doesn't support capturing it
             if (serviceTimeEWMA > 0 && queueSize >= 0) {
                 collector.addNodeStatistics(nodeId, queueSize, responseDuration, serviceTimeEWMA);
+                if (shardId != null) {
+                    collector.addShardStatistics(shardId, nodeId, responseDuration);
+                }
             }
         }
         delegate.onResponse(response);
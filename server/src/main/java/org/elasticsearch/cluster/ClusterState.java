@@ -851,6 +851,9 @@ public class ClusterState implements ToXContentFragment, Diffable<ClusterState>
             if (fromUuid.equals(state.stateUUID) == false) {
                 throw new IncompatibleClusterStateVersionException(state.version, state.stateUUID, toVersion, fromUuid);
             }
+            // lets the builder reuse the routing nodes of the state the diff is applied to if the diff doesn't touch the routing
+            // table contents nor the nodes, rather than rebuilding them from all shards of the cluster on the applier thread
+            builder.previous = state;
             builder.stateUUID(toUuid);
             builder.version(toVersion);
             builder.routingTable(routingTable.apply(state.routingTable));
@@ -432,6 +432,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
     static final String KEY_ALIASES_VERSION = "aliases_version";
     static final String KEY_ROUTING_NUM_SHARDS = "routing_num_shards";
     static final String KEY_SETTINGS = "settings";
+    static final String KEY_MAPPINGS_HASH = "mappings_hash";
     static final String KEY_STATE = "state";
     static final String KEY_MAPPINGS = "mappings";
     static final String KEY_ALIASES = "aliases";
@@ -934,7 +935,11 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
     }
 
     public static IndexMetadata fromXContent(XContentParser parser) throws IOException {
-        return Builder.fromXContent(parser);
+        return Builder.fromXContent(parser, null);
+    }
+
+    public static IndexMetadata fromXContent(XContentParser parser, Map<String, MappingMetadata> mappingsByHash) throws IOException {
+        return Builder.fromXContent(parser, mappingsByHash);
     }
 
     @Override
@@ -1675,7 +1680,12 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             }
             builder.endObject();
 
-            if (context != Metadata.XContentContext.API) {
+            if (context != Metadata.XContentContext.API && params.paramAsBoolean(Metadata.DEDUPLICATED_MAPPINGS_PARAM, false)) {
+                MappingMetadata mmd = indexMetadata.mapping();
+                if (mmd != null) {
+                    builder.field(KEY_MAPPINGS_HASH, mmd.getSha256());
+                }
+            } else if (context != Metadata.XContentContext.API) {
                 builder.startArray(KEY_MAPPINGS);
                 MappingMetadata mmd = indexMetadata.mapping();
                 if (mmd != null) {
@@ -1756,6 +1766,15 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         }
 
         public static IndexMetadata fromXContent(XContentParser parser) throws IOException {
+            return fromXContent(parser, null);
+        }
+
+        /**
+         * Parses index metadata, resolving a mapping that was written by reference to its hash (see
+         * {@link Metadata#DEDUPLICATED_MAPPINGS_PARAM}) against the given map of mappings keyed by hash.
+         */
+        public static IndexMetadata fromXContent(XContentParser parser, @Nullable Map<String, MappingMetadata> mappingsByHash)
+            throws IOException {
             if (parser.currentToken() == null) { // fresh parser? move to the first token
                 parser.nextToken();
             }
@@ -1876,6 +1895,13 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
                         builder.setRoutingNumShards(parser.intValue());
                     } else if (KEY_SYSTEM.equals(currentFieldName)) {
                         builder.system(parser.booleanValue());
+                    } else if (KEY_MAPPINGS_HASH.equals(currentFieldName)) {
+                        final String mappingsHash = parser.text();
+                        final MappingMetadata mappingMetadata = mappingsByHash == null ? null : mappingsByHash.get(mappingsHash);
+                        if (mappingMetadata == null) {
+                            throw new IllegalArgumentException("mapping with hash [" + mappingsHash + "] not found");
+                        }
+                        builder.putMapping(mappingMetadata);
                     } else {
                         throw new IllegalArgumentException("Unexpected field [" + currentFieldName + "]");
                     }
@@ -188,6 +188,12 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
 
     public static final String CONTEXT_MODE_API = XContentContext.API.toString();
 
+    /**
+     * Parameter which, when set, makes non-API renderings of {@link IndexMetadata} refer to their mapping by its hash rather than
+     * embedding it, so that mappings shared by many indices can be stored separately once each.
+     */
+    public static final String DEDUPLICATED_MAPPINGS_PARAM = "deduplicated_mappings";
+
     public static final String GLOBAL_STATE_FILE_PREFIX = "global-";
 
     private static final NamedDiffableValueSerializer<Custom> CUSTOM_VALUE_SERIALIZER = new NamedDiffableValueSerializer<>(Custom.class);
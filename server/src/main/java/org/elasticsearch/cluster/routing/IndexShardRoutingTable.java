@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.Set;
 
 /**
@@ -247,14 +248,19 @@ public class IndexShardRoutingTable implements Iterable<ShardRouting> {
         if (allInitializingShards.isEmpty()) {
             return new PlainShardIterator(
                 shardId,
-                rankShardsAndUpdateStats(shuffler.shuffle(activeShards, seed), collector, nodeSearchCounts)
+                rankShardsAndUpdateStats(shardId, shuffler.shuffle(activeShards, seed), collector, nodeSearchCounts)
             );
         }
 
         ArrayList<ShardRouting> ordered = new ArrayList<>(activeShards.size() + allInitializingShards.size());
-        List<ShardRouting> rankedActiveShards = rankShardsAndUpdateStats(shuffler.shuffle(activeShards, seed), collector, nodeSearchCounts);
+        List<ShardRouting> rankedActiveShards = rankShardsAndUpdateStats(
+            shardId,
+            shuffler.shuffle(activeShards, seed),
+            collector,
+            nodeSearchCounts
+        );
         ordered.addAll(rankedActiveShards);
-        List<ShardRouting> rankedInitializingShards = rankShardsAndUpdateStats(allInitializingShards, collector, nodeSearchCounts);
+        List<ShardRouting> rankedInitializingShards = rankShardsAndUpdateStats(shardId, allInitializingShards, collector, nodeSearchCounts);
         ordered.addAll(rankedInitializingShards);
         return new PlainShardIterator(shardId, ordered);
     }
@@ -279,6 +285,31 @@ public class IndexShardRoutingTable implements Iterable<ShardRouting> {
         return nodeStats;
     }
 
+    /**
+     * Replaces the response time of each node by the response time of its copy of the given shard if it is known, so that a node that is
+     * fast for most shards but slow for this one isn't ranked as if the shard was as cheap to query as the others.
+     */
+    private static Map<String, Optional<ResponseCollectorService.ComputedNodeStats>> getShardCopyStats(
+        final ShardId shardId,
+        final Map<String, Optional<ResponseCollectorService.ComputedNodeStats>> nodeStats,
+        final ResponseCollectorService collector
+    ) {
+        final Map<String, Optional<ResponseCollectorService.ComputedNodeStats>> shardCopyStats = Maps.newMapWithExpectedSize(
+            nodeStats.size()
+        );
+        for (Map.Entry<String, Optional<ResponseCollectorService.ComputedNodeStats>> entry : nodeStats.entrySet()) {
+            final String nodeId = entry.getKey();
+            final OptionalDouble shardResponseTime = collector.getShardResponseTime(shardId, nodeId);
+            shardCopyStats.put(
+                nodeId,
+                shardResponseTime.isPresent()
+                    ? entry.getValue().map(stats -> stats.withResponseTime(shardResponseTime.getAsDouble()))
+                    : entry.getValue()
+            );
+        }
+        return shardCopyStats;
+    }
+
     private static Map<String, Double> rankNodes(
         final Map<String, Optional<ResponseCollectorService.ComputedNodeStats>> nodeStats,
         final Map<String, Long> nodeSearchCounts
@@ -333,7 +364,29 @@ public class IndexShardRoutingTable implements Iterable<ShardRouting> {
         }
     }
 
+    /**
+     * Moves the response time of the non-winning copies of the shard towards the winning one, see {@link #adjustStats} for why.
+     */
+    private static void adjustShardStats(
+        final ResponseCollectorService collector,
+        final ShardId shardId,
+        final Set<String> nodeIds,
+        final String minNodeId
+    ) {
+        final OptionalDouble minResponseTime = collector.getShardResponseTime(shardId, minNodeId);
+        if (minResponseTime.isPresent()) {
+            for (String nodeId : nodeIds) {
+                final OptionalDouble responseTime = collector.getShardResponseTime(shardId, nodeId);
+                if (nodeId.equals(minNodeId) == false && responseTime.isPresent()) {
+                    final long updatedResponse = (long) (minResponseTime.getAsDouble() + responseTime.getAsDouble()) / 2;
+                    collector.addShardStatistics(shardId, nodeId, updatedResponse);
+                }
+            }
+        }
+    }
+
     private static List<ShardRouting> rankShardsAndUpdateStats(
+        ShardId shardId,
         List<ShardRouting> shards,
         final ResponseCollectorService collector,
         final Map<String, Long> nodeSearchCounts
@@ -346,8 +399,8 @@ public class IndexShardRoutingTable implements Iterable<ShardRouting> {
         final Set<String> nodeIds = getAllNodeIds(shards);
         final Map<String, Optional<ResponseCollectorService.ComputedNodeStats>> nodeStats = getNodeStats(nodeIds, collector);
 
-        // Retrieve all the nodes the shards exist on
-        final Map<String, Double> nodeRanks = rankNodes(nodeStats, nodeSearchCounts);
+        // Rank the nodes by the cost of querying their copy of this shard where it is known
+        final Map<String, Double> nodeRanks = rankNodes(getShardCopyStats(shardId, nodeStats, collector), nodeSearchCounts);
 
         // sort all shards based on the shard rank
         ArrayList<ShardRouting> sortedShards = new ArrayList<>(shards);
@@ -363,6 +416,7 @@ public class IndexShardRoutingTable implements Iterable<ShardRouting> {
                 Optional<ResponseCollectorService.ComputedNodeStats> maybeMinStats = nodeStats.get(minNodeId);
                 if (maybeMinStats.isPresent()) {
                     adjustStats(collector, nodeStats, minNodeId, maybeMinStats.get());
+                    adjustShardStats(collector, shardId, nodeIds, minNodeId);
                     // Increase the number of searches for the "winning" node by one.
                     // Note that this doesn't actually affect the "real" counts, instead
                     // it only affects the captured node search counts, which is
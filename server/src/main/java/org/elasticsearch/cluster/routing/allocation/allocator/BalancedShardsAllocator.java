@@ -238,8 +238,16 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         }
 
         float weight(Balancer balancer, ModelNode node, String index) {
+            return weight(balancer, node, index, balancer.avgShardsPerNode(index));
+        }
+
+        /**
+         * Computes the weight of the given node for the given index, using a precomputed value of
+         * {@link Balancer#avgShardsPerNode(String)} to save looking it up again when weighing many nodes for the same index.
+         */
+        float weight(Balancer balancer, ModelNode node, String index, float avgShardsPerNodeForIndex) {
             final float weightShard = node.numShards() - balancer.avgShardsPerNode();
-            final float weightIndex = node.numShards(index) - balancer.avgShardsPerNode(index);
+            final float weightIndex = node.numShards(index) - avgShardsPerNodeForIndex;
             return theta0 * weightShard + theta1 * weightIndex;
         }
     }
@@ -378,8 +386,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             assert currentNode != null : "currently assigned node could not be found";
 
             // balance the shard, if a better node can be found
-            final String idxName = shard.getIndexName();
-            final float currentWeight = weight.weight(this, currentNode, idxName);
+            final float currentWeight = sorter.weight(currentNode);
             final AllocationDeciders deciders = allocation.deciders();
             Type rebalanceDecisionType = Type.NO;
             ModelNode assignedNode = null;
@@ -395,7 +402,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                 // this is a comparison of the number of shards on this node to the number of shards
                 // that should be on each node on average (both taking the cluster as a whole into account
                 // as well as shards per index)
-                final float nodeWeight = weight.weight(this, node, idxName);
+                final float nodeWeight = sorter.weight(node);
                 // if the node we are examining has a worse (higher) weight than the node the shard is
                 // assigned to, then there is no way moving the shard to the node with the worse weight
                 // can make the balance of the cluster better, so we check for that here
@@ -489,6 +496,13 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             final ModelNode[] modelNodes = sorter.modelNodes;
             final float[] weights = sorter.weights;
             for (String index : buildWeightOrderedIndices()) {
+                if (lessThan(weightRange(modelNodes, index), threshold)) {
+                    // the weights of all nodes for this index are within the threshold, so are the weights of any subset of the nodes
+                    // and no relocation can be found for it; skip the allocation decider calls below, which dominate the cost of
+                    // balancing a large cluster in which most indices are already balanced
+                    continue;
+                }
+
                 IndexMetadata indexMetadata = metadata.index(index);
 
                 // find nodes that have a shard of this index or where shards of this index are allowed to be allocated to,
@@ -605,6 +619,21 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             }
         }
 
+        /**
+         * Returns the difference between the highest and the lowest weight of the given nodes for the given index.
+         */
+        private float weightRange(ModelNode[] modelNodes, String index) {
+            final float avgShardsPerNodeForIndex = avgShardsPerNode(index);
+            float minWeight = Float.POSITIVE_INFINITY;
+            float maxWeight = Float.NEGATIVE_INFINITY;
+            for (ModelNode modelNode : modelNodes) {
+                final float nodeWeight = weight.weight(this, modelNode, index, avgShardsPerNodeForIndex);
+                minWeight = Math.min(minWeight, nodeWeight);
+                maxWeight = Math.max(maxWeight, nodeWeight);
+            }
+            return maxWeight - minWeight;
+        }
+
         /**
          * This builds a initial index ordering where the indices are returned
          * in most unbalanced first. We need this in order to prevent over
@@ -971,6 +1000,8 @@ public class BalancedShardsAllocator implements ShardsAllocator {
              * iteration order is different for each run and makes testing hard */
             Map<String, NodeAllocationResult> nodeExplanationMap = explain ? new HashMap<>() : null;
             List<Tuple<String, Float>> nodeWeights = explain ? new ArrayList<>() : null;
+            final String indexName = shard.getIndexName();
+            final float avgShardsPerNodeForIndex = avgShardsPerNode(indexName);
             for (ModelNode node : nodes.values()) {
                 if (node.containsShard(shard) && explain == false) {
                     // decision is NO without needing to check anything further, so short circuit
@@ -978,7 +1009,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                 }
 
                 // weight of this index currently on the node
-                float currentWeight = weight.weight(this, node, shard.getIndexName());
+                float currentWeight = weight.weight(this, node, indexName, avgShardsPerNodeForIndex);
                 // moving the shard would not improve the balance, and we are not in explain mode, so short circuit
                 if (currentWeight > minWeight && explain == false) {
                     continue;
@@ -1230,6 +1261,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         final float[] weights;
         private final WeightFunction function;
         private String index;
+        private float avgShardsPerNodeForIndex;
         private final Balancer balancer;
         private float pivotWeight;
 
@@ -1246,6 +1278,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
          */
         public void reset(String index, int from, int to) {
             this.index = index;
+            this.avgShardsPerNodeForIndex = balancer.avgShardsPerNode(index);
             for (int i = from; i < to; i++) {
                 weights[i] = weight(modelNodes[i]);
             }
@@ -1257,7 +1290,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         }
 
         public float weight(ModelNode node) {
-            return function.weight(balancer, node, index);
+            return function.weight(balancer, node, index, avgShardsPerNodeForIndex);
         }
 
         @Override
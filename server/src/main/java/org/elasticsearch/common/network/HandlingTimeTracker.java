@@ -8,10 +8,14 @@
 
 package org.elasticsearch.common.network;
 
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Tracks how long message handling takes on a transport thread as a histogram with fixed buckets.
+ * Tracks how long message handling takes on a transport thread as a histogram with fixed buckets. Also used to track the
+ * latency of the search phases on each shard.
  */
 public class HandlingTimeTracker {
 
@@ -62,4 +66,25 @@ public class HandlingTimeTracker {
         return histogram;
     }
 
+    /**
+     * Renders a histogram as returned by {@link #getHistogram()} as an array of buckets with their bounds in milliseconds.
+     */
+    public static void histogramToXContent(XContentBuilder builder, long[] bucketFrequencies, String fieldName) throws IOException {
+        final int[] bucketBounds = getBucketUpperBounds();
+        assert bucketFrequencies.length == bucketBounds.length + 1;
+        builder.startArray(fieldName);
+        for (int i = 0; i < bucketFrequencies.length; i++) {
+            builder.startObject();
+            if (i > 0 && i <= bucketBounds.length) {
+                builder.field("ge_millis", bucketBounds[i - 1]);
+            }
+            if (i < bucketBounds.length) {
+                builder.field("lt_millis", bucketBounds[i]);
+            }
+            builder.field("count", bucketFrequencies[i]);
+            builder.endObject();
+        }
+        builder.endArray();
+    }
+
 }
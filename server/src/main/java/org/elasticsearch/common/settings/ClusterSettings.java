@@ -410,6 +410,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         SearchService.CCS_VERSION_CHECK_SETTING,
         MultiBucketConsumerService.MAX_BUCKET_SETTING,
         SearchService.LOW_LEVEL_CANCELLATION_SETTING,
+        SearchService.CONCURRENT_SEGMENT_SEARCH_SETTING,
         SearchService.MAX_OPEN_SCROLL_CONTEXT,
         SearchService.ENABLE_REWRITE_AGGS_TO_FILTER_BY_FILTER,
         SearchService.MAX_ASYNC_SEARCH_RESPONSE_SIZE_SETTING,
@@ -443,6 +444,8 @@ public final class ClusterSettings extends AbstractScopedSettings {
         PageCacheRecycler.WEIGHT_LONG_SETTING,
         PageCacheRecycler.WEIGHT_OBJECTS_SETTING,
         PageCacheRecycler.TYPE_SETTING,
+        PageCacheRecycler.OFF_HEAP_SETTING,
+        PageCacheRecycler.OFF_HEAP_LIMIT_SETTING,
         PluginsService.MANDATORY_SETTING,
         BootstrapSettings.SECURITY_FILTER_BAD_DEFAULTS_SETTING,
         BootstrapSettings.MEMORY_LOCK_SETTING,
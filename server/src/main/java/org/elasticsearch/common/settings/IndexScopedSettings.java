@@ -112,6 +112,7 @@ public final class IndexScopedSettings extends AbstractScopedSettings {
         IndexSettings.MAX_ANALYZED_OFFSET_SETTING,
         IndexSettings.MAX_TERMS_COUNT_SETTING,
         IndexSettings.INDEX_TRANSLOG_SYNC_INTERVAL_SETTING,
+        IndexSettings.INDEX_TRANSLOG_SYNC_WINDOW_SETTING,
         IndexSettings.DEFAULT_FIELD_SETTING,
         IndexSettings.QUERY_STRING_LENIENT_SETTING,
         IndexSettings.ALLOW_UNMAPPED,
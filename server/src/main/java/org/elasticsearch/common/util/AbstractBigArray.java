@@ -14,6 +14,8 @@ import org.elasticsearch.common.recycler.Recycler;
 import org.elasticsearch.core.Releasables;
 
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 
 /** Common implementation for array lists that slice data into fixed-size blocks. */
@@ -101,6 +103,14 @@ abstract class AbstractBigArray extends AbstractArray {
         return v.v();
     }
 
+    private ByteBuffer registerNewDirectPage(Recycler.V<ByteBuffer> v, int page) {
+        cache = grow(cache, page + 1);
+        assert cache[page] == null;
+        cache[page] = v;
+        assert v.v().capacity() == PageCacheRecycler.BYTE_PAGE_SIZE && v.v().isDirect();
+        return v.v();
+    }
+
     protected final byte[] newBytePage(int page) {
         if (recycler != null) {
             final Recycler.V<byte[]> v = recycler.bytePage(clearOnResize);
@@ -110,6 +120,15 @@ abstract class AbstractBigArray extends AbstractArray {
         }
     }
 
+    protected final ByteBuffer newDirectBytePage(int page) {
+        if (recycler != null) {
+            final Recycler.V<ByteBuffer> v = recycler.directBytePage(clearOnResize);
+            return registerNewDirectPage(v, page);
+        } else {
+            return ByteBuffer.allocateDirect(PageCacheRecycler.BYTE_PAGE_SIZE).order(ByteOrder.nativeOrder());
+        }
+    }
+
     protected final Object[] newObjectPage(int page) {
         if (recycler != null) {
             final Recycler.V<Object[]> v = recycler.objectPage();
@@ -127,7 +146,7 @@ abstract class AbstractBigArray extends AbstractArray {
     }
 
     @Override
-    protected final void doClose() {
+    protected void doClose() {
         if (recycler != null) {
             Releasables.close(cache);
             cache = null;
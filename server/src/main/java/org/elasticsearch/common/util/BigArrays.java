@@ -650,6 +650,19 @@ public class BigArrays {
             // when allocating big arrays, we want to first ensure we have the capacity by
             // checking with the circuit breaker before attempting to allocate
             adjustBreaker(BigLongArray.estimateRamBytes(size), false);
+            final long offHeapBytes = OffHeapBigLongArray.estimateRamBytes(size);
+            if (recycler != null && recycler.tryReserveOffHeapBytes(offHeapBytes)) {
+                boolean success = false;
+                try {
+                    final OffHeapBigLongArray array = new OffHeapBigLongArray(size, this, clearOnResize);
+                    success = true;
+                    return array;
+                } finally {
+                    if (success == false) {
+                        recycler.releaseOffHeapBytes(offHeapBytes);
+                    }
+                }
+            }
             return new BigLongArray(size, this, clearOnResize);
         } else {
             return validate(new ByteArrayAsLongArrayWrapper(this, size, clearOnResize));
@@ -668,6 +681,8 @@ public class BigArrays {
     public LongArray resize(LongArray array, long size) {
         if (array instanceof BigLongArray) {
             return resizeInPlace((BigLongArray) array, size);
+        } else if (array instanceof OffHeapBigLongArray) {
+            return resizeOffHeap((OffHeapBigLongArray) array, size);
         } else {
             AbstractArray arr = (AbstractArray) array;
             final LongArray newArray = newLongArray(size, arr.clearOnResize);
@@ -677,6 +692,35 @@ public class BigArrays {
         }
     }
 
+    private LongArray resizeOffHeap(OffHeapBigLongArray array, long newSize) {
+        final long increaseInBytes = array.ramBytesEstimated(newSize) - array.ramBytesUsed();
+        if (increaseInBytes <= 0) {
+            resizeInPlace(array, newSize);
+            recycler.releaseOffHeapBytes(-increaseInBytes);
+            return array;
+        }
+        if (recycler.tryReserveOffHeapBytes(increaseInBytes)) {
+            boolean success = false;
+            try {
+                resizeInPlace(array, newSize);
+                success = true;
+            } finally {
+                if (success == false) {
+                    recycler.releaseOffHeapBytes(increaseInBytes);
+                }
+            }
+            return array;
+        }
+        // the off-heap limit is reached, move the content to a new array which will most likely live on the heap
+        final LongArray newArray = newLongArray(newSize, array.clearOnResize);
+        final long copySize = Math.min(newSize, array.size());
+        for (long i = 0; i < copySize; ++i) {
+            newArray.set(i, array.get(i));
+        }
+        array.close();
+        return newArray;
+    }
+
     /** Grow an array to a size that is larger than <code>minSize</code>,
      * preserving content, and potentially reusing part of the provided array. */
     public LongArray grow(LongArray array, long minSize) {
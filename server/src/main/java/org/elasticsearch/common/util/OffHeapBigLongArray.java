@@ -0,0 +1,154 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.RamUsageEstimator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.elasticsearch.common.util.PageCacheRecycler.LONG_PAGE_SIZE;
+
+/**
+ * Long array abstraction able to support more than 2B values whose pages live outside of the Java heap. Pages are direct
+ * {@link ByteBuffer}s in native byte order obtained from {@link PageCacheRecycler#directBytePage}, so the content of the array does
+ * not put pressure on the garbage collector. Memory is accounted for exactly like {@link BigLongArray}, and {@link BigArrays}
+ * additionally reserves it against {@link PageCacheRecycler#OFF_HEAP_LIMIT_SETTING}. The reservation is released on close.
+ */
+final class OffHeapBigLongArray extends AbstractBigArray implements LongArray {
+
+    private static final OffHeapBigLongArray ESTIMATOR = new OffHeapBigLongArray(0, BigArrays.NON_RECYCLING_INSTANCE, false);
+
+    private final PageCacheRecycler recycler;
+    private ByteBuffer[] pages;
+
+    /** Constructor. The caller must have reserved {@link #estimateRamBytes} of {@code size} off-heap bytes. */
+    OffHeapBigLongArray(long size, BigArrays bigArrays, boolean clearOnResize) {
+        super(LONG_PAGE_SIZE, bigArrays, clearOnResize);
+        this.recycler = bigArrays.recycler;
+        this.size = size;
+        pages = new ByteBuffer[numPages(size)];
+        for (int i = 0; i < pages.length; ++i) {
+            pages[i] = newDirectBytePage(i);
+        }
+    }
+
+    @Override
+    public long get(long index) {
+        final int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        return pages[pageIndex].getLong(indexInPage << 3);
+    }
+
+    @Override
+    public long set(long index, long value) {
+        final int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        final ByteBuffer page = pages[pageIndex];
+        final long ret = page.getLong(indexInPage << 3);
+        page.putLong(indexInPage << 3, value);
+        return ret;
+    }
+
+    @Override
+    public long increment(long index, long inc) {
+        final int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        final ByteBuffer page = pages[pageIndex];
+        final long newVal = page.getLong(indexInPage << 3) + inc;
+        page.putLong(indexInPage << 3, newVal);
+        return newVal;
+    }
+
+    @Override
+    protected int numBytesPerElement() {
+        return Long.BYTES;
+    }
+
+    /** Change the size of this array. Content between indexes <code>0</code> and <code>min(size(), newSize)</code> will be preserved. */
+    @Override
+    public void resize(long newSize) {
+        final int numPages = numPages(newSize);
+        if (numPages > pages.length) {
+            pages = Arrays.copyOf(pages, ArrayUtil.oversize(numPages, RamUsageEstimator.NUM_BYTES_OBJECT_REF));
+        }
+        for (int i = numPages - 1; i >= 0 && pages[i] == null; --i) {
+            pages[i] = newDirectBytePage(i);
+        }
+        for (int i = numPages; i < pages.length && pages[i] != null; ++i) {
+            pages[i] = null;
+            releasePage(i);
+        }
+        this.size = newSize;
+    }
+
+    @Override
+    public void fill(long fromIndex, long toIndex, long value) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        if (fromIndex == toIndex) {
+            return; // empty range
+        }
+        final int fromPage = pageIndex(fromIndex);
+        final int toPage = pageIndex(toIndex - 1);
+        if (fromPage == toPage) {
+            fill(pages[fromPage], indexInPage(fromIndex), indexInPage(toIndex - 1) + 1, value);
+        } else {
+            fill(pages[fromPage], indexInPage(fromIndex), pageSize(), value);
+            for (int i = fromPage + 1; i < toPage; ++i) {
+                fill(pages[i], 0, pageSize(), value);
+            }
+            fill(pages[toPage], 0, indexInPage(toIndex - 1) + 1, value);
+        }
+    }
+
+    private static void fill(ByteBuffer page, int from, int to, long value) {
+        for (int i = from; i < to; ++i) {
+            page.putLong(i << 3, value);
+        }
+    }
+
+    @Override
+    protected void doClose() {
+        try {
+            super.doClose();
+        } finally {
+            if (recycler != null) {
+                recycler.releaseOffHeapBytes(ramBytesUsed());
+            }
+        }
+    }
+
+    /** Estimates the number of bytes that would be consumed by an array of the given size. */
+    public static long estimateRamBytes(final long size) {
+        return ESTIMATOR.ramBytesEstimated(size);
+    }
+
+    @Override
+    public void set(long index, byte[] buf, int offset, int len) {
+        assert index + len <= size();
+        int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        if (indexInPage + len <= pageSize()) {
+            pages[pageIndex].put(indexInPage << 3, buf, offset << 3, len << 3);
+        } else {
+            int copyLen = pageSize() - indexInPage;
+            pages[pageIndex].put(indexInPage << 3, buf, offset << 3, copyLen << 3);
+            do {
+                ++pageIndex;
+                offset += copyLen;
+                len -= copyLen;
+                copyLen = Math.min(len, pageSize());
+                pages[pageIndex].put(0, buf, offset << 3, copyLen << 3);
+            } while (len > copyLen);
+        }
+    }
+}
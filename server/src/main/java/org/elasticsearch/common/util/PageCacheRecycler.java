@@ -17,8 +17,11 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.elasticsearch.common.recycler.Recyclers.concurrent;
 import static org.elasticsearch.common.recycler.Recyclers.concurrentDeque;
@@ -67,6 +70,25 @@ public class PageCacheRecycler {
         Property.NodeScope
     );
 
+    /**
+     * Whether {@link BigArrays} should allocate the pages of large {@link LongArray}s outside of the Java heap. Off-heap pages are
+     * still accounted for by the circuit breaker of the {@link BigArrays} instance that allocates them.
+     */
+    public static final Setting<Boolean> OFF_HEAP_SETTING = Setting.boolSetting(
+        "cache.recycler.page.off_heap",
+        false,
+        Property.NodeScope
+    );
+    /**
+     * How many bytes of off-heap pages arrays may hold at the same time. The real memory circuit breaker only sees the Java heap, so
+     * once this limit is reached {@link BigArrays} allocates new long arrays on the heap instead.
+     */
+    public static final Setting<ByteSizeValue> OFF_HEAP_LIMIT_SETTING = Setting.memorySizeSetting(
+        "cache.recycler.page.off_heap.limit",
+        "10%",
+        Property.NodeScope
+    );
+
     /** Page size in bytes: 16KB */
     public static final int PAGE_SIZE_IN_BYTES = 1 << 14;
     public static final int OBJECT_PAGE_SIZE = PAGE_SIZE_IN_BYTES / RamUsageEstimator.NUM_BYTES_OBJECT_REF;
@@ -78,6 +100,9 @@ public class PageCacheRecycler {
 
     private final Recycler<byte[]> bytePage;
     private final Recycler<Object[]> objectPage;
+    private final Recycler<ByteBuffer> directBytePage;
+    private final long offHeapLimit;
+    private final AtomicLong offHeapBytesReserved = new AtomicLong();
 
     public static final PageCacheRecycler NON_RECYCLING_INSTANCE;
 
@@ -99,7 +124,11 @@ public class PageCacheRecycler {
         final int maxPageCount = (int) Math.min(Integer.MAX_VALUE, limit / PAGE_SIZE_IN_BYTES);
 
         final int maxBytePageCount = (int) (bytesWeight * maxPageCount / totalWeight);
-        bytePage = build(type, maxBytePageCount, allocatedProcessors, new AbstractRecyclerC<byte[]>() {
+        final boolean offHeap = OFF_HEAP_SETTING.get(settings);
+        offHeapLimit = offHeap ? OFF_HEAP_LIMIT_SETTING.get(settings).getBytes() : 0L;
+        // direct pages take their share out of the byte page budget rather than adding to it
+        final int maxDirectBytePageCount = offHeap ? maxBytePageCount / 2 : 0;
+        bytePage = build(type, maxBytePageCount - maxDirectBytePageCount, allocatedProcessors, new AbstractRecyclerC<byte[]>() {
             @Override
             public byte[] newInstance() {
                 return new byte[BYTE_PAGE_SIZE];
@@ -111,6 +140,18 @@ public class PageCacheRecycler {
             }
         });
 
+        directBytePage = build(type, maxDirectBytePageCount, allocatedProcessors, new AbstractRecyclerC<ByteBuffer>() {
+            @Override
+            public ByteBuffer newInstance() {
+                return ByteBuffer.allocateDirect(BYTE_PAGE_SIZE).order(ByteOrder.nativeOrder());
+            }
+
+            @Override
+            public void recycle(ByteBuffer value) {
+                value.clear();
+            }
+        });
+
         final int maxObjectPageCount = (int) (objectsWeight * maxPageCount / totalWeight);
         objectPage = build(type, maxObjectPageCount, allocatedProcessors, new AbstractRecyclerC<Object[]>() {
             @Override
@@ -135,6 +176,52 @@ public class PageCacheRecycler {
         return v;
     }
 
+    /**
+     * Reserve {@code bytes} of off-heap pages for an array, see {@link #OFF_HEAP_LIMIT_SETTING}. Returns {@code false} if off-heap
+     * pages are disabled or if the reservation would exceed the limit, in which case nothing is reserved.
+     */
+    public boolean tryReserveOffHeapBytes(long bytes) {
+        assert bytes >= 0 : bytes;
+        while (true) {
+            final long reserved = offHeapBytesReserved.get();
+            if (reserved + bytes > offHeapLimit) {
+                return false;
+            }
+            if (offHeapBytesReserved.compareAndSet(reserved, reserved + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release {@code bytes} previously reserved by {@link #tryReserveOffHeapBytes}.
+     */
+    public void releaseOffHeapBytes(long bytes) {
+        final long reserved = offHeapBytesReserved.addAndGet(-bytes);
+        assert reserved >= 0 : "released more off-heap bytes than were reserved: " + reserved;
+    }
+
+    /**
+     * The number of bytes of off-heap pages currently held by arrays.
+     */
+    public long getOffHeapBytesReserved() {
+        return offHeapBytesReserved.get();
+    }
+
+    /**
+     * Obtain a page of {@link #BYTE_PAGE_SIZE} bytes allocated outside of the Java heap, in native byte order.
+     */
+    public Recycler.V<ByteBuffer> directBytePage(boolean clear) {
+        final Recycler.V<ByteBuffer> v = directBytePage.obtain();
+        if (v.isRecycled() && clear) {
+            final ByteBuffer page = v.v();
+            for (int i = 0; i < BYTE_PAGE_SIZE; i += Long.BYTES) {
+                page.putLong(i, 0L);
+            }
+        }
+        return v;
+    }
+
     public Recycler.V<Object[]> objectPage() {
         // object pages are cleared on release anyway
         return objectPage.obtain();
@@ -42,10 +42,12 @@ import org.apache.lucene.util.SetOnce;
 import org.elasticsearch.Version;
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.MappingMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.compress.CompressorFactory;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.logging.Loggers;
@@ -56,6 +58,7 @@ import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.common.xcontent.LoggingDeprecationHandler;
+import org.elasticsearch.common.xcontent.XContentParserUtils;
 import org.elasticsearch.core.CheckedConsumer;
 import org.elasticsearch.core.CheckedFunction;
 import org.elasticsearch.core.Nullable;
@@ -97,12 +100,16 @@ import java.util.function.Supplier;
  * to record the last-accepted cluster state during publication. The metadata is written incrementally where possible, leaving alone any
  * documents that have not changed. The index has the following fields:
  *
- * +------------------------------+-----------------------------+----------------------------------------------+--------+-------------+
- * | "type" (string field)        | "index_uuid" (string field) | "data" (stored binary field in SMILE format) | "page" | "last_page" |
- * +------------------------------+-----------------------------+----------------------------------------------+--------+-------------+
- * | GLOBAL_TYPE_NAME == "global" | (omitted)                   | Global metadata                              | large docs are       |
- * | INDEX_TYPE_NAME  == "index"  | Index UUID                  | Index metadata                               | split into pages     |
- * +------------------------------+-----------------------------+----------------------------------------------+--------+-------------+
+ * +--------------------------------+-----------------------------+------------------------------+--------------------------------------+
+ * | "type" (string field)          | "index_uuid" (string field) | "mapping_hash" (string fld)  | "data" (stored binary, SMILE format) |
+ * +--------------------------------+-----------------------------+------------------------------+--------------------------------------+
+ * | GLOBAL_TYPE_NAME  == "global"  | (omitted)                   | (omitted)                    | Global metadata                      |
+ * | INDEX_TYPE_NAME   == "index"   | Index UUID                  | (omitted)                    | Index metadata                       |
+ * | MAPPING_TYPE_NAME == "mapping" | (omitted)                   | Mapping SHA-256 hash         | Mapping metadata                     |
+ * +--------------------------------+-----------------------------+------------------------------+--------------------------------------+
+ *
+ * Large documents are split into pages, recorded in the "page" and "last_page" fields. Index metadata refers to its mapping by hash, so
+ * each distinct mapping is only stored once however many indices share it.
  *
  * Additionally each commit has the following user data:
  *
@@ -127,8 +134,11 @@ public class PersistedClusterStateService {
     public static final String TYPE_FIELD_NAME = "type";
     public static final String GLOBAL_TYPE_NAME = "global";
     public static final String INDEX_TYPE_NAME = "index";
+    public static final String MAPPING_TYPE_NAME = "mapping";
     private static final String DATA_FIELD_NAME = "data";
     private static final String INDEX_UUID_FIELD_NAME = "index_uuid";
+    private static final String MAPPING_HASH_FIELD_NAME = "mapping_hash";
+    private static final String MAPPING_CONTENT_FIELD_NAME = "content";
     public static final String PAGE_FIELD_NAME = "page";
     public static final String LAST_PAGE_FIELD_NAME = "last_page";
     public static final int IS_LAST_PAGE = 1;
@@ -490,11 +500,24 @@ public class PersistedClusterStateService {
             throw new CorruptStateException("no global metadata found in [" + dataPath + "]");
         }
 
-        logger.trace("got global metadata, now reading index metadata");
+        logger.trace("got global metadata, now reading mapping metadata");
+
+        final Map<String, MappingMetadata> mappingsByHash = new HashMap<>();
+        consumeFromType(searcher, MAPPING_TYPE_NAME, bytes -> {
+            final MappingMetadata mappingMetadata = readXContent(bytes, PersistedClusterStateService::readMappingMetadata);
+            logger.trace("found mapping metadata with hash [{}]", mappingMetadata.getSha256());
+            if (mappingsByHash.put(mappingMetadata.getSha256(), mappingMetadata) != null) {
+                throw new CorruptStateException(
+                    "duplicate metadata found for mapping hash [" + mappingMetadata.getSha256() + "] in [" + dataPath + "]"
+                );
+            }
+        });
+
+        logger.trace("got metadata for [{}] mappings, now reading index metadata", mappingsByHash.size());
 
         final Set<String> indexUUIDs = new HashSet<>();
         consumeFromType(searcher, INDEX_TYPE_NAME, bytes -> {
-            final IndexMetadata indexMetadata = readXContent(bytes, IndexMetadata::fromXContent);
+            final IndexMetadata indexMetadata = readXContent(bytes, parser -> IndexMetadata.fromXContent(parser, mappingsByHash));
             logger.trace("found index metadata for {}", indexMetadata.getIndex());
             if (indexUUIDs.add(indexMetadata.getIndexUUID()) == false) {
                 throw new CorruptStateException("duplicate metadata found for " + indexMetadata.getIndex() + " in [" + dataPath + "]");
@@ -527,6 +550,18 @@ public class PersistedClusterStateService {
         }
     }
 
+    private static MappingMetadata readMappingMetadata(XContentParser parser) throws IOException {
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.FIELD_NAME, parser.nextToken(), parser);
+        if (MAPPING_CONTENT_FIELD_NAME.equals(parser.currentName()) == false) {
+            throw new IllegalArgumentException("unexpected field [" + parser.currentName() + "] in mapping metadata");
+        }
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.VALUE_EMBEDDED_OBJECT, parser.nextToken(), parser);
+        final MappingMetadata mappingMetadata = new MappingMetadata(new CompressedXContent(parser.binaryValue()));
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.END_OBJECT, parser.nextToken(), parser);
+        return mappingMetadata;
+    }
+
     private static void consumeFromType(
         IndexSearcher indexSearcher,
         String type,
@@ -578,6 +613,8 @@ public class PersistedClusterStateService {
                         final String key;
                         if (type.equals(GLOBAL_TYPE_NAME)) {
                             key = GLOBAL_TYPE_NAME;
+                        } else if (type.equals(MAPPING_TYPE_NAME)) {
+                            key = document.getField(MAPPING_HASH_FIELD_NAME).stringValue();
                         } else {
                             key = document.getField(INDEX_UUID_FIELD_NAME).stringValue();
                         }
@@ -615,6 +652,7 @@ public class PersistedClusterStateService {
         Map<String, String> params = Maps.newMapWithExpectedSize(2);
         params.put("binary", "true");
         params.put(Metadata.CONTEXT_MODE_PARAM, Metadata.CONTEXT_MODE_GATEWAY);
+        params.put(Metadata.DEDUPLICATED_MAPPINGS_PARAM, "true");
         FORMAT_PARAMS = new ToXContent.MapParams(params);
     }
 
@@ -671,6 +709,11 @@ public class PersistedClusterStateService {
             indexWriter.deleteDocuments(new Term(INDEX_UUID_FIELD_NAME, indexUUID));
         }
 
+        void deleteMappingMetadata(String mappingHash) throws IOException {
+            this.logger.trace("removing mapping metadata for [{}]", mappingHash);
+            indexWriter.deleteDocuments(new Term(MAPPING_HASH_FIELD_NAME, mappingHash));
+        }
+
         void flush() throws IOException {
             this.logger.trace("flushing");
             this.indexWriter.flush();
@@ -844,6 +887,25 @@ public class PersistedClusterStateService {
                 addGlobalMetadataDocuments(metadata);
             }
 
+            // add the new mappings before the index metadata that refers to them, and remove the unused ones
+            int numMappingsAdded = 0;
+            int numMappingsRemoved = 0;
+            final Map<String, MappingMetadata> previousMappingsByHash = previouslyWrittenMetadata.getMappingsByHash();
+            for (Map.Entry<String, MappingMetadata> entry : metadata.getMappingsByHash().entrySet()) {
+                if (previousMappingsByHash.containsKey(entry.getKey()) == false) {
+                    addMappingDocuments(entry.getKey(), entry.getValue());
+                    numMappingsAdded++;
+                }
+            }
+            for (String previousMappingHash : previousMappingsByHash.keySet()) {
+                if (metadata.getMappingsByHash().containsKey(previousMappingHash) == false) {
+                    for (MetadataIndexWriter metadataIndexWriter : metadataIndexWriters) {
+                        metadataIndexWriter.deleteMappingMetadata(previousMappingHash);
+                    }
+                    numMappingsRemoved++;
+                }
+            }
+
             final Map<String, Long> indexMetadataVersionByUUID = Maps.newMapWithExpectedSize(previouslyWrittenMetadata.indices().size());
             for (IndexMetadata indexMetadata : previouslyWrittenMetadata.indices().values()) {
                 final Long previousValue = indexMetadataVersionByUUID.putIfAbsent(indexMetadata.getIndexUUID(), indexMetadata.getVersion());
@@ -894,7 +956,16 @@ public class PersistedClusterStateService {
                 metadataIndexWriter.flush();
             }
 
-            return new WriterStats(false, updateGlobalMeta, numIndicesUnchanged, numIndicesAdded, numIndicesUpdated, numIndicesRemoved);
+            return new WriterStats(
+                false,
+                updateGlobalMeta,
+                numMappingsAdded,
+                numMappingsRemoved,
+                numIndicesUnchanged,
+                numIndicesAdded,
+                numIndicesUpdated,
+                numIndicesRemoved
+            );
         }
 
         private static int lastPageValue(boolean isLastPage) {
@@ -918,6 +989,24 @@ public class PersistedClusterStateService {
             }));
         }
 
+        private void addMappingDocuments(String mappingHash, MappingMetadata mappingMetadata) throws IOException {
+            logger.trace("writing mapping metadata with hash [{}]", mappingHash);
+            writePages(
+                (builder, params) -> builder.field(MAPPING_CONTENT_FIELD_NAME, mappingMetadata.source().compressed()),
+                (bytesRef, pageIndex, isLastPage) -> {
+                    final Document document = new Document();
+                    document.add(new StringField(TYPE_FIELD_NAME, MAPPING_TYPE_NAME, Field.Store.NO));
+                    document.add(new StringField(MAPPING_HASH_FIELD_NAME, mappingHash, Field.Store.YES));
+                    document.add(new StoredField(PAGE_FIELD_NAME, pageIndex));
+                    document.add(new StoredField(LAST_PAGE_FIELD_NAME, lastPageValue(isLastPage)));
+                    document.add(new StoredField(DATA_FIELD_NAME, bytesRef));
+                    for (MetadataIndexWriter metadataIndexWriter : metadataIndexWriters) {
+                        metadataIndexWriter.indexWriter.addDocument(document);
+                    }
+                }
+            );
+        }
+
         private void addGlobalMetadataDocuments(Metadata metadata) throws IOException {
             logger.trace("updating global metadata doc");
             writePages(metadata, (bytesRef, pageIndex, isLastPage) -> {
@@ -960,6 +1049,10 @@ public class PersistedClusterStateService {
         private WriterStats addMetadata(Metadata metadata) throws IOException {
             addGlobalMetadataDocuments(metadata);
 
+            for (Map.Entry<String, MappingMetadata> entry : metadata.getMappingsByHash().entrySet()) {
+                addMappingDocuments(entry.getKey(), entry.getValue());
+            }
+
             for (IndexMetadata indexMetadata : metadata.indices().values()) {
                 addIndexMetadataDocuments(indexMetadata);
             }
@@ -970,7 +1063,7 @@ public class PersistedClusterStateService {
                 metadataIndexWriter.flush();
             }
 
-            return new WriterStats(true, true, 0, 0, metadata.indices().size(), 0);
+            return new WriterStats(true, true, metadata.getMappingsByHash().size(), 0, 0, 0, metadata.indices().size(), 0);
         }
 
         public void writeIncrementalTermUpdateAndCommit(long currentTerm, long lastAcceptedVersion, Version oldestIndexVersion)
@@ -1052,6 +1145,8 @@ public class PersistedClusterStateService {
         private record WriterStats(
             boolean isFullWrite,
             boolean globalMetaUpdated,
+            int numMappingsAdded,
+            int numMappingsRemoved,
             int numIndicesUnchanged,
             int numIndicesAdded,
             int numIndicesUpdated,
@@ -1060,14 +1155,22 @@ public class PersistedClusterStateService {
             @Override
             public String toString() {
                 if (isFullWrite) {
-                    return String.format(Locale.ROOT, "wrote global metadata and metadata for [%d] indices", numIndicesUpdated);
+                    return String.format(
+                        Locale.ROOT,
+                        "wrote global metadata, [%d] mappings, and metadata for [%d] indices",
+                        numMappingsAdded,
+                        numIndicesUpdated
+                    );
                 } else {
                     return String.format(
                         Locale.ROOT,
                         """
-                            [%s] global metadata, wrote metadata for [%d] new indices and [%d] existing indices, \
+                            [%s] global metadata, wrote [%d] new mappings, removed [%d] mappings, \
+                            wrote metadata for [%d] new indices and [%d] existing indices, \
                             removed metadata for [%d] indices and skipped [%d] unchanged indices""",
                         globalMetaUpdated ? "wrote" : "skipped writing",
+                        numMappingsAdded,
+                        numMappingsRemoved,
                         numIndicesAdded,
                         numIndicesUpdated,
                         numIndicesRemoved,
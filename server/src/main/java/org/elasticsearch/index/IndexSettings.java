@@ -84,6 +84,18 @@ public final class IndexSettings {
         Property.Dynamic,
         Property.IndexScope
     );
+    /**
+     * How long a shard waits after a request asked for a translog fsync before it runs the fsync so that requests that arrive
+     * within this window share a single fsync. {@code 0} runs the fsync right away.
+     */
+    public static final Setting<TimeValue> INDEX_TRANSLOG_SYNC_WINDOW_SETTING = Setting.timeSetting(
+        "index.translog.sync_window",
+        TimeValue.ZERO,
+        TimeValue.ZERO,
+        TimeValue.timeValueMillis(100),
+        Property.Dynamic,
+        Property.IndexScope
+    );
     public static final Setting<TimeValue> INDEX_SEARCH_IDLE_AFTER = Setting.timeSetting(
         "index.search.idle.after",
         TimeValue.timeValueSeconds(30),
@@ -571,6 +583,7 @@ public final class IndexSettings {
     private final boolean defaultAllowUnmappedFields;
     private volatile Translog.Durability durability;
     private volatile TimeValue syncInterval;
+    private volatile TimeValue syncWindow;
     private volatile TimeValue refreshInterval;
     private volatile ByteSizeValue flushThresholdSize;
     private volatile ByteSizeValue generationThresholdSize;
@@ -711,6 +724,7 @@ public final class IndexSettings {
         this.durability = scopedSettings.get(INDEX_TRANSLOG_DURABILITY_SETTING);
         defaultFields = scopedSettings.get(DEFAULT_FIELD_SETTING);
         syncInterval = INDEX_TRANSLOG_SYNC_INTERVAL_SETTING.get(settings);
+        syncWindow = scopedSettings.get(INDEX_TRANSLOG_SYNC_WINDOW_SETTING);
         refreshInterval = scopedSettings.get(INDEX_REFRESH_INTERVAL_SETTING);
         flushThresholdSize = scopedSettings.get(INDEX_TRANSLOG_FLUSH_THRESHOLD_SIZE_SETTING);
         generationThresholdSize = scopedSettings.get(INDEX_TRANSLOG_GENERATION_THRESHOLD_SIZE_SETTING);
@@ -781,6 +795,7 @@ public final class IndexSettings {
         scopedSettings.addSettingsUpdateConsumer(MergeSchedulerConfig.AUTO_THROTTLE_SETTING, mergeSchedulerConfig::setAutoThrottle);
         scopedSettings.addSettingsUpdateConsumer(INDEX_TRANSLOG_DURABILITY_SETTING, this::setTranslogDurability);
         scopedSettings.addSettingsUpdateConsumer(INDEX_TRANSLOG_SYNC_INTERVAL_SETTING, this::setTranslogSyncInterval);
+        scopedSettings.addSettingsUpdateConsumer(INDEX_TRANSLOG_SYNC_WINDOW_SETTING, this::setTranslogSyncWindow);
         scopedSettings.addSettingsUpdateConsumer(MAX_RESULT_WINDOW_SETTING, this::setMaxResultWindow);
         scopedSettings.addSettingsUpdateConsumer(MAX_INNER_RESULT_WINDOW_SETTING, this::setMaxInnerResultWindow);
         scopedSettings.addSettingsUpdateConsumer(MAX_RESCORE_WINDOW_SETTING, this::setMaxRescoreWindow);
@@ -1006,6 +1021,18 @@ public final class IndexSettings {
         this.syncInterval = translogSyncInterval;
     }
 
+    /**
+     * Returns how long a shard collects requests that need a translog fsync before fsyncing for all of them at once.
+     * {@link TimeValue#ZERO} means that the fsync runs as soon as it is requested.
+     */
+    public TimeValue getTranslogSyncWindow() {
+        return syncWindow;
+    }
+
+    private void setTranslogSyncWindow(TimeValue translogSyncWindow) {
+        this.syncWindow = translogSyncWindow;
+    }
+
     /**
      * Returns this interval in which the shards of this index are asynchronously refreshed. {@code -1} means async refresh is disabled.
      */
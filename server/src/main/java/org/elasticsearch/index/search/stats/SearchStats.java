@@ -8,10 +8,12 @@
 
 package org.elasticsearch.index.search.stats;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
@@ -20,11 +22,17 @@ import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 
 public class SearchStats implements Writeable, ToXContentFragment {
 
+    /**
+     * Request parameter that enables rendering the query, fetch and dfs phase latency histograms.
+     */
+    public static final String INCLUDE_LATENCY_HISTOGRAMS = "include_latency_histograms";
+
     public static class Stats implements Writeable, ToXContentFragment {
 
         private long queryCount;
@@ -43,8 +51,16 @@ public class SearchStats implements Writeable, ToXContentFragment {
         private long suggestTimeInMillis;
         private long suggestCurrent;
 
+        // the latency of each phase on the shards, bucketed like HandlingTimeTracker#getBucketUpperBounds
+        private final long[] queryLatencyHistogram;
+        private final long[] fetchLatencyHistogram;
+        private final long[] dfsLatencyHistogram;
+
         private Stats() {
             // for internal use, initializes all counts to 0
+            queryLatencyHistogram = new long[HandlingTimeTracker.BUCKET_COUNT];
+            fetchLatencyHistogram = new long[HandlingTimeTracker.BUCKET_COUNT];
+            dfsLatencyHistogram = new long[HandlingTimeTracker.BUCKET_COUNT];
         }
 
         public Stats(
@@ -61,6 +77,45 @@ public class SearchStats implements Writeable, ToXContentFragment {
             long suggestTimeInMillis,
             long suggestCurrent
         ) {
+            this(
+                queryCount,
+                queryTimeInMillis,
+                queryCurrent,
+                fetchCount,
+                fetchTimeInMillis,
+                fetchCurrent,
+                scrollCount,
+                scrollTimeInMillis,
+                scrollCurrent,
+                suggestCount,
+                suggestTimeInMillis,
+                suggestCurrent,
+                new long[HandlingTimeTracker.BUCKET_COUNT],
+                new long[HandlingTimeTracker.BUCKET_COUNT],
+                new long[HandlingTimeTracker.BUCKET_COUNT]
+            );
+        }
+
+        public Stats(
+            long queryCount,
+            long queryTimeInMillis,
+            long queryCurrent,
+            long fetchCount,
+            long fetchTimeInMillis,
+            long fetchCurrent,
+            long scrollCount,
+            long scrollTimeInMillis,
+            long scrollCurrent,
+            long suggestCount,
+            long suggestTimeInMillis,
+            long suggestCurrent,
+            long[] queryLatencyHistogram,
+            long[] fetchLatencyHistogram,
+            long[] dfsLatencyHistogram
+        ) {
+            assert queryLatencyHistogram.length == HandlingTimeTracker.BUCKET_COUNT;
+            assert fetchLatencyHistogram.length == HandlingTimeTracker.BUCKET_COUNT;
+            assert dfsLatencyHistogram.length == HandlingTimeTracker.BUCKET_COUNT;
             this.queryCount = queryCount;
             this.queryTimeInMillis = queryTimeInMillis;
             this.queryCurrent = queryCurrent;
@@ -76,6 +131,10 @@ public class SearchStats implements Writeable, ToXContentFragment {
             this.suggestCount = suggestCount;
             this.suggestTimeInMillis = suggestTimeInMillis;
             this.suggestCurrent = suggestCurrent;
+
+            this.queryLatencyHistogram = queryLatencyHistogram;
+            this.fetchLatencyHistogram = fetchLatencyHistogram;
+            this.dfsLatencyHistogram = dfsLatencyHistogram;
         }
 
         private Stats(StreamInput in) throws IOException {
@@ -94,6 +153,16 @@ public class SearchStats implements Writeable, ToXContentFragment {
             suggestCount = in.readVLong();
             suggestTimeInMillis = in.readVLong();
             suggestCurrent = in.readVLong();
+
+            if (in.getVersion().onOrAfter(Version.V_8_1_0)) {
+                queryLatencyHistogram = in.readVLongArray();
+                fetchLatencyHistogram = in.readVLongArray();
+                dfsLatencyHistogram = in.readVLongArray();
+            } else {
+                queryLatencyHistogram = new long[HandlingTimeTracker.BUCKET_COUNT];
+                fetchLatencyHistogram = new long[HandlingTimeTracker.BUCKET_COUNT];
+                dfsLatencyHistogram = new long[HandlingTimeTracker.BUCKET_COUNT];
+            }
         }
 
         public void add(Stats stats) {
@@ -112,6 +181,8 @@ public class SearchStats implements Writeable, ToXContentFragment {
             suggestCount += stats.suggestCount;
             suggestTimeInMillis += stats.suggestTimeInMillis;
             suggestCurrent += stats.suggestCurrent;
+
+            addHistograms(stats);
         }
 
         public void addForClosingShard(Stats stats) {
@@ -128,6 +199,16 @@ public class SearchStats implements Writeable, ToXContentFragment {
 
             suggestCount += stats.suggestCount;
             suggestTimeInMillis += stats.suggestTimeInMillis;
+
+            addHistograms(stats);
+        }
+
+        private void addHistograms(Stats stats) {
+            for (int i = 0; i < HandlingTimeTracker.BUCKET_COUNT; i++) {
+                queryLatencyHistogram[i] += stats.queryLatencyHistogram[i];
+                fetchLatencyHistogram[i] += stats.fetchLatencyHistogram[i];
+                dfsLatencyHistogram[i] += stats.dfsLatencyHistogram[i];
+            }
         }
 
         public long getQueryCount() {
@@ -194,6 +275,28 @@ public class SearchStats implements Writeable, ToXContentFragment {
             return suggestCurrent;
         }
 
+        /**
+         * @return the frequencies of query phase latencies in the buckets returned by
+         *         {@link HandlingTimeTracker#getBucketUpperBounds()}, plus an extra bucket for longer latencies
+         */
+        public long[] getQueryLatencyHistogram() {
+            return Arrays.copyOf(queryLatencyHistogram, queryLatencyHistogram.length);
+        }
+
+        /**
+         * @return the frequencies of fetch phase latencies, see {@link #getQueryLatencyHistogram()}
+         */
+        public long[] getFetchLatencyHistogram() {
+            return Arrays.copyOf(fetchLatencyHistogram, fetchLatencyHistogram.length);
+        }
+
+        /**
+         * @return the frequencies of dfs phase latencies, see {@link #getQueryLatencyHistogram()}
+         */
+        public long[] getDfsLatencyHistogram() {
+            return Arrays.copyOf(dfsLatencyHistogram, dfsLatencyHistogram.length);
+        }
+
         public static Stats readStats(StreamInput in) throws IOException {
             return new Stats(in);
         }
@@ -215,6 +318,12 @@ public class SearchStats implements Writeable, ToXContentFragment {
             out.writeVLong(suggestCount);
             out.writeVLong(suggestTimeInMillis);
             out.writeVLong(suggestCurrent);
+
+            if (out.getVersion().onOrAfter(Version.V_8_1_0)) {
+                out.writeVLongArray(queryLatencyHistogram);
+                out.writeVLongArray(fetchLatencyHistogram);
+                out.writeVLongArray(dfsLatencyHistogram);
+            }
         }
 
         @Override
@@ -235,6 +344,12 @@ public class SearchStats implements Writeable, ToXContentFragment {
             builder.humanReadableField(Fields.SUGGEST_TIME_IN_MILLIS, Fields.SUGGEST_TIME, getSuggestTime());
             builder.field(Fields.SUGGEST_CURRENT, suggestCurrent);
 
+            if (params.paramAsBoolean(INCLUDE_LATENCY_HISTOGRAMS, false)) {
+                HandlingTimeTracker.histogramToXContent(builder, queryLatencyHistogram, Fields.QUERY_LATENCY_HISTOGRAM);
+                HandlingTimeTracker.histogramToXContent(builder, fetchLatencyHistogram, Fields.FETCH_LATENCY_HISTOGRAM);
+                HandlingTimeTracker.histogramToXContent(builder, dfsLatencyHistogram, Fields.DFS_LATENCY_HISTOGRAM);
+            }
+
             return builder;
         }
     }
@@ -350,6 +465,9 @@ public class SearchStats implements Writeable, ToXContentFragment {
         static final String SUGGEST_TIME = "suggest_time";
         static final String SUGGEST_TIME_IN_MILLIS = "suggest_time_in_millis";
         static final String SUGGEST_CURRENT = "suggest_current";
+        static final String QUERY_LATENCY_HISTOGRAM = "query_latency_histogram";
+        static final String FETCH_LATENCY_HISTOGRAM = "fetch_latency_histogram";
+        static final String DFS_LATENCY_HISTOGRAM = "dfs_latency_histogram";
     }
 
     @Override
@@ -10,6 +10,7 @@ package org.elasticsearch.index.search.stats;
 
 import org.elasticsearch.common.metrics.CounterMetric;
 import org.elasticsearch.common.metrics.MeanMetric;
+import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.common.regex.Regex;
 import org.elasticsearch.common.util.CollectionUtils;
 import org.elasticsearch.common.util.Maps;
@@ -84,6 +85,7 @@ public final class ShardSearchStats implements SearchOperationListener {
                 statsHolder.suggestCurrent.dec();
             } else {
                 statsHolder.queryMetric.inc(tookInNanos);
+                statsHolder.queryLatency.addHandlingTime(TimeUnit.NANOSECONDS.toMillis(tookInNanos));
                 statsHolder.queryCurrent.dec();
             }
         });
@@ -103,10 +105,16 @@ public final class ShardSearchStats implements SearchOperationListener {
     public void onFetchPhase(SearchContext searchContext, long tookInNanos) {
         computeStats(searchContext, statsHolder -> {
             statsHolder.fetchMetric.inc(tookInNanos);
+            statsHolder.fetchLatency.addHandlingTime(TimeUnit.NANOSECONDS.toMillis(tookInNanos));
             statsHolder.fetchCurrent.dec();
         });
     }
 
+    @Override
+    public void onDfsPhase(SearchContext searchContext, long tookInNanos) {
+        computeStats(searchContext, statsHolder -> statsHolder.dfsLatency.addHandlingTime(TimeUnit.NANOSECONDS.toMillis(tookInNanos)));
+    }
+
     private void computeStats(SearchContext searchContext, Consumer<StatsHolder> consumer) {
         consumer.accept(totalStats);
         if (searchContext.groupStats() != null) {
@@ -168,6 +176,9 @@ public final class ShardSearchStats implements SearchOperationListener {
         final CounterMetric fetchCurrent = new CounterMetric();
         final CounterMetric scrollCurrent = new CounterMetric();
         final CounterMetric suggestCurrent = new CounterMetric();
+        final HandlingTimeTracker queryLatency = new HandlingTimeTracker();
+        final HandlingTimeTracker fetchLatency = new HandlingTimeTracker();
+        final HandlingTimeTracker dfsLatency = new HandlingTimeTracker();
 
         SearchStats.Stats stats() {
             return new SearchStats.Stats(
@@ -182,7 +193,10 @@ public final class ShardSearchStats implements SearchOperationListener {
                 scrollCurrent.count(),
                 suggestMetric.count(),
                 TimeUnit.NANOSECONDS.toMillis(suggestMetric.sum()),
-                suggestCurrent.count()
+                suggestCurrent.count(),
+                queryLatency.getHistogram(),
+                fetchLatency.getHistogram(),
+                dfsLatency.getHistogram()
             );
         }
     }
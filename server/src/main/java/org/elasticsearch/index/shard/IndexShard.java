@@ -231,6 +231,9 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
     protected volatile IndexShardState state;
     // ensure happens-before relation between addRefreshListener() and postRecovery()
     private final Object postRecoveryMutex = new Object();
+    private final Object pendingTranslogSyncsMutex = new Object();
+    // the locations waiting for the scheduled group sync, null if no group sync is scheduled
+    private List<Tuple<Translog.Location, Consumer<Exception>>> pendingTranslogSyncs;
     private volatile long pendingPrimaryTerm; // see JavaDocs for getPendingPrimaryTerm
     private final Object engineMutex = new Object(); // lock ordering: engineMutex -> mutex
     private final AtomicReference<Engine> currentEngineReference = new AtomicReference<>();
@@ -3615,10 +3618,78 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
      * one thread blocking on the sync an all others can continue indexing.
      * NOTE: if the syncListener throws an exception when it's processed the exception will only be logged. Users should make sure that the
      * listener handles all exception cases internally.
+     * If {@link IndexSettings#INDEX_TRANSLOG_SYNC_WINDOW_SETTING} is set, the fsync is delayed by the configured window and a single
+     * fsync is run for all locations that were passed to this method in the meantime.
      */
     public final void sync(Translog.Location location, Consumer<Exception> syncListener) {
         verifyNotClosed();
-        translogSyncProcessor.put(location, syncListener);
+        final TimeValue syncWindow = indexSettings.getTranslogSyncWindow();
+        if (syncWindow.nanos() == 0) {
+            translogSyncProcessor.put(location, syncListener);
+            return;
+        }
+        final ThreadContext threadContext = threadPool.getThreadContext();
+        final Supplier<ThreadContext.StoredContext> restorableContext = threadContext.newRestorableContext(false);
+        final Tuple<Translog.Location, Consumer<Exception>> pendingSync = new Tuple<>(location, e -> {
+            try (ThreadContext.StoredContext ignore = restorableContext.get()) {
+                syncListener.accept(e);
+            }
+        });
+        synchronized (pendingTranslogSyncsMutex) {
+            if (pendingTranslogSyncs != null) {
+                // a sync is already scheduled and will pick this location up
+                pendingTranslogSyncs.add(pendingSync);
+                return;
+            }
+            pendingTranslogSyncs = new ArrayList<>();
+            pendingTranslogSyncs.add(pendingSync);
+        }
+        try (ThreadContext.StoredContext ignore = threadContext.stashContext()) {
+            threadPool.schedule(new AbstractRunnable() {
+                private List<Tuple<Translog.Location, Consumer<Exception>>> pendingSyncs;
+
+                @Override
+                protected void doRun() {
+                    pendingSyncs = drainPendingTranslogSyncs();
+                    final List<Tuple<Translog.Location, Consumer<Exception>>> toNotify = pendingSyncs;
+                    final Translog.Location maxLocation = toNotify.stream().map(Tuple::v1).max(Translog.Location::compareTo).get();
+                    translogSyncProcessor.put(maxLocation, e -> notifyPendingTranslogSyncs(toNotify, e));
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    notifyPendingTranslogSyncs(pendingSyncs == null ? drainPendingTranslogSyncs() : pendingSyncs, e);
+                }
+
+                @Override
+                public boolean isForceExecution() {
+                    return true;
+                }
+            }, syncWindow, ThreadPool.Names.WRITE);
+        } catch (Exception e) {
+            // the group sync was not scheduled (e.g. because the node is shutting down), fail the pending syncs rather than leaving them
+            // waiting for a sync that will never run
+            notifyPendingTranslogSyncs(drainPendingTranslogSyncs(), e);
+        }
+    }
+
+    private List<Tuple<Translog.Location, Consumer<Exception>>> drainPendingTranslogSyncs() {
+        synchronized (pendingTranslogSyncsMutex) {
+            final List<Tuple<Translog.Location, Consumer<Exception>>> pendingSyncs = pendingTranslogSyncs;
+            pendingTranslogSyncs = null;
+            assert pendingSyncs != null && pendingSyncs.isEmpty() == false : "no translog syncs pending";
+            return pendingSyncs;
+        }
+    }
+
+    private void notifyPendingTranslogSyncs(List<Tuple<Translog.Location, Consumer<Exception>>> pendingSyncs, @Nullable Exception e) {
+        for (Tuple<Translog.Location, Consumer<Exception>> pendingSync : pendingSyncs) {
+            try {
+                pendingSync.v2().accept(e);
+            } catch (Exception ex) {
+                logger.warn("failed to notify translog sync listener", ex);
+            }
+        }
     }
 
     public void sync() throws IOException {
@@ -65,6 +65,14 @@ public interface SearchOperationListener {
      */
     default void onFetchPhase(SearchContext searchContext, long tookInNanos) {}
 
+    /**
+     * Executed after the dfs phase successfully finished.
+     * Note: this is not invoked if the dfs phase execution failed.
+     * @param searchContext the current search context
+     * @param tookInNanos the number of nanoseconds the dfs execution took
+     */
+    default void onDfsPhase(SearchContext searchContext, long tookInNanos) {}
+
     /**
      * Executed when a new reader context was created
      * @param readerContext the created context
@@ -182,6 +190,17 @@ public interface SearchOperationListener {
             }
         }
 
+        @Override
+        public void onDfsPhase(SearchContext searchContext, long tookInNanos) {
+            for (SearchOperationListener listener : listeners) {
+                try {
+                    listener.onDfsPhase(searchContext, tookInNanos);
+                } catch (Exception e) {
+                    logger.warn(() -> new ParameterizedMessage("onDfsPhase listener [{}] failed", listener), e);
+                }
+            }
+        }
+
         @Override
         public void onNewReaderContext(ReaderContext readerContext) {
             for (SearchOperationListener listener : listeners) {
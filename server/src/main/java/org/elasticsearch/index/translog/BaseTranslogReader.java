@@ -108,6 +108,14 @@ public abstract class BaseTranslogReader implements Comparable<BaseTranslogReade
 
     protected Translog.Operation read(BufferedChecksumStreamInput inStream) throws IOException {
         final Translog.Operation op = Translog.readOperation(inStream);
+        verifyPrimaryTerm(op);
+        return op;
+    }
+
+    /**
+     * Fails if the given operation has a term that is newer than the term of this translog file.
+     */
+    protected final void verifyPrimaryTerm(Translog.Operation op) throws TranslogCorruptedException {
         if (op.primaryTerm() > getPrimaryTerm() && getPrimaryTerm() != SequenceNumbers.UNASSIGNED_PRIMARY_TERM) {
             throw new TranslogCorruptedException(
                 path.toString(),
@@ -119,7 +127,6 @@ public abstract class BaseTranslogReader implements Comparable<BaseTranslogReade
                     + "]"
             );
         }
-        return op;
     }
 
     /**
@@ -10,6 +10,7 @@ package org.elasticsearch.index.translog;
 
 import org.apache.lucene.store.AlreadyClosedException;
 import org.elasticsearch.common.io.Channels;
+import org.elasticsearch.core.Booleans;
 import org.elasticsearch.core.internal.io.IOUtils;
 import org.elasticsearch.index.seqno.SequenceNumbers;
 
@@ -28,6 +29,12 @@ import static org.elasticsearch.index.translog.Translog.getCommitCheckpointFileN
  * an immutable translog filereader
  */
 public class TranslogReader extends BaseTranslogReader implements Closeable {
+    /**
+     * Whether snapshots of translog files that are no longer written to read their operations through a memory mapping
+     * of the file instead of positional reads.
+     */
+    static final boolean MMAP_SNAPSHOTS = Booleans.parseBoolean(System.getProperty("es.translog.mmap_snapshots", "true"));
+
     protected final long length;
     private final int totalOperations;
     private final Checkpoint checkpoint;
@@ -115,6 +122,12 @@ public class TranslogReader extends BaseTranslogReader implements Closeable {
         return checkpoint;
     }
 
+    @Override
+    public TranslogSnapshot newSnapshot() {
+        // the file is immutable so it is safe to map it
+        return new TranslogSnapshot(this, sizeInBytes(), MMAP_SNAPSHOTS);
+    }
+
     /**
      * reads an operation at the given position into the given buffer.
      */
@@ -7,14 +7,23 @@
  */
 package org.elasticsearch.index.translog;
 
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.ArrayUtil;
+import org.elasticsearch.common.Numbers;
 import org.elasticsearch.common.io.Channels;
+import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.index.seqno.SequenceNumbers;
 
+import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
 
-final class TranslogSnapshot extends BaseTranslogReader {
+final class TranslogSnapshot extends BaseTranslogReader implements Closeable {
 
     private final int totalOperations;
     private final Checkpoint checkpoint;
@@ -26,11 +35,27 @@ final class TranslogSnapshot extends BaseTranslogReader {
     private int readOperations;
     private BufferedChecksumStreamInput reuse;
 
+    private boolean mmap;
+    private IndexInput mapped;
+    private byte[] operationBuffer;
+    private CRC32 checksum;
+
     /**
      * Create a snapshot of translog file channel.
      */
     TranslogSnapshot(final BaseTranslogReader reader, final long length) {
+        this(reader, length, false);
+    }
+
+    /**
+     * Create a snapshot of translog file channel. If {@code mmap} is set, the snapshot maps the file into memory on the first
+     * read and reads operations straight from the mapping, verifying the checksum of each operation in a single pass over
+     * its bytes. This must only be used for files that are no longer written to. The mapping is released when the snapshot is
+     * closed.
+     */
+    TranslogSnapshot(final BaseTranslogReader reader, final long length, final boolean mmap) {
         super(reader.generation, reader.channel, reader.path, reader.header);
+        this.mmap = mmap;
         this.length = length;
         this.totalOperations = reader.totalOperations();
         this.checkpoint = reader.getCheckpoint();
@@ -66,14 +91,89 @@ final class TranslogSnapshot extends BaseTranslogReader {
     }
 
     private Translog.Operation readOperation() throws IOException {
+        maybeMap();
         final int opSize = readSize(reusableBuffer, position);
-        reuse = checksummedStream(reusableBuffer, position, opSize, reuse);
-        Translog.Operation op = read(reuse);
+        final Translog.Operation op;
+        if (mapped != null) {
+            op = readMappedOperation(opSize);
+        } else {
+            reuse = checksummedStream(reusableBuffer, position, opSize, reuse);
+            op = read(reuse);
+        }
         position += opSize;
         readOperations++;
         return op;
     }
 
+    private void maybeMap() throws IOException {
+        if (mmap && mapped == null) {
+            if (channel.size() >= length) {
+                // the input unmaps the file when it is closed, unlike a MappedByteBuffer which is only unmapped once it is GCed
+                try (Directory directory = new MMapDirectory(path.getParent())) {
+                    mapped = directory.openInput(path.getFileName().toString(), IOContext.READONCE);
+                }
+                operationBuffer = new byte[reusableBuffer.capacity()];
+                checksum = new CRC32();
+            } else {
+                // fall back to positional reads, they report a truncated file properly
+                mmap = false;
+            }
+        }
+    }
+
+    /**
+     * Reads the operation of the given size (including the size itself) at the current position from the mapped file. Unlike
+     * {@link Translog#readOperation(BufferedChecksumStreamInput)} the checksum is computed over the serialized operation as a
+     * whole before parsing it rather than byte by byte while parsing.
+     */
+    private Translog.Operation readMappedOperation(int opSize) throws IOException {
+        // the operation is the size, the serialized operation and the checksum of the serialized operation
+        final int serializedSize = opSize - Integer.BYTES * 2;
+        if (serializedSize < 0) {
+            throw new TranslogCorruptedException(path.toString(), "operation size must be at least 4 but was: " + (opSize - Integer.BYTES));
+        }
+        if (position + opSize > length) {
+            throw new TranslogCorruptedException(
+                path.toString(),
+                "translog truncated",
+                new EOFException("read requested past EOF. pos [" + position + "] size [" + opSize + "] end: [" + length + "]")
+            );
+        }
+        // read the serialized operation and its checksum in one go
+        final int bytesToRead = serializedSize + Integer.BYTES;
+        operationBuffer = ArrayUtil.grow(operationBuffer, bytesToRead);
+        mapped.seek(position + Integer.BYTES);
+        mapped.readBytes(operationBuffer, 0, bytesToRead);
+        checksum.reset();
+        checksum.update(operationBuffer, 0, serializedSize);
+        final long expectedChecksum = checksum.getValue();
+        final long readChecksum = Integer.toUnsignedLong(Numbers.bytesToInt(operationBuffer, serializedSize));
+        if (readChecksum != expectedChecksum) {
+            throw new TranslogCorruptedException(
+                path.toString(),
+                "checksum verification failed - expected: 0x"
+                    + Long.toHexString(expectedChecksum)
+                    + ", got: 0x"
+                    + Long.toHexString(readChecksum)
+            );
+        }
+        final StreamInput in = StreamInput.wrap(operationBuffer, 0, serializedSize);
+        final Translog.Operation op;
+        try {
+            op = Translog.Operation.readOperation(in);
+        } catch (EOFException e) {
+            throw new TruncatedTranslogException(path.toString(), "reached premature end of file, translog is truncated", e);
+        }
+        if (in.available() != 0) {
+            throw new TranslogCorruptedException(
+                path.toString(),
+                "operation size is corrupted, [" + in.available() + "] bytes left after reading the operation"
+            );
+        }
+        verifyPrimaryTerm(op);
+        return op;
+    }
+
     public long sizeInBytes() {
         return length;
     }
@@ -109,12 +209,32 @@ final class TranslogSnapshot extends BaseTranslogReader {
                         + "]"
                 );
             }
-            Channels.readFromFileChannelWithEofException(channel, position, buffer);
+            if (mapped != null) {
+                if (position + buffer.remaining() > length) {
+                    throw new EOFException("read requested past EOF. pos [" + position + "] end: [" + length + "]");
+                }
+                assert buffer.hasArray() : "snapshots read into heap buffers";
+                mapped.seek(position);
+                mapped.readBytes(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                buffer.position(buffer.limit());
+            } else {
+                Channels.readFromFileChannelWithEofException(channel, position, buffer);
+            }
         } catch (EOFException e) {
             throw new TranslogCorruptedException(path.toString(), "translog truncated", e);
         }
     }
 
+    /**
+     * Releases the memory mapping of the file if the snapshot mapped it.
+     */
+    @Override
+    public void close() throws IOException {
+        if (mapped != null) {
+            mapped.close();
+        }
+    }
+
     @Override
     public String toString() {
         return "TranslogSnapshot{"
@@ -130,6 +250,8 @@ final class TranslogSnapshot extends BaseTranslogReader {
             + generation
             + ", reusableBuffer="
             + reusableBuffer
+            + ", mmap="
+            + mmap
             + '}';
     }
 }
@@ -8,16 +8,18 @@
 
 package org.elasticsearch.indices.recovery;
 
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.core.RefCounted;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.index.store.StoreFileMetadata;
+import org.elasticsearch.transport.ZeroCopyWriteable;
 
 import java.io.IOException;
 
-public final class RecoveryFileChunkRequest extends RecoveryTransportRequest implements RefCounted {
+public final class RecoveryFileChunkRequest extends RecoveryTransportRequest implements RefCounted, ZeroCopyWriteable {
     private final boolean lastChunk;
     private final long recoveryId;
     private final ShardId shardId;
@@ -100,6 +102,13 @@ public final class RecoveryFileChunkRequest extends RecoveryTransportRequest imp
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
+        writeHeader(out);
+        out.writeBytesReference(content);
+        writeTrailer(out);
+    }
+
+    @Override
+    public void writeHeader(StreamOutput out) throws IOException {
         super.writeTo(out);
         out.writeLong(recoveryId);
         shardId.writeTo(out);
@@ -107,7 +116,15 @@ public final class RecoveryFileChunkRequest extends RecoveryTransportRequest imp
         out.writeVLong(position);
         out.writeVLong(metadata.length());
         out.writeString(metadata.checksum());
-        out.writeBytesReference(content);
+    }
+
+    @Override
+    public BytesReference zeroCopyBytes() {
+        return content;
+    }
+
+    @Override
+    public void writeTrailer(StreamOutput out) throws IOException {
         out.writeString(metadata.writtenBy());
         out.writeBoolean(lastChunk);
         out.writeVInt(totalTranslogOps);
@@ -11,6 +11,7 @@ package org.elasticsearch.ingest;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.util.LazyMap;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.index.VersionType;
 import org.elasticsearch.index.mapper.IdFieldMapper;
 import org.elasticsearch.index.mapper.IndexFieldMapper;
@@ -29,11 +30,13 @@ import java.util.Date;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 
 /**
@@ -98,8 +101,8 @@ public final class IngestDocument {
      * or if the field that is found at the provided path is not of the expected type.
      */
     public <T> T getFieldValue(String path, Class<T> clazz) {
-        FieldPath fieldPath = new FieldPath(path);
-        Object context = fieldPath.initialContext;
+        FieldPath fieldPath = FieldPath.of(path);
+        Object context = fieldPath.initialContext(this);
         for (String pathElement : fieldPath.pathElements) {
             context = resolve(pathElement, path, context);
         }
@@ -206,8 +209,8 @@ public final class IngestDocument {
      * @throws IllegalArgumentException if the path is null, empty or invalid.
      */
     public boolean hasField(String path, boolean failOutOfRange) {
-        FieldPath fieldPath = new FieldPath(path);
-        Object context = fieldPath.initialContext;
+        FieldPath fieldPath = FieldPath.of(path);
+        Object context = fieldPath.initialContext(this);
         for (int i = 0; i < fieldPath.pathElements.length - 1; i++) {
             String pathElement = fieldPath.pathElements[i];
             if (context == null) {
@@ -283,8 +286,8 @@ public final class IngestDocument {
      * @throws IllegalArgumentException if the path is null, empty, invalid or if the field doesn't exist.
      */
     public void removeField(String path) {
-        FieldPath fieldPath = new FieldPath(path);
-        Object context = fieldPath.initialContext;
+        FieldPath fieldPath = FieldPath.of(path);
+        Object context = fieldPath.initialContext(this);
         for (int i = 0; i < fieldPath.pathElements.length - 1; i++) {
             context = resolve(fieldPath.pathElements[i], path, context);
         }
@@ -515,8 +518,8 @@ public final class IngestDocument {
     }
 
     private void setFieldValue(String path, Object value, boolean append, boolean allowDuplicates) {
-        FieldPath fieldPath = new FieldPath(path);
-        Object context = fieldPath.initialContext;
+        FieldPath fieldPath = FieldPath.of(path);
+        Object context = fieldPath.initialContext(this);
         for (int i = 0; i < fieldPath.pathElements.length - 1; i++) {
             String pathElement = fieldPath.pathElements[i];
             if (context == null) {
@@ -863,21 +866,28 @@ public final class IngestDocument {
         }
     }
 
-    private class FieldPath {
+    /**
+     * A field path split into its elements. Pipelines access the same few paths for every document, so parsed paths are
+     * cached rather than split again on each access.
+     */
+    static final class FieldPath {
+
+        private static final FieldPathCache CACHE = new FieldPathCache(512);
+
+        static FieldPath of(String path) {
+            return CACHE.get(path);
+        }
 
-        private final String[] pathElements;
-        private final Object initialContext;
+        final String[] pathElements;
+        private final boolean useIngestContext;
 
         private FieldPath(String path) {
-            if (Strings.isEmpty(path)) {
-                throw new IllegalArgumentException("path cannot be null nor empty");
-            }
             String newPath;
             if (path.startsWith(INGEST_KEY_PREFIX)) {
-                initialContext = ingestMetadata;
+                useIngestContext = true;
                 newPath = path.substring(INGEST_KEY_PREFIX.length(), path.length());
             } else {
-                initialContext = sourceAndMetadata;
+                useIngestContext = false;
                 if (path.startsWith(SOURCE_PREFIX)) {
                     newPath = path.substring(SOURCE_PREFIX.length(), path.length());
                 } else {
@@ -890,5 +900,79 @@ public final class IngestDocument {
             }
         }
 
+        Object initialContext(IngestDocument document) {
+            return useIngestContext ? document.ingestMetadata : document.sourceAndMetadata;
+        }
+    }
+
+    /**
+     * A bounded cache of parsed {@link FieldPath}s. Paths rendered from templates can differ for every document, so once the cache
+     * is full it evicts the paths that were not used again since they were added or since the previous eviction, like the CLOCK
+     * approximation of LRU. Paths that a pipeline keeps using stay cached however many other paths pass through. If all the
+     * cached paths are still in use, new paths are parsed without being cached.
+     */
+    static final class FieldPathCache {
+
+        private final int maxSize;
+        private final Map<String, CachedFieldPath> cache = ConcurrentCollections.newConcurrentMapWithAggressiveConcurrency();
+        private final AtomicBoolean evicting = new AtomicBoolean();
+
+        FieldPathCache(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        FieldPath get(String path) {
+            if (Strings.isEmpty(path)) {
+                throw new IllegalArgumentException("path cannot be null nor empty");
+            }
+            final CachedFieldPath cached = cache.get(path);
+            if (cached != null) {
+                if (cached.used == false) {
+                    cached.used = true;
+                }
+                return cached.fieldPath;
+            }
+            final FieldPath fieldPath = new FieldPath(path);
+            if (cache.size() >= maxSize) {
+                evictUnused();
+            }
+            if (cache.size() < maxSize) {
+                cache.putIfAbsent(path, new CachedFieldPath(fieldPath));
+            }
+            return fieldPath;
+        }
+
+        private void evictUnused() {
+            if (evicting.compareAndSet(false, true) == false) {
+                return; // another thread is already evicting
+            }
+            try {
+                final Iterator<CachedFieldPath> iterator = cache.values().iterator();
+                while (iterator.hasNext()) {
+                    final CachedFieldPath cached = iterator.next();
+                    if (cached.used) {
+                        // evicted on the next round unless it is used again in the meantime
+                        cached.used = false;
+                    } else {
+                        iterator.remove();
+                    }
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+
+        int size() {
+            return cache.size();
+        }
+
+        private static final class CachedFieldPath {
+            private final FieldPath fieldPath;
+            private volatile boolean used;
+
+            private CachedFieldPath(FieldPath fieldPath) {
+                this.fieldPath = fieldPath;
+            }
+        }
     }
 }
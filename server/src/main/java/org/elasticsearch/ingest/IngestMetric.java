@@ -9,8 +9,8 @@
 package org.elasticsearch.ingest;
 
 import org.elasticsearch.common.metrics.CounterMetric;
+import org.elasticsearch.core.TimeValue;
 
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -82,8 +82,11 @@ class IngestMetric {
      * Creates a serializable representation for these metrics.
      */
     IngestStats.Stats createStats() {
-        // we track ingestTime at nanosecond resolution, but IngestStats uses millisecond resolution for reporting
-        long ingestTimeInMillis = TimeUnit.NANOSECONDS.toMillis(ingestTimeInNanos.count());
-        return new IngestStats.Stats(ingestCount.count(), ingestTimeInMillis, ingestCurrent.get(), ingestFailed.count());
+        return new IngestStats.Stats(
+            ingestCount.count(),
+            TimeValue.timeValueNanos(ingestTimeInNanos.count()),
+            ingestCurrent.get(),
+            ingestFailed.count()
+        );
     }
 }
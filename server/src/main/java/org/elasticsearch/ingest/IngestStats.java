@@ -8,6 +8,7 @@
 
 package org.elasticsearch.ingest;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
@@ -150,12 +151,22 @@ public class IngestStats implements Writeable, ToXContentFragment {
 
         private final long ingestCount;
         private final long ingestTimeInMillis;
+        private final long ingestTimeInNanos;
         private final long ingestCurrent;
         private final long ingestFailedCount;
 
         public Stats(long ingestCount, long ingestTimeInMillis, long ingestCurrent, long ingestFailedCount) {
+            this(ingestCount, ingestTimeInMillis, TimeUnit.MILLISECONDS.toNanos(ingestTimeInMillis), ingestCurrent, ingestFailedCount);
+        }
+
+        public Stats(long ingestCount, TimeValue ingestTime, long ingestCurrent, long ingestFailedCount) {
+            this(ingestCount, ingestTime.millis(), ingestTime.nanos(), ingestCurrent, ingestFailedCount);
+        }
+
+        private Stats(long ingestCount, long ingestTimeInMillis, long ingestTimeInNanos, long ingestCurrent, long ingestFailedCount) {
             this.ingestCount = ingestCount;
             this.ingestTimeInMillis = ingestTimeInMillis;
+            this.ingestTimeInNanos = ingestTimeInNanos;
             this.ingestCurrent = ingestCurrent;
             this.ingestFailedCount = ingestFailedCount;
         }
@@ -166,6 +177,11 @@ public class IngestStats implements Writeable, ToXContentFragment {
         public Stats(StreamInput in) throws IOException {
             ingestCount = in.readVLong();
             ingestTimeInMillis = in.readVLong();
+            if (in.getVersion().onOrAfter(Version.V_8_1_0)) {
+                ingestTimeInNanos = in.readVLong();
+            } else {
+                ingestTimeInNanos = TimeUnit.MILLISECONDS.toNanos(ingestTimeInMillis);
+            }
             ingestCurrent = in.readVLong();
             ingestFailedCount = in.readVLong();
         }
@@ -174,6 +190,9 @@ public class IngestStats implements Writeable, ToXContentFragment {
         public void writeTo(StreamOutput out) throws IOException {
             out.writeVLong(ingestCount);
             out.writeVLong(ingestTimeInMillis);
+            if (out.getVersion().onOrAfter(Version.V_8_1_0)) {
+                out.writeVLong(ingestTimeInNanos);
+            }
             out.writeVLong(ingestCurrent);
             out.writeVLong(ingestFailedCount);
         }
@@ -192,6 +211,14 @@ public class IngestStats implements Writeable, ToXContentFragment {
             return ingestTimeInMillis;
         }
 
+        /**
+         * @return The total time spent of ingest preprocessing in nanos. Processors that take less than a millisecond
+         * per document, which is most of them, only show up clearly at this resolution.
+         */
+        public long getIngestTimeInNanos() {
+            return ingestTimeInNanos;
+        }
+
         /**
          * @return The total number of ingest preprocessing operations currently executing.
          */
@@ -210,6 +237,7 @@ public class IngestStats implements Writeable, ToXContentFragment {
         public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
             builder.field("count", ingestCount);
             builder.humanReadableField("time_in_millis", "time", new TimeValue(ingestTimeInMillis, TimeUnit.MILLISECONDS));
+            builder.field("time_in_nanos", ingestTimeInNanos);
             builder.field("current", ingestCurrent);
             builder.field("failed", ingestFailedCount);
             return builder;
@@ -222,13 +250,14 @@ public class IngestStats implements Writeable, ToXContentFragment {
             IngestStats.Stats that = (IngestStats.Stats) o;
             return Objects.equals(ingestCount, that.ingestCount)
                 && Objects.equals(ingestTimeInMillis, that.ingestTimeInMillis)
+                && Objects.equals(ingestTimeInNanos, that.ingestTimeInNanos)
                 && Objects.equals(ingestFailedCount, that.ingestFailedCount)
                 && Objects.equals(ingestCurrent, that.ingestCurrent);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(ingestCount, ingestTimeInMillis, ingestFailedCount, ingestCurrent);
+            return Objects.hash(ingestCount, ingestTimeInMillis, ingestTimeInNanos, ingestFailedCount, ingestCurrent);
         }
     }
 
@@ -8,11 +8,13 @@
 
 package org.elasticsearch.node;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.util.set.Sets;
 import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
@@ -26,36 +28,62 @@ import java.util.stream.Collectors;
 /**
  * Class representing statistics about adaptive replica selection. This includes
  * EWMA of queue size, service time, and response time, as well as outgoing
- * searches to each node and the "rank" based on the ARS formula.
+ * searches to each node and the "rank" based on the ARS formula. The response
+ * time and rank are also reported for each shard copy on the node when
+ * shard level stats are requested.
  */
 public class AdaptiveSelectionStats implements Writeable, ToXContentFragment {
 
     private final Map<String, Long> clientOutgoingConnections;
     private final Map<String, ResponseCollectorService.ComputedNodeStats> nodeComputedStats;
+    private final Map<String, Map<ShardId, Double>> nodeShardResponseTimes;
 
     public AdaptiveSelectionStats(
         Map<String, Long> clientConnections,
         Map<String, ResponseCollectorService.ComputedNodeStats> nodeComputedStats
+    ) {
+        this(clientConnections, nodeComputedStats, Map.of());
+    }
+
+    public AdaptiveSelectionStats(
+        Map<String, Long> clientConnections,
+        Map<String, ResponseCollectorService.ComputedNodeStats> nodeComputedStats,
+        Map<String, Map<ShardId, Double>> nodeShardResponseTimes
     ) {
         this.clientOutgoingConnections = clientConnections;
         this.nodeComputedStats = nodeComputedStats;
+        this.nodeShardResponseTimes = nodeShardResponseTimes;
     }
 
     public AdaptiveSelectionStats(StreamInput in) throws IOException {
         this.clientOutgoingConnections = in.readMap(StreamInput::readString, StreamInput::readLong);
         this.nodeComputedStats = in.readMap(StreamInput::readString, ResponseCollectorService.ComputedNodeStats::new);
+        if (in.getVersion().onOrAfter(Version.V_8_1_0)) {
+            this.nodeShardResponseTimes = in.readMap(StreamInput::readString, i -> i.readMap(ShardId::new, StreamInput::readDouble));
+        } else {
+            this.nodeShardResponseTimes = Map.of();
+        }
     }
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeMap(this.clientOutgoingConnections, StreamOutput::writeString, StreamOutput::writeLong);
         out.writeMap(this.nodeComputedStats, StreamOutput::writeString, (stream, stats) -> stats.writeTo(stream));
+        if (out.getVersion().onOrAfter(Version.V_8_1_0)) {
+            out.writeMap(
+                this.nodeShardResponseTimes,
+                StreamOutput::writeString,
+                (stream, shards) -> stream.writeMap(shards, (o, shardId) -> shardId.writeTo(o), StreamOutput::writeDouble)
+            );
+        }
     }
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject("adaptive_selection");
         Set<String> allNodeIds = Sets.union(clientOutgoingConnections.keySet(), nodeComputedStats.keySet());
+        // there is an entry for every shard copy that was searched, only render them when asked for shard level stats
+        boolean includeShards = "shards".equals(params.param("level"));
         for (String nodeId : allNodeIds) {
             builder.startObject(nodeId);
             ResponseCollectorService.ComputedNodeStats stats = nodeComputedStats.get(nodeId);
@@ -72,6 +100,22 @@ public class AdaptiveSelectionStats implements Writeable, ToXContentFragment {
                 }
                 builder.field("avg_response_time_ns", (long) stats.responseTime);
                 builder.field("rank", String.format(Locale.ROOT, "%.1f", stats.rank(outgoingSearches)));
+                Map<ShardId, Double> shardResponseTimes = includeShards ? nodeShardResponseTimes.getOrDefault(nodeId, Map.of()) : Map.of();
+                if (shardResponseTimes.isEmpty() == false) {
+                    builder.startObject("shards");
+                    for (Map.Entry<ShardId, Double> shard : shardResponseTimes.entrySet()) {
+                        builder.startObject(shard.getKey().toString());
+                        long responseTime = shard.getValue().longValue();
+                        if (builder.humanReadable()) {
+                            builder.field("avg_response_time", new TimeValue(responseTime, TimeUnit.NANOSECONDS).toString());
+                        }
+                        builder.field("avg_response_time_ns", responseTime);
+                        double rank = stats.withResponseTime(shard.getValue()).rank(outgoingSearches);
+                        builder.field("rank", String.format(Locale.ROOT, "%.1f", rank));
+                        builder.endObject();
+                    }
+                    builder.endObject();
+                }
             }
             builder.endObject();
         }
@@ -93,6 +137,13 @@ public class AdaptiveSelectionStats implements Writeable, ToXContentFragment {
         return nodeComputedStats;
     }
 
+    /**
+     * Returns a map of node id to the response time of each shard copy on that node
+     */
+    public Map<String, Map<ShardId, Double>> getShardResponseTimes() {
+        return nodeShardResponseTimes;
+    }
+
     /**
      * Returns a map of node id to the ranking of the nodes based on the adaptive replica formula
      */
@@ -11,6 +11,10 @@ package org.elasticsearch.node;
 import org.elasticsearch.cluster.ClusterChangedEvent;
 import org.elasticsearch.cluster.ClusterStateListener;
 import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
+import org.elasticsearch.cluster.routing.IndexShardRoutingTable;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.ExponentiallyWeightedMovingAverage;
 import org.elasticsearch.common.io.stream.StreamInput;
@@ -18,17 +22,25 @@ import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.shard.ShardId;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 
 /**
  * Collects statistics about queue size, response time, and service time of
  * tasks executed on each node, making the EWMA of the values available to the
- * coordinating node.
+ * coordinating node. The response time is also tracked for each shard copy so
+ * that a node that is fast overall but slow for a particular shard isn't
+ * preferred for that shard.
  */
 public final class ResponseCollectorService implements ClusterStateListener {
 
@@ -38,6 +50,8 @@ public final class ResponseCollectorService implements ClusterStateListener {
     public static final double ALPHA = 0.3;
 
     private final ConcurrentMap<String, NodeStatistics> nodeIdToStats = ConcurrentCollections.newConcurrentMap();
+    private final ConcurrentMap<ShardId, ConcurrentMap<String, ExponentiallyWeightedMovingAverage>> shardIdToStats = ConcurrentCollections
+        .newConcurrentMap();
 
     public ResponseCollectorService(ClusterService clusterService) {
         clusterService.addListener(this);
@@ -50,10 +64,44 @@ public final class ResponseCollectorService implements ClusterStateListener {
                 removeNode(removedNode.getId());
             }
         }
+        for (Index deletedIndex : event.indicesDeleted()) {
+            removeIndex(deletedIndex);
+        }
+        if (event.routingTableChanged()) {
+            removeUnassignedShardCopies(event.state().routingTable());
+        }
     }
 
     void removeNode(String nodeId) {
         nodeIdToStats.remove(nodeId);
+        for (ConcurrentMap<String, ExponentiallyWeightedMovingAverage> copies : shardIdToStats.values()) {
+            copies.remove(nodeId);
+        }
+    }
+
+    void removeIndex(Index index) {
+        shardIdToStats.keySet().removeIf(shardId -> shardId.getIndex().equals(index));
+    }
+
+    /**
+     * Drops the statistics of shard copies that are no longer assigned to the node they were collected for, e.g. because the copy was
+     * relocated or removed, so that stats only exist for the copies in the given routing table.
+     */
+    void removeUnassignedShardCopies(RoutingTable routingTable) {
+        for (Map.Entry<ShardId, ConcurrentMap<String, ExponentiallyWeightedMovingAverage>> entry : shardIdToStats.entrySet()) {
+            final ShardId shardId = entry.getKey();
+            final IndexRoutingTable indexRoutingTable = routingTable.index(shardId.getIndex());
+            final IndexShardRoutingTable shardRoutingTable = indexRoutingTable == null ? null : indexRoutingTable.shard(shardId.id());
+            if (shardRoutingTable == null) {
+                shardIdToStats.remove(shardId, entry.getValue());
+            } else {
+                final Set<String> nodeIds = new HashSet<>();
+                for (ShardRouting shardRouting : shardRoutingTable.assignedShards()) {
+                    nodeIds.add(shardRouting.currentNodeId());
+                }
+                entry.getValue().keySet().retainAll(nodeIds);
+            }
+        }
     }
 
     public void addNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos) {
@@ -71,6 +119,49 @@ public final class ResponseCollectorService implements ClusterStateListener {
         });
     }
 
+    /**
+     * Records the time it took for the copy of the given shard on the given node to respond to a query.
+     */
+    public void addShardStatistics(ShardId shardId, String nodeId, long responseTimeNanos) {
+        final ConcurrentMap<String, ExponentiallyWeightedMovingAverage> copies = shardIdToStats.computeIfAbsent(
+            shardId,
+            k -> ConcurrentCollections.newConcurrentMap()
+        );
+        final ExponentiallyWeightedMovingAverage responseTime = copies.putIfAbsent(
+            nodeId,
+            new ExponentiallyWeightedMovingAverage(ALPHA, responseTimeNanos)
+        );
+        if (responseTime != null) {
+            responseTime.addValue((double) responseTimeNanos);
+        }
+    }
+
+    /**
+     * Returns the EWMA of the response time of the copy of the given shard on the given node, or an empty {@code OptionalDouble} if the
+     * copy hasn't been queried yet.
+     */
+    public OptionalDouble getShardResponseTime(ShardId shardId, String nodeId) {
+        final Map<String, ExponentiallyWeightedMovingAverage> copies = shardIdToStats.get(shardId);
+        if (copies == null) {
+            return OptionalDouble.empty();
+        }
+        final ExponentiallyWeightedMovingAverage responseTime = copies.get(nodeId);
+        return responseTime == null ? OptionalDouble.empty() : OptionalDouble.of(responseTime.getAverage());
+    }
+
+    /**
+     * Returns the EWMA of the response time of each shard copy, grouped by the id of the node holding the copy.
+     */
+    public Map<String, Map<ShardId, Double>> getAllShardStatistics() {
+        final Map<String, Map<ShardId, Double>> shardStats = new HashMap<>();
+        shardIdToStats.forEach(
+            (shardId, copies) -> copies.forEach(
+                (nodeId, responseTime) -> shardStats.computeIfAbsent(nodeId, k -> new HashMap<>()).put(shardId, responseTime.getAverage())
+            )
+        );
+        return shardStats;
+    }
+
     public Map<String, ComputedNodeStats> getAllNodeStatistics() {
         final int clientNum = nodeIdToStats.size();
         // Transform the mutable object internally used for accounting into the computed version
@@ -80,7 +171,7 @@ public final class ResponseCollectorService implements ClusterStateListener {
     }
 
     public AdaptiveSelectionStats getAdaptiveStats(Map<String, Long> clientSearchConnections) {
-        return new AdaptiveSelectionStats(clientSearchConnections, getAllNodeStatistics());
+        return new AdaptiveSelectionStats(clientSearchConnections, getAllNodeStatistics(), getAllShardStatistics());
     }
 
     /**
@@ -175,6 +266,13 @@ public final class ResponseCollectorService implements ClusterStateListener {
             return rS - muBarSInverse + Math.pow(qHatS, queueAdjustmentFactor) * muBarSInverse;
         }
 
+        /**
+         * Returns a copy of these statistics with the given response time, used to rank a copy of a particular shard on this node.
+         */
+        public ComputedNodeStats withResponseTime(double responseTime) {
+            return new ComputedNodeStats(nodeId, clientNum, queueSize, responseTime, serviceTime);
+        }
+
         public double rank(long outstandingRequests) {
             if (cachedRank == 0) {
                 cachedRank = innerRank(outstandingRequests);
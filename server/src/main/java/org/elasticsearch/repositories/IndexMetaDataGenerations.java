@@ -16,8 +16,10 @@ import org.elasticsearch.snapshots.SnapshotId;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -135,9 +137,12 @@ public final class IndexMetaDataGenerations {
     public IndexMetaDataGenerations withRemovedSnapshots(Collection<SnapshotId> snapshotIds) {
         final Map<SnapshotId, Map<IndexId, String>> updatedIndexMetaLookup = new HashMap<>(lookup);
         updatedIndexMetaLookup.keySet().removeAll(snapshotIds);
+        final Set<String> remainingIdentifiers = new HashSet<>();
+        for (Map<IndexId, String> identifiers : updatedIndexMetaLookup.values()) {
+            remainingIdentifiers.addAll(identifiers.values());
+        }
         final Map<String, String> updatedIndexMetaIdentifiers = new HashMap<>(identifiers);
-        updatedIndexMetaIdentifiers.keySet()
-            .removeIf(k -> updatedIndexMetaLookup.values().stream().noneMatch(identifiers -> identifiers.containsValue(k)));
+        updatedIndexMetaIdentifiers.keySet().retainAll(remainingIdentifiers);
         return new IndexMetaDataGenerations(updatedIndexMetaLookup, updatedIndexMetaIdentifiers);
     }
 
@@ -328,17 +328,16 @@ public final class RepositoryData {
      * @return List of indices that are changed but not removed
      */
     public List<IndexId> indicesToUpdateAfterRemovingSnapshot(Collection<SnapshotId> snapshotIds) {
+        final Set<SnapshotId> snapshotsToRemove = Set.copyOf(snapshotIds);
         return indexSnapshots.entrySet().stream().filter(entry -> {
-            final Collection<SnapshotId> existingIds = entry.getValue();
-            if (snapshotIds.containsAll(existingIds)) {
-                return existingIds.size() > snapshotIds.size();
-            }
-            for (SnapshotId snapshotId : snapshotIds) {
-                if (entry.getValue().contains(snapshotId)) {
-                    return true;
+            final List<SnapshotId> existingIds = entry.getValue();
+            int removed = 0;
+            for (SnapshotId existingId : existingIds) {
+                if (snapshotsToRemove.contains(existingId)) {
+                    removed++;
                 }
             }
-            return false;
+            return removed > 0 && removed < existingIds.size();
         }).map(Map.Entry::getKey).collect(Collectors.toList());
     }
 
@@ -352,9 +351,10 @@ public final class RepositoryData {
      */
     public Map<IndexId, Collection<String>> indexMetaDataToRemoveAfterRemovingSnapshots(Collection<SnapshotId> snapshotIds) {
         Collection<IndexId> indicesForSnapshot = indicesToUpdateAfterRemovingSnapshot(snapshotIds);
+        final Set<SnapshotId> snapshotsToRemove = Set.copyOf(snapshotIds);
         final Set<String> allRemainingIdentifiers = indexMetaDataGenerations.lookup.entrySet()
             .stream()
-            .filter(e -> snapshotIds.contains(e.getKey()) == false)
+            .filter(e -> snapshotsToRemove.contains(e.getKey()) == false)
             .flatMap(e -> e.getValue().values().stream())
             .map(indexMetaDataGenerations::getIndexMetaBlobId)
             .collect(Collectors.toSet());
@@ -430,7 +430,7 @@ public final class RepositoryData {
             snapshots,
             newSnapshotDetails,
             allIndexSnapshots,
-            ShardGenerations.builder().putAll(this.shardGenerations).putAll(shardGenerations).build(),
+            this.shardGenerations.withUpdatedGenerations(shardGenerations),
             newIndexMetaGenerations,
             clusterUUID
         );
@@ -501,9 +501,10 @@ public final class RepositoryData {
      *                                changed shard indexed by its shardId
      */
     public RepositoryData removeSnapshots(final Collection<SnapshotId> snapshots, final ShardGenerations updatedShardGenerations) {
+        final Set<SnapshotId> snapshotsToRemove = Set.copyOf(snapshots);
         Map<String, SnapshotId> newSnapshotIds = snapshotIds.values()
             .stream()
-            .filter(Predicate.not(snapshots::contains))
+            .filter(Predicate.not(snapshotsToRemove::contains))
             .collect(Collectors.toMap(SnapshotId::getUUID, Function.identity()));
         if (newSnapshotIds.size() != snapshotIds.size() - snapshots.size()) {
             final Collection<SnapshotId> notFound = new HashSet<>(snapshots);
@@ -518,11 +519,11 @@ public final class RepositoryData {
         for (final IndexId indexId : indices.values()) {
             List<SnapshotId> snapshotIds = this.indexSnapshots.get(indexId);
             assert snapshotIds != null;
-            List<SnapshotId> remaining = new ArrayList<>(snapshotIds);
-            if (remaining.removeAll(snapshots)) {
-                remaining = Collections.unmodifiableList(remaining);
-            } else {
-                remaining = snapshotIds;
+            List<SnapshotId> remaining = snapshotIds;
+            if (snapshotIds.stream().anyMatch(snapshotsToRemove::contains)) {
+                remaining = snapshotIds.stream()
+                    .filter(Predicate.not(snapshotsToRemove::contains))
+                    .collect(Collectors.toUnmodifiableList());
             }
             if (remaining.isEmpty() == false) {
                 indexSnapshots.put(indexId, remaining);
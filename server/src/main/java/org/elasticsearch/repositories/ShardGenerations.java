@@ -141,6 +141,33 @@ public final class ShardGenerations {
         return generations.get(shardId);
     }
 
+    /**
+     * Returns a new instance that holds the generations of this instance overlaid with the non-null generations in {@code updates}. This
+     * is equivalent to {@code builder().putAll(this).putAll(updates).build()} but reuses the generations of every index that is not
+     * updated rather than rebuilding them, since a repository usually tracks many more indices than are touched by a single snapshot.
+     *
+     * @param updates generations to put on top of the generations of this instance
+     * @return updated shard generations
+     */
+    public ShardGenerations withUpdatedGenerations(ShardGenerations updates) {
+        if (updates.shardGenerations.isEmpty()) {
+            return this;
+        }
+        final Map<IndexId, List<ShardGeneration>> generations = new HashMap<>();
+        final Builder builder = builder();
+        shardGenerations.forEach((indexId, gens) -> {
+            // a list with a trailing null would be trimmed by the builder so it is not reused as-is
+            if (updates.shardGenerations.containsKey(indexId) || gens.isEmpty() || gens.get(gens.size() - 1) == null) {
+                builder.putGenerations(indexId, gens);
+            } else {
+                generations.put(indexId, gens);
+            }
+        });
+        updates.shardGenerations.forEach(builder::putGenerations);
+        generations.putAll(builder.build().shardGenerations);
+        return new ShardGenerations(generations);
+    }
+
     public List<ShardGeneration> getGens(IndexId indexId) {
         return shardGenerations.getOrDefault(indexId, Collections.emptyList());
     }
@@ -202,17 +229,19 @@ public final class ShardGenerations {
         }
 
         public Builder putAll(ShardGenerations shardGenerations) {
-            shardGenerations.shardGenerations.forEach((indexId, gens) -> {
-                for (int i = 0; i < gens.size(); i++) {
-                    final ShardGeneration gen = gens.get(i);
-                    if (gen != null) {
-                        put(indexId, i, gen);
-                    }
-                }
-            });
+            shardGenerations.shardGenerations.forEach(this::putGenerations);
             return this;
         }
 
+        private void putGenerations(IndexId indexId, List<ShardGeneration> gens) {
+            for (int i = 0; i < gens.size(); i++) {
+                final ShardGeneration gen = gens.get(i);
+                if (gen != null) {
+                    put(indexId, i, gen);
+                }
+            }
+        }
+
         public Builder put(IndexId indexId, int shardId, SnapshotsInProgress.ShardSnapshotStatus status) {
             // only track generations for successful shard status values
             return put(indexId, shardId, status.state().failed() ? null : status.generation());
@@ -15,6 +15,7 @@ import org.elasticsearch.client.internal.node.NodeClient;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.logging.DeprecationLogger;
 import org.elasticsearch.core.RestApiVersion;
+import org.elasticsearch.index.search.stats.SearchStats;
 import org.elasticsearch.rest.BaseRestHandler;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.rest.action.RestActions.NodesResponseRestListener;
@@ -185,7 +186,7 @@ public class RestNodesStatsAction extends BaseRestHandler {
             .nodesStats(nodesStatsRequest, new NodesResponseRestListener<>(channel));
     }
 
-    private final Set<String> RESPONSE_PARAMS = Collections.singleton("level");
+    private final Set<String> RESPONSE_PARAMS = Set.of("level", SearchStats.INCLUDE_LATENCY_HISTOGRAMS);
 
     @Override
     protected Set<String> responseParams() {
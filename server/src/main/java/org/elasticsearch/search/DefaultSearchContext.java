@@ -61,6 +61,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.LongSupplier;
 
 final class DefaultSearchContext extends SearchContext {
@@ -135,7 +136,8 @@ final class DefaultSearchContext extends SearchContext {
         LongSupplier relativeTimeSupplier,
         TimeValue timeout,
         FetchPhase fetchPhase,
-        boolean lowLevelCancellation
+        boolean lowLevelCancellation,
+        @Nullable Executor executor
     ) throws IOException {
         this.readerContext = readerContext;
         this.request = request;
@@ -154,7 +156,8 @@ final class DefaultSearchContext extends SearchContext {
             engineSearcher.getSimilarity(),
             engineSearcher.getQueryCache(),
             engineSearcher.getQueryCachingPolicy(),
-            lowLevelCancellation
+            lowLevelCancellation,
+            executor
         );
         releasables.addAll(List.of(engineSearcher, searcher));
 
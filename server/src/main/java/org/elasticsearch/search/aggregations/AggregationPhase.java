@@ -8,7 +8,19 @@
 package org.elasticsearch.search.aggregations;
 
 import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
+import org.apache.lucene.search.MultiCollector;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHitCountCollector;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.TotalHits.Relation;
 import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.lucene.Lucene;
+import org.elasticsearch.common.lucene.search.TopDocsAndMaxScore;
+import org.elasticsearch.search.SearchService;
+import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.timeseries.TimeSeriesIndexSearcher;
 import org.elasticsearch.search.internal.SearchContext;
 import org.elasticsearch.search.profile.query.CollectorResult;
@@ -16,6 +28,7 @@ import org.elasticsearch.search.profile.query.InternalProfileCollector;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -47,14 +60,121 @@ public class AggregationPhase {
                 throw new AggregationExecutionException("Could not perform time series aggregation", e);
             }
             context.queryCollectors().put(AggregationPhase.class, BucketCollector.NO_OP_COLLECTOR);
+        } else if (canCollectConcurrently(context)) {
+            // the query phase collects the aggregations instead of running its own search, see #collectConcurrently
+            context.aggregations().collectConcurrently(true);
         } else {
-            Collector collector = context.getProfilers() == null
-                ? bucketCollector
-                : new InternalProfileCollector(bucketCollector, CollectorResult.REASON_AGGREGATION, List.of());
+            Collector collector;
+            if (context.getProfilers() != null) {
+                collector = new InternalProfileCollector(bucketCollector, CollectorResult.REASON_AGGREGATION, List.of());
+            } else if (bucketCollector.scoreMode().needsScores() == false) {
+                // hand docs to the aggregators in blocks so they can load and aggregate values in tight loops
+                collector = new BatchingBucketCollector(bucketCollector);
+            } else {
+                collector = bucketCollector;
+            }
             context.queryCollectors().put(AggregationPhase.class, collector);
         }
     }
 
+    /**
+     * Can we collect the aggregations of this request by searching slices of
+     * the shard in parallel? We only do it for requests that don't need any
+     * hits and nothing but the total hit count from the query phase, so that
+     * the concurrent pass can count the hits and the query phase doesn't have
+     * to run the query again.
+     */
+    private static boolean canCollectConcurrently(SearchContext context) {
+        AggregatorFactories factories = context.aggregations().factories();
+        return context.searcher().isConcurrent()
+            && context.getProfilers() == null
+            && context.size() == 0
+            && context.scrollContext() == null
+            && context.parsedPostFilter() == null
+            && context.minimumScore() == null
+            && context.terminateAfter() == SearchContext.DEFAULT_TERMINATE_AFTER
+            && (context.timeout() == null || SearchService.NO_TIMEOUT.equals(context.timeout()))
+            && factories.context() != null
+            && factories.supportsParallelCollection();
+    }
+
+    /**
+     * Collect the top level aggregations with one set of aggregators per
+     * slice of the shard and merge their results with a partial reduction.
+     * The hits are counted in the same pass and registered as the top docs
+     * of the query result. The query phase calls this in place of its own
+     * search when {@link #preProcess} decided that the aggregations can be
+     * collected concurrently.
+     */
+    public static void collectConcurrently(SearchContext context, Query query) throws IOException {
+        assert context.aggregations().collectConcurrently();
+        AggregatorFactories factories = context.aggregations().factories();
+        // the first slice uses the aggregators that are registered with the context, they are already pre-collected
+        BucketCollector firstSliceCollector = MultiBucketCollector.wrap(true, List.of(context.aggregations().aggregators()));
+        boolean trackTotalHits = context.trackTotalHitsUpTo() != SearchContext.TRACK_TOTAL_HITS_DISABLED;
+        List<Aggregator[]> sliceAggregators = new ArrayList<>();
+        List<TotalHitCountCollector> sliceHitCounts = new ArrayList<>();
+        List<InternalAggregations> sliceResults = context.searcher()
+            .searchConcurrently(query, new CollectorManager<Collector, List<InternalAggregations>>() {
+                @Override
+                public Collector newCollector() throws IOException {
+                    BucketCollector collector;
+                    if (sliceAggregators.isEmpty()) {
+                        sliceAggregators.add(context.aggregations().aggregators());
+                        collector = firstSliceCollector;
+                    } else {
+                        Aggregator[] aggregators = factories.createTopLevelAggregators();
+                        sliceAggregators.add(aggregators);
+                        collector = MultiBucketCollector.wrap(true, List.of(aggregators));
+                        collector.preCollection();
+                    }
+                    if (trackTotalHits == false) {
+                        return collector;
+                    }
+                    TotalHitCountCollector hitCountCollector = new TotalHitCountCollector();
+                    sliceHitCounts.add(hitCountCollector);
+                    return MultiCollector.wrap(collector, hitCountCollector);
+                }
+
+                @Override
+                public List<InternalAggregations> reduce(Collection<Collector> collectors) throws IOException {
+                    List<InternalAggregations> results = new ArrayList<>(sliceAggregators.size());
+                    for (Aggregator[] aggregators : sliceAggregators) {
+                        List<InternalAggregation> aggregations = new ArrayList<>(aggregators.length);
+                        for (Aggregator aggregator : aggregators) {
+                            aggregator.postCollection();
+                            aggregations.add(aggregator.buildTopLevel());
+                        }
+                        results.add(InternalAggregations.from(aggregations));
+                    }
+                    return results;
+                }
+            });
+        AggregationContext aggregationContext = factories.context();
+        // aggregations that support parallel collection don't need scripts to reduce
+        AggregationReduceContext reduceContext = new AggregationReduceContext.ForPartial(
+            aggregationContext.bigArrays(),
+            null,
+            aggregationContext::isCancelled
+        );
+        context.aggregations().collectedAggregations(InternalAggregations.reduce(sliceResults, reduceContext));
+
+        final TotalHits totalHits;
+        if (trackTotalHits) {
+            totalHits = new TotalHits(sliceHitCounts.stream().mapToLong(TotalHitCountCollector::getTotalHits).sum(), Relation.EQUAL_TO);
+        } else {
+            // for bwc hit count is set to 0, it will be converted to -1 by the coordinating node
+            totalHits = new TotalHits(0, Relation.GREATER_THAN_OR_EQUAL_TO);
+        }
+        final TopDocs topDocs;
+        if (context.sort() != null) {
+            topDocs = new TopFieldDocs(totalHits, Lucene.EMPTY_SCORE_DOCS, context.sort().sort.getSort());
+        } else {
+            topDocs = new TopDocs(totalHits, Lucene.EMPTY_SCORE_DOCS);
+        }
+        context.queryResult().topDocs(new TopDocsAndMaxScore(topDocs, Float.NaN), null);
+    }
+
     public void execute(SearchContext context) {
         if (context.aggregations() == null) {
             context.queryResult().aggregations(null);
@@ -66,22 +186,35 @@ public class AggregationPhase {
             return;
         }
 
-        Aggregator[] aggregators = context.aggregations().aggregators();
-
-        List<InternalAggregation> aggregations = new ArrayList<>(aggregators.length);
-        if (context.aggregations().factories().context() != null) {
-            // Rollup can end up here with a null context but not null factories.....
-            context.aggregations().factories().context().multiBucketConsumer().reset();
-        }
-        for (Aggregator aggregator : context.aggregations().aggregators()) {
+        Collector collector = context.queryCollectors().get(AggregationPhase.class);
+        if (collector instanceof BatchingBucketCollector batchingCollector) {
             try {
-                aggregator.postCollection();
-                aggregations.add(aggregator.buildTopLevel());
+                batchingCollector.flush();
             } catch (IOException e) {
-                throw new AggregationExecutionException("Failed to build aggregation [" + aggregator.name() + "]", e);
+                throw new AggregationExecutionException("Failed to collect aggregations", e);
+            }
+        }
+
+        if (context.aggregations().collectedAggregations() != null) {
+            context.queryResult().aggregations(context.aggregations().collectedAggregations());
+        } else {
+            Aggregator[] aggregators = context.aggregations().aggregators();
+
+            List<InternalAggregation> aggregations = new ArrayList<>(aggregators.length);
+            if (context.aggregations().factories().context() != null) {
+                // Rollup can end up here with a null context but not null factories.....
+                context.aggregations().factories().context().multiBucketConsumer().reset();
+            }
+            for (Aggregator aggregator : context.aggregations().aggregators()) {
+                try {
+                    aggregator.postCollection();
+                    aggregations.add(aggregator.buildTopLevel());
+                } catch (IOException e) {
+                    throw new AggregationExecutionException("Failed to build aggregation [" + aggregator.name() + "]", e);
+                }
             }
+            context.queryResult().aggregations(InternalAggregations.from(aggregations));
         }
-        context.queryResult().aggregations(InternalAggregations.from(aggregations));
 
         // disable aggregations so that they don't run on next pages in case of scrolling
         context.aggregations(null);
@@ -243,6 +243,24 @@ public class AggregatorFactories {
         return createSubAggregators(null, CardinalityUpperBound.ONE);
     }
 
+    /**
+     * Can the top level aggregators built by these factories collect slices
+     * of a shard in parallel? Only true if all of the factories
+     * {@link AggregatorFactory#supportsParallelCollection() support it} and
+     * none of them have sub-aggregations.
+     */
+    public boolean supportsParallelCollection() {
+        if (factories.length == 0) {
+            return false;
+        }
+        for (AggregatorFactory factory : factories) {
+            if (factory.factories.countAggregators() > 0 || factory.supportsParallelCollection() == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * @return the number of sub-aggregator factories
      */
@@ -71,6 +71,16 @@ public abstract class AggregatorFactory {
         return parent;
     }
 
+    /**
+     * Can the aggregators built by this factory collect disjoint slices of
+     * the segments of a shard in parallel and have their results merged with
+     * a partial reduction? Aggregators that support this must only allocate
+     * memory when they are built because collection happens on many threads.
+     */
+    public boolean supportsParallelCollection() {
+        return false;
+    }
+
     /**
      * Returns the aggregation subtype for nodes usage stats.
      * <p>
@@ -0,0 +1,128 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.aggregations;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.Scorable;
+import org.apache.lucene.search.ScoreMode;
+
+import java.io.IOException;
+
+/**
+ * A {@link BucketCollector} that buffers the docs collected in the first
+ * owning bucket and hands them over to the wrapped collector in blocks
+ * through {@link LeafBucketCollector#collect(int[], int, long)}.
+ * <p>
+ * The wrapped collector sees docs later than they are matched so it must
+ * not need scores. Docs that are still buffered when the segment changes
+ * are flushed by {@link #getLeafCollector}. The caller is responsible for
+ * calling {@link #flush()} once collection is over.
+ */
+public class BatchingBucketCollector extends BucketCollector {
+    /**
+     * The number of docs to buffer before handing them to the wrapped collector.
+     */
+    static final int BATCH_SIZE = 128;
+
+    private final BucketCollector delegate;
+    private BatchingLeafBucketCollector current;
+
+    public BatchingBucketCollector(BucketCollector delegate) {
+        if (delegate.scoreMode().needsScores()) {
+            throw new IllegalArgumentException("can't batch collection for collectors that need scores");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ScoreMode scoreMode() {
+        return delegate.scoreMode();
+    }
+
+    @Override
+    public void preCollection() throws IOException {
+        delegate.preCollection();
+    }
+
+    @Override
+    public void postCollection() throws IOException {
+        flush();
+        delegate.postCollection();
+    }
+
+    @Override
+    public LeafBucketCollector getLeafCollector(LeafReaderContext ctx) throws IOException {
+        flush();
+        LeafBucketCollector leafCollector = delegate.getLeafCollector(ctx);
+        if (leafCollector.isNoop()) {
+            return leafCollector;
+        }
+        current = new BatchingLeafBucketCollector(leafCollector);
+        return current;
+    }
+
+    /**
+     * Hand over the docs of the current segment that are still buffered to the wrapped collector.
+     */
+    public void flush() throws IOException {
+        if (current == null) {
+            return;
+        }
+        try {
+            current.flush();
+        } catch (CollectionTerminatedException e) {
+            // the wrapped collector doesn't need any more docs from this segment
+        } finally {
+            current = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "batching(" + delegate + ")";
+    }
+
+    private static class BatchingLeafBucketCollector extends LeafBucketCollector {
+        private final LeafBucketCollector delegate;
+        private final int[] docs = new int[BATCH_SIZE];
+        private int count;
+
+        BatchingLeafBucketCollector(LeafBucketCollector delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void setScorer(Scorable scorer) throws IOException {
+            delegate.setScorer(scorer);
+        }
+
+        @Override
+        public void collect(int doc, long owningBucketOrd) throws IOException {
+            if (owningBucketOrd != 0) {
+                // preserve the order in which docs are collected
+                flush();
+                delegate.collect(doc, owningBucketOrd);
+                return;
+            }
+            docs[count++] = doc;
+            if (count == docs.length) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (count > 0) {
+                final int flushed = count;
+                count = 0;
+                delegate.collect(docs, flushed, 0);
+            }
+        }
+    }
+}
@@ -73,6 +73,24 @@ public abstract class LeafBucketCollector implements LeafCollector {
      */
     public abstract void collect(int doc, long owningBucketOrd) throws IOException;
 
+    /**
+     * Collect the first {@code count} entries of {@code docs} in the bucket
+     * owned by {@code owningBucketOrd}. Doc ids are sorted in increasing
+     * order and all belong to the current segment.
+     * <p>
+     * This is equivalent to calling {@link #collect(int, long)} for each of
+     * the docs, which is what the default implementation does. Aggregators
+     * that spend most of their time loading values can override this to
+     * decode the values of the whole block into a primitive array and then
+     * aggregate them in a tight loop that the JIT can optimize much better
+     * than a virtual call per document. See {@link BatchingBucketCollector}.
+     */
+    public void collect(int[] docs, int count, long owningBucketOrd) throws IOException {
+        for (int i = 0; i < count; i++) {
+            collect(docs[i], owningBucketOrd);
+        }
+    }
+
     /**
      * Does this collector collect anything? If this returns true we can safely
      * just never call {@link #collect}.
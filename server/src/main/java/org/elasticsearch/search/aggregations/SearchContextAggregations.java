@@ -14,6 +14,8 @@ public class SearchContextAggregations {
 
     private final AggregatorFactories factories;
     private Aggregator[] aggregators;
+    private boolean collectConcurrently;
+    private InternalAggregations collectedAggregations;
 
     /**
      * Creates a new aggregation context with the parsed aggregator factories
@@ -38,4 +40,34 @@ public class SearchContextAggregations {
     public void aggregators(Aggregator[] aggregators) {
         this.aggregators = aggregators;
     }
+
+    /**
+     * Should the query phase collect the top level aggregations on slices of
+     * the shard in parallel with {@link AggregationPhase#collectConcurrently}
+     * instead of adding them to its collectors?
+     */
+    public boolean collectConcurrently() {
+        return collectConcurrently;
+    }
+
+    public void collectConcurrently(boolean collectConcurrently) {
+        this.collectConcurrently = collectConcurrently;
+    }
+
+    /**
+     * The results of the top level aggregations if they have already been
+     * collected and reduced across the slices of the shard, {@code null}
+     * otherwise.
+     */
+    public InternalAggregations collectedAggregations() {
+        return collectedAggregations;
+    }
+
+    /**
+     * Registers the results of top level aggregations that were collected
+     * and reduced across the slices of the shard by concurrent segment search.
+     */
+    public void collectedAggregations(InternalAggregations collectedAggregations) {
+        this.collectedAggregations = collectedAggregations;
+    }
 }
@@ -11,9 +11,11 @@ import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.PointValues;
 import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.Bits;
 import org.elasticsearch.common.util.DoubleArray;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.fielddata.FieldData;
 import org.elasticsearch.index.fielddata.NumericDoubleValues;
 import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
 import org.elasticsearch.search.DocValueFormat;
@@ -86,7 +88,9 @@ class MaxAggregator extends NumericMetricsAggregator.SingleValue {
         }
         final SortedNumericDoubleValues allValues = valuesSource.doubleValues(ctx);
         final NumericDoubleValues values = MultiValueMode.MAX.select(allValues);
+        final NumericDoubleValues singleton = FieldData.unwrapSingleton(allValues);
         return new LeafBucketCollectorBase(sub, allValues) {
+            private double[] buffer = new double[0];
 
             @Override
             public void collect(int doc, long bucket) throws IOException {
@@ -103,6 +107,34 @@ class MaxAggregator extends NumericMetricsAggregator.SingleValue {
                 }
             }
 
+            @Override
+            public void collect(int[] docs, int count, long bucket) throws IOException {
+                if (singleton == null) {
+                    super.collect(docs, count, bucket);
+                    return;
+                }
+                if (bucket >= maxes.size()) {
+                    long from = maxes.size();
+                    maxes = bigArrays().grow(maxes, bucket + 1);
+                    maxes.fill(from, maxes.size(), Double.NEGATIVE_INFINITY);
+                }
+
+                // decode all the values of the block first so the comparisons run in a tight loop
+                buffer = ArrayUtil.grow(buffer, count);
+                int numValues = 0;
+                for (int i = 0; i < count; i++) {
+                    if (singleton.advanceExact(docs[i])) {
+                        buffer[numValues++] = singleton.doubleValue();
+                    }
+                }
+
+                double max = maxes.get(bucket);
+                for (int i = 0; i < numValues; i++) {
+                    max = Math.max(max, buffer[i]);
+                }
+                maxes.set(bucket, max);
+            }
+
         };
     }
 
@@ -12,9 +12,11 @@ import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.PointValues;
 import org.apache.lucene.search.CollectionTerminatedException;
 import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.Bits;
 import org.elasticsearch.common.util.DoubleArray;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.fielddata.FieldData;
 import org.elasticsearch.index.fielddata.NumericDoubleValues;
 import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
 import org.elasticsearch.search.DocValueFormat;
@@ -86,7 +88,9 @@ public class MinAggregator extends NumericMetricsAggregator.SingleValue {
         }
         final SortedNumericDoubleValues allValues = valuesSource.doubleValues(ctx);
         final NumericDoubleValues values = MultiValueMode.MIN.select(allValues);
+        final NumericDoubleValues singleton = FieldData.unwrapSingleton(allValues);
         return new LeafBucketCollectorBase(sub, allValues) {
+            private double[] buffer = new double[0];
             @Override
             public void collect(int doc, long bucket) throws IOException {
                 if (bucket >= mins.size()) {
@@ -102,6 +106,34 @@ public class MinAggregator extends NumericMetricsAggregator.SingleValue {
                 }
             }
 
+            @Override
+            public void collect(int[] docs, int count, long bucket) throws IOException {
+                if (singleton == null) {
+                    super.collect(docs, count, bucket);
+                    return;
+                }
+                if (bucket >= mins.size()) {
+                    long from = mins.size();
+                    mins = bigArrays().grow(mins, bucket + 1);
+                    mins.fill(from, mins.size(), Double.POSITIVE_INFINITY);
+                }
+
+                // decode all the values of the block first so the comparisons run in a tight loop
+                buffer = ArrayUtil.grow(buffer, count);
+                int numValues = 0;
+                for (int i = 0; i < count; i++) {
+                    if (singleton.advanceExact(docs[i])) {
+                        buffer[numValues++] = singleton.doubleValue();
+                    }
+                }
+
+                double min = mins.get(bucket);
+                for (int i = 0; i < numValues; i++) {
+                    min = Math.min(min, buffer[i]);
+                }
+                mins.set(bucket, min);
+            }
+
         };
     }
 
@@ -9,8 +9,11 @@ package org.elasticsearch.search.aggregations.metrics;
 
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.util.ArrayUtil;
 import org.elasticsearch.common.util.DoubleArray;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.fielddata.FieldData;
+import org.elasticsearch.index.fielddata.NumericDoubleValues;
 import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.Aggregator;
@@ -60,8 +63,11 @@ public class SumAggregator extends NumericMetricsAggregator.SingleValue {
             return LeafBucketCollector.NO_OP_COLLECTOR;
         }
         final SortedNumericDoubleValues values = valuesSource.doubleValues(ctx);
+        final NumericDoubleValues singleton = FieldData.unwrapSingleton(values);
         final CompensatedSum kahanSummation = new CompensatedSum(0, 0);
         return new LeafBucketCollectorBase(sub, values) {
+            private double[] buffer = new double[0];
+
             @Override
             public void collect(int doc, long bucket) throws IOException {
                 sums = bigArrays().grow(sums, bucket + 1);
@@ -84,6 +90,32 @@ public class SumAggregator extends NumericMetricsAggregator.SingleValue {
                     sums.set(bucket, kahanSummation.value());
                 }
             }
+
+            @Override
+            public void collect(int[] docs, int count, long bucket) throws IOException {
+                if (singleton == null) {
+                    super.collect(docs, count, bucket);
+                    return;
+                }
+                sums = bigArrays().grow(sums, bucket + 1);
+                compensations = bigArrays().grow(compensations, bucket + 1);
+
+                // decode all the values of the block first so the summation runs in a tight loop
+                buffer = ArrayUtil.grow(buffer, count);
+                int numValues = 0;
+                for (int i = 0; i < count; i++) {
+                    if (singleton.advanceExact(docs[i])) {
+                        buffer[numValues++] = singleton.doubleValue();
+                    }
+                }
+
+                kahanSummation.reset(sums.get(bucket), compensations.get(bucket));
+                for (int i = 0; i < numValues; i++) {
+                    kahanSummation.add(buffer[i]);
+                }
+                compensations.set(bucket, kahanSummation.delta());
+                sums.set(bucket, kahanSummation.value());
+            }
         };
     }
 
@@ -59,4 +59,9 @@ class SumAggregatorFactory extends ValuesSourceAggregatorFactory {
         throws IOException {
         return aggregatorSupplier.build(name, config, context, parent, metadata);
     }
+
+    @Override
+    public boolean supportsParallelCollection() {
+        return true;
+    }
 }
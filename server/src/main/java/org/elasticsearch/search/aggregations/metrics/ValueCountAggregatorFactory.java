@@ -53,4 +53,9 @@ class ValueCountAggregatorFactory extends ValuesSourceAggregatorFactory {
         throws IOException {
         return aggregatorSupplier.build(name, config, context, parent, metadata);
     }
+
+    @Override
+    public boolean supportsParallelCollection() {
+        return true;
+    }
 }
@@ -16,6 +16,7 @@ import org.apache.lucene.search.BulkScorer;
 import org.apache.lucene.search.CollectionStatistics;
 import org.apache.lucene.search.CollectionTerminatedException;
 import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
 import org.apache.lucene.search.ConjunctionUtils;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.Explanation;
@@ -33,6 +34,8 @@ import org.apache.lucene.util.BitSet;
 import org.apache.lucene.util.BitSetIterator;
 import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.SparseFixedBitSet;
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.lucene.util.CombinedBitSet;
 import org.elasticsearch.search.dfs.AggregatedDfs;
@@ -43,11 +46,15 @@ import org.elasticsearch.search.profile.query.QueryProfiler;
 import org.elasticsearch.search.profile.query.QueryTimingType;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 /**
  * Context-aware extension of {@link IndexSearcher}.
@@ -62,6 +69,8 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
     private AggregatedDfs aggregatedDfs;
     private QueryProfiler profiler;
     private MutableQueryTimeout cancellable;
+    private final Executor executor;
+    private final LeafSlice[] concurrentSlices;
 
     public ContextIndexSearcher(
         IndexReader reader,
@@ -70,7 +79,25 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         QueryCachingPolicy queryCachingPolicy,
         boolean wrapWithExitableDirectoryReader
     ) throws IOException {
-        this(reader, similarity, queryCache, queryCachingPolicy, new MutableQueryTimeout(), wrapWithExitableDirectoryReader);
+        this(reader, similarity, queryCache, queryCachingPolicy, wrapWithExitableDirectoryReader, null);
+    }
+
+    /**
+     * Build a searcher that can search slices of the segments of the reader
+     * in parallel on the provided {@code executor} when asked to with
+     * {@link #searchConcurrently}. All other searches, including the ones
+     * with a {@link CollectorManager}, run on the calling thread. Pass
+     * {@code null} to always search on the calling thread.
+     */
+    public ContextIndexSearcher(
+        IndexReader reader,
+        Similarity similarity,
+        QueryCache queryCache,
+        QueryCachingPolicy queryCachingPolicy,
+        boolean wrapWithExitableDirectoryReader,
+        @Nullable Executor executor
+    ) throws IOException {
+        this(reader, similarity, queryCache, queryCachingPolicy, new MutableQueryTimeout(), wrapWithExitableDirectoryReader, executor);
     }
 
     private ContextIndexSearcher(
@@ -79,13 +106,96 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         QueryCache queryCache,
         QueryCachingPolicy queryCachingPolicy,
         MutableQueryTimeout cancellable,
-        boolean wrapWithExitableDirectoryReader
+        boolean wrapWithExitableDirectoryReader,
+        Executor executor
     ) throws IOException {
         super(wrapWithExitableDirectoryReader ? new ExitableDirectoryReader((DirectoryReader) reader, cancellable) : reader);
         setSimilarity(similarity);
         setQueryCache(queryCache);
         setQueryCachingPolicy(queryCachingPolicy);
         this.cancellable = cancellable;
+        // we don't hand the executor to lucene, it would search every CollectorManager in parallel
+        this.executor = executor;
+        this.concurrentSlices = executor == null ? null : slices(leafContexts);
+    }
+
+    /**
+     * Will {@link #searchConcurrently} collect more than one slice of
+     * segments in parallel?
+     */
+    public boolean isConcurrent() {
+        return concurrentSlices != null && concurrentSlices.length > 1;
+    }
+
+    /**
+     * Search slices of the segments of the reader in parallel on the executor
+     * that this searcher was built with, using one collector from the
+     * {@code collectorManager} per slice. The calling thread searches the
+     * last slice and then waits for the others, so no collector is still in
+     * use when this method returns, even if it throws. Falls back to
+     * {@link #search(Query, CollectorManager)} if the searcher isn't
+     * {@link #isConcurrent() concurrent}.
+     */
+    public <C extends Collector, T> T searchConcurrently(Query query, CollectorManager<C, T> collectorManager) throws IOException {
+        if (isConcurrent() == false) {
+            return search(query, collectorManager);
+        }
+        final List<C> collectors = new ArrayList<>(concurrentSlices.length);
+        ScoreMode scoreMode = null;
+        for (int i = 0; i < concurrentSlices.length; i++) {
+            final C collector = collectorManager.newCollector();
+            collectors.add(collector);
+            if (scoreMode == null) {
+                scoreMode = collector.scoreMode();
+            } else if (scoreMode != collector.scoreMode()) {
+                throw new IllegalStateException("CollectorManager does not always produce collectors with the same score mode");
+            }
+        }
+        final Weight weight = createWeight(rewrite(query), scoreMode, 1);
+        final List<FutureTask<Void>> tasks = new ArrayList<>(concurrentSlices.length - 1);
+        for (int i = 0; i < concurrentSlices.length - 1; i++) {
+            final List<LeafReaderContext> leaves = Arrays.asList(concurrentSlices[i].leaves);
+            final C collector = collectors.get(i);
+            final FutureTask<Void> task = new FutureTask<>(() -> {
+                search(leaves, weight, collector);
+                return null;
+            });
+            executor.execute(task);
+            tasks.add(task);
+        }
+        Exception failure = null;
+        try {
+            search(Arrays.asList(concurrentSlices[concurrentSlices.length - 1].leaves), weight, collectors.get(collectors.size() - 1));
+        } catch (Exception e) {
+            failure = e;
+        }
+        boolean interrupted = false;
+        for (FutureTask<Void> task : tasks) {
+            while (true) {
+                try {
+                    task.get();
+                    break;
+                } catch (InterruptedException e) {
+                    // the collectors are still in use, keep waiting and restore the interrupt once all slices are done
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Error error) {
+                        throw error;
+                    }
+                    failure = ExceptionsHelper.useOrSuppress(failure, (Exception) e.getCause());
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof IOException ioException) {
+            throw ioException;
+        } else if (failure != null) {
+            throw ExceptionsHelper.convertToRuntime(failure);
+        }
+        return collectorManager.reduce(collectors);
     }
 
     public void setProfiler(QueryProfiler profiler) {
@@ -184,7 +184,14 @@ public class QueryPhase {
             }
 
             try {
-                boolean shouldRescore = searchWithCollector(searchContext, searcher, query, collectors, hasFilterCollector, timeoutSet);
+                final boolean shouldRescore;
+                if (searchContext.aggregations() != null && searchContext.aggregations().collectConcurrently()) {
+                    // collect the aggregations on slices of the shard in parallel, the hits are counted in the same pass
+                    AggregationPhase.collectConcurrently(searchContext, query);
+                    shouldRescore = false;
+                } else {
+                    shouldRescore = searchWithCollector(searchContext, searcher, query, collectors, hasFilterCollector, timeoutSet);
+                }
                 ExecutorService executor = searchContext.indexShard().getThreadPool().executor(ThreadPool.Names.SEARCH);
                 assert executor instanceof EWMATrackingEsThreadPoolExecutor
                     || (executor instanceof EsThreadPoolExecutor == false /* in case thread pool is mocked out in tests */)
@@ -14,6 +14,7 @@ import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.CompositeBytesReference;
 import org.elasticsearch.common.compress.CompressorFactory;
 import org.elasticsearch.common.io.Streams;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.OutputStreamStreamOutput;
 import org.elasticsearch.common.io.stream.RecyclerBytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamOutput;
@@ -55,6 +56,7 @@ abstract class OutboundMessage extends NetworkMessage {
         final boolean compress = TransportStatus.isCompress(status);
         final StreamOutput stream = compress ? wrapCompressed(bytesStream) : bytesStream;
         final BytesReference zeroCopyBuffer;
+        BytesReference trailer = BytesArray.EMPTY;
         try {
             stream.setVersion(version);
             if (variableHeaderLength == -1) {
@@ -63,6 +65,11 @@ abstract class OutboundMessage extends NetworkMessage {
             if (message instanceof BytesTransportRequest bRequest) {
                 bRequest.writeThin(stream);
                 zeroCopyBuffer = bRequest.bytes;
+            } else if (compress == false && message instanceof ZeroCopyWriteable zeroCopyWriteable) {
+                zeroCopyWriteable.writeHeader(stream);
+                zeroCopyBuffer = zeroCopyWriteable.zeroCopyBytes();
+                stream.writeVInt(zeroCopyBuffer.length());
+                trailer = serializeTrailer(zeroCopyWriteable);
             } else if (message instanceof RemoteTransportException) {
                 stream.writeException((RemoteTransportException) message);
                 zeroCopyBuffer = BytesArray.EMPTY;
@@ -78,10 +85,12 @@ abstract class OutboundMessage extends NetworkMessage {
             }
         }
         final BytesReference message = bytesStream.bytes();
-        if (zeroCopyBuffer.length() == 0) {
+        if (zeroCopyBuffer.length() == 0 && trailer.length() == 0) {
             reference = message;
-        } else {
+        } else if (trailer.length() == 0) {
             reference = CompositeBytesReference.of(message, zeroCopyBuffer);
+        } else {
+            reference = CompositeBytesReference.of(message, zeroCopyBuffer, trailer);
         }
 
         bytesStream.seek(0);
@@ -90,6 +99,14 @@ abstract class OutboundMessage extends NetworkMessage {
         return reference;
     }
 
+    private BytesReference serializeTrailer(ZeroCopyWriteable zeroCopyWriteable) throws IOException {
+        // the trailer is small so it isn't worth taking another page from the recycler
+        final BytesStreamOutput trailerStream = new BytesStreamOutput();
+        trailerStream.setVersion(version);
+        zeroCopyWriteable.writeTrailer(trailerStream);
+        return trailerStream.bytes();
+    }
+
     // compressed stream wrapped bytes must be no-close wrapped since we need to close the compressed wrapper below to release
     // resources and write EOS marker bytes but must not yet release the bytes themselves
     private StreamOutput wrapCompressed(RecyclerBytesStreamOutput bytesStream) throws IOException {
@@ -164,8 +164,12 @@ public class TransportStats implements Writeable, ToXContentFragment {
         builder.field(Fields.TX_COUNT, txCount);
         builder.humanReadableField(Fields.TX_SIZE_IN_BYTES, Fields.TX_SIZE, new ByteSizeValue(txSize));
         if (inboundHandlingTimeBucketFrequencies.length > 0) {
-            histogramToXContent(builder, inboundHandlingTimeBucketFrequencies, Fields.INBOUND_HANDLING_TIME_HISTOGRAM);
-            histogramToXContent(builder, outboundHandlingTimeBucketFrequencies, Fields.OUTBOUND_HANDLING_TIME_HISTOGRAM);
+            HandlingTimeTracker.histogramToXContent(builder, inboundHandlingTimeBucketFrequencies, Fields.INBOUND_HANDLING_TIME_HISTOGRAM);
+            HandlingTimeTracker.histogramToXContent(
+                builder,
+                outboundHandlingTimeBucketFrequencies,
+                Fields.OUTBOUND_HANDLING_TIME_HISTOGRAM
+            );
         } else {
             // Stats came from before v8.1
             assert Version.CURRENT.major == Version.V_8_0_0.major;
@@ -174,24 +178,6 @@ public class TransportStats implements Writeable, ToXContentFragment {
         return builder;
     }
 
-    private void histogramToXContent(XContentBuilder builder, long[] bucketFrequencies, String fieldName) throws IOException {
-        final int[] bucketBounds = HandlingTimeTracker.getBucketUpperBounds();
-        assert bucketFrequencies.length == bucketBounds.length + 1;
-        builder.startArray(fieldName);
-        for (int i = 0; i < bucketFrequencies.length; i++) {
-            builder.startObject();
-            if (i > 0 && i <= bucketBounds.length) {
-                builder.field("ge_millis", bucketBounds[i - 1]);
-            }
-            if (i < bucketBounds.length) {
-                builder.field("lt_millis", bucketBounds[i]);
-            }
-            builder.field("count", bucketFrequencies[i]);
-            builder.endObject();
-        }
-        builder.endArray();
-    }
-
     static final class Fields {
         static final String TRANSPORT = "transport";
         static final String SERVER_OPEN = "server_open";
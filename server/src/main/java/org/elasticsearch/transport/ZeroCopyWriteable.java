@@ -0,0 +1,40 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+
+import java.io.IOException;
+
+/**
+ * A {@link Writeable} whose serialized form contains a large block of bytes, like a chunk of a file. Unless the message is
+ * compressed, the transport layer sends that block as it is rather than copying it into its own buffers.
+ * <p>
+ * {@link #writeTo} must produce the same bytes as {@link #writeHeader}, followed by
+ * {@link StreamOutput#writeBytesReference} of {@link #zeroCopyBytes()}, followed by {@link #writeTrailer}.
+ */
+public interface ZeroCopyWriteable extends Writeable {
+
+    /**
+     * Writes everything that comes before the bytes returned by {@link #zeroCopyBytes()}.
+     */
+    void writeHeader(StreamOutput out) throws IOException;
+
+    /**
+     * The bytes to send without copying them. They must not change until the message has been sent.
+     */
+    BytesReference zeroCopyBytes();
+
+    /**
+     * Writes everything that comes after the bytes returned by {@link #zeroCopyBytes()}.
+     */
+    void writeTrailer(StreamOutput out) throws IOException;
+}
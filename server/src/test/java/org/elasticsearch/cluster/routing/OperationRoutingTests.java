@@ -34,6 +34,7 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.object.HasToString.hasToString;
 
 public class OperationRoutingTests extends ESTestCase {
@@ -348,6 +349,44 @@ public class OperationRoutingTests extends ESTestCase {
         terminate(threadPool);
     }
 
+    public void testARSRankingUsesShardStats() throws Exception {
+        final String[] indexNames = new String[] { "test" };
+        ClusterState state = ClusterStateCreationUtils.stateWithAssignedPrimariesAndReplicas(indexNames, 1, 2);
+        OperationRouting opRouting = new OperationRouting(
+            Settings.EMPTY,
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)
+        );
+        opRouting.setUseAdaptiveReplicaSelection(true);
+        TestThreadPool threadPool = new TestThreadPool("test");
+        ClusterService clusterService = ClusterServiceUtils.createClusterService(threadPool);
+        ResponseCollectorService collector = new ResponseCollectorService(clusterService);
+        ShardId shardId = state.routingTable().index("test").shard(0).shardId();
+
+        collector.addNodeStatistics("node_0", 1, TimeValue.timeValueMillis(150).nanos(), TimeValue.timeValueMillis(50).nanos());
+        collector.addNodeStatistics("node_1", 1, TimeValue.timeValueMillis(100).nanos(), TimeValue.timeValueMillis(50).nanos());
+        collector.addNodeStatistics("node_2", 1, TimeValue.timeValueMillis(150).nanos(), TimeValue.timeValueMillis(50).nanos());
+
+        GroupShardsIterator<ShardIterator> groupIterator = opRouting.searchShards(
+            state,
+            indexNames,
+            null,
+            null,
+            collector,
+            new HashMap<>()
+        );
+        // node 1 is the fastest node overall
+        assertThat(groupIterator.get(0).nextOrNull().currentNodeId(), equalTo("node_1"));
+
+        // but its copy of the shard is slow to query
+        collector.addShardStatistics(shardId, "node_1", TimeValue.timeValueMillis(1000).nanos());
+        collector.addShardStatistics(shardId, "node_0", TimeValue.timeValueMillis(150).nanos());
+        groupIterator = opRouting.searchShards(state, indexNames, null, null, collector, new HashMap<>());
+        assertThat(groupIterator.get(0).nextOrNull().currentNodeId(), not(equalTo("node_1")));
+
+        IOUtils.close(clusterService);
+        terminate(threadPool);
+    }
+
     public void testARSStatsAdjustment() throws Exception {
         int numIndices = 1;
         int numShards = 1;
@@ -26,13 +26,18 @@ import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.ShardRoutingState;
 import org.elasticsearch.cluster.routing.allocation.allocator.BalancedShardsAllocator;
 import org.elasticsearch.cluster.routing.allocation.allocator.ShardsAllocator;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDecider;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
 import org.elasticsearch.cluster.routing.allocation.decider.ClusterRebalanceAllocationDecider;
+import org.elasticsearch.cluster.routing.allocation.decider.Decision;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.snapshots.EmptySnapshotsInfoService;
 import org.elasticsearch.test.gateway.TestGatewayAllocator;
 import org.hamcrest.Matchers;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.elasticsearch.cluster.routing.RoutingNodesHelper.shardsWithState;
@@ -466,4 +471,47 @@ public class BalanceConfigurationTests extends ESAllocationTestCase {
         }
     }
 
+    public void testSkipsDeciderChecksForBalancedIndices() {
+        final AtomicInteger indexLevelDecisions = new AtomicInteger();
+        final AllocationService strategy = new AllocationService(
+            new AllocationDeciders(List.of(new AllocationDecider() {
+                @Override
+                public Decision canAllocate(IndexMetadata indexMetadata, RoutingNode node, RoutingAllocation allocation) {
+                    indexLevelDecisions.incrementAndGet();
+                    return Decision.YES;
+                }
+            })),
+            new TestGatewayAllocator(),
+            new BalancedShardsAllocator(Settings.EMPTY),
+            EmptyClusterInfoService.INSTANCE,
+            EmptySnapshotsInfoService.INSTANCE
+        );
+
+        final Metadata metadata = Metadata.builder()
+            .put(IndexMetadata.builder("test-a").settings(settings(Version.CURRENT)).numberOfShards(2).numberOfReplicas(0))
+            .put(IndexMetadata.builder("test-b").settings(settings(Version.CURRENT)).numberOfShards(1).numberOfReplicas(0))
+            .build();
+        final RoutingTable.Builder routingTableBuilder = RoutingTable.builder();
+        for (IndexMetadata indexMetadata : metadata.indices().values()) {
+            routingTableBuilder.addAsNew(indexMetadata);
+        }
+        ClusterState clusterState = ClusterState.builder(
+            org.elasticsearch.cluster.ClusterName.CLUSTER_NAME_SETTING.getDefault(Settings.EMPTY)
+        )
+            .nodes(DiscoveryNodes.builder().add(newNode("node0")).add(newNode("node1")).add(newNode("node2")))
+            .metadata(metadata)
+            .routingTable(routingTableBuilder.build())
+            .build();
+        clusterState = strategy.reroute(clusterState, "reroute");
+        clusterState = applyStartedShardsUntilNoChange(clusterState, strategy);
+        for (RoutingNode routingNode : clusterState.getRoutingNodes()) {
+            assertThat(routingNode.numberOfShardsWithState(STARTED), Matchers.equalTo(1));
+        }
+
+        // every index is balanced to within the threshold, so the balancer has no reason to ask the deciders about any node
+        indexLevelDecisions.set(0);
+        final ClusterState rerouted = strategy.reroute(clusterState, "reroute");
+        assertSame(clusterState, rerouted);
+        assertThat(indexLevelDecisions.get(), Matchers.equalTo(0));
+    }
 }
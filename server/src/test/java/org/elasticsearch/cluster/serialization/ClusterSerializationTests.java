@@ -187,6 +187,54 @@ public class ClusterSerializationTests extends ESAllocationTestCase {
         return diff.apply(original);
     }
 
+    public void testRoutingNodesReuseWhenApplyingClusterStateDiff() throws Exception {
+        Metadata metadata = Metadata.builder()
+            .put(IndexMetadata.builder("test").settings(settings(Version.CURRENT)).numberOfShards(10).numberOfReplicas(1))
+            .build();
+        DiscoveryNodes nodes = DiscoveryNodes.builder()
+            .add(newNode("node1"))
+            .add(newNode("node2"))
+            .localNodeId("node1")
+            .masterNodeId("node2")
+            .build();
+        ClusterState clusterState1 = ClusterState.builder(new ClusterName("clusterName1"))
+            .nodes(nodes)
+            .metadata(metadata)
+            .routingTable(RoutingTable.builder().addAsNew(metadata.index("test")).build())
+            .build();
+        clusterState1 = createAllocationService().reroute(clusterState1, "reroute");
+        ClusterState serializedClusterState1 = ClusterState.Builder.fromBytes(
+            ClusterState.Builder.toBytes(clusterState1),
+            newNode("node1"),
+            new NamedWriteableRegistry(ClusterModule.getNamedWriteables())
+        );
+        assertNotNull(serializedClusterState1.getRoutingNodes().node("node1"));
+
+        // A diff that doesn't touch the routing table nor the nodes reuses the routing nodes
+        ClusterState clusterState2 = ClusterState.builder(clusterState1)
+            .incrementVersion()
+            .metadata(Metadata.builder(clusterState1.metadata()).put(IndexTemplateMetadata.builder("test-template").patterns(List.of("*"))))
+            .build();
+        ClusterState serializedClusterState2 = updateUsingSerialisedDiff(serializedClusterState1, clusterState2.diff(clusterState1));
+        assertSame(serializedClusterState1.getRoutingNodes(), serializedClusterState2.getRoutingNodes());
+
+        // A diff that changes the routing table doesn't
+        Metadata metadata3 = Metadata.builder(clusterState2.metadata())
+            .put(IndexMetadata.builder("test2").settings(settings(Version.CURRENT)).numberOfShards(1).numberOfReplicas(0))
+            .build();
+        ClusterState clusterState3 = ClusterState.builder(clusterState2)
+            .incrementVersion()
+            .metadata(metadata3)
+            .routingTable(RoutingTable.builder(clusterState2.routingTable()).addAsNew(metadata3.index("test2")).build())
+            .build();
+        ClusterState serializedClusterState3 = updateUsingSerialisedDiff(serializedClusterState2, clusterState3.diff(clusterState2));
+        assertNotSame(serializedClusterState2.getRoutingNodes(), serializedClusterState3.getRoutingNodes());
+        assertThat(
+            serializedClusterState3.getRoutingNodes().unassigned().size(),
+            equalTo(serializedClusterState2.getRoutingNodes().unassigned().size() + 1)
+        );
+    }
+
     public void testObjectReuseWhenApplyingClusterStateDiff() throws Exception {
         IndexMetadata indexMetadata = IndexMetadata.builder("test")
             .settings(settings(Version.CURRENT))
@@ -16,6 +16,7 @@ import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService;
 import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
 import org.elasticsearch.test.ESTestCase;
@@ -31,6 +32,7 @@ import java.util.function.Function;
 import static org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService.REQUEST_CIRCUIT_BREAKER_LIMIT_SETTING;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
@@ -242,6 +244,83 @@ public class BigArraysTests extends ESTestCase {
         array2.close();
     }
 
+    public void testOffHeapLongArray() {
+        final PageCacheRecycler recycler = new PageCacheRecycler(
+            Settings.builder().put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true).build()
+        );
+        final BigArrays offHeapBigArrays = new BigArrays(recycler, new NoneCircuitBreakerService(), CircuitBreaker.REQUEST);
+        final int totalLen = randomIntBetween(PageCacheRecycler.LONG_PAGE_SIZE, 1000000);
+        LongArray array = offHeapBigArrays.newLongArray(PageCacheRecycler.LONG_PAGE_SIZE, randomBoolean());
+        assertThat(array, instanceOf(OffHeapBigLongArray.class));
+        long[] ref = new long[totalLen];
+        for (int i = 0; i < totalLen; ++i) {
+            ref[i] = randomLong();
+            array = offHeapBigArrays.grow(array, i + 1);
+            array.set(i, ref[i]);
+        }
+        assertThat(array, instanceOf(OffHeapBigLongArray.class));
+        final int from = randomIntBetween(0, totalLen - 1);
+        final int to = randomIntBetween(from, totalLen);
+        final long rand = randomLong();
+        array.fill(from, to, rand);
+        Arrays.fill(ref, from, to, rand);
+        final int inc = randomIntBetween(0, totalLen - 1);
+        ref[inc] += 42;
+        assertEquals(ref[inc], array.increment(inc, 42));
+        for (int i = 0; i < totalLen; ++i) {
+            assertEquals(ref[i], array.get(i));
+        }
+        array.close();
+    }
+
+    public void testOffHeapLongArrayIsAccountedFor() throws Exception {
+        final PageCacheRecycler recycler = new PageCacheRecycler(
+            Settings.builder().put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true).build()
+        );
+        final CircuitBreakerService breakerService = newBigArraysInstance(ByteSizeUnit.GB.toBytes(1), false).breakerService();
+        final BigArrays bigArrays = new BigArrays(recycler, breakerService, CircuitBreaker.REQUEST).withCircuitBreaking();
+        final CircuitBreaker breaker = bigArrays.breakerService().getBreaker(CircuitBreaker.REQUEST);
+        final long size = randomLongBetween(PageCacheRecycler.LONG_PAGE_SIZE + 1, 1 << 20);
+        LongArray array = bigArrays.newLongArray(size);
+        assertThat(array, instanceOf(OffHeapBigLongArray.class));
+        assertEquals(OffHeapBigLongArray.estimateRamBytes(size), breaker.getUsed());
+        assertEquals(array.ramBytesUsed(), breaker.getUsed());
+        array = bigArrays.resize(array, size * 2);
+        assertEquals(array.ramBytesUsed(), breaker.getUsed());
+        assertEquals(array.ramBytesUsed(), recycler.getOffHeapBytesReserved());
+        array.close();
+        assertEquals(0, breaker.getUsed());
+        assertEquals(0, recycler.getOffHeapBytesReserved());
+    }
+
+    public void testOffHeapLongArrayMovesToHeapAtLimit() {
+        final int limitInPages = randomIntBetween(2, 8);
+        final PageCacheRecycler recycler = new PageCacheRecycler(
+            Settings.builder()
+                .put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true)
+                .put(PageCacheRecycler.OFF_HEAP_LIMIT_SETTING.getKey(), limitInPages * PageCacheRecycler.BYTE_PAGE_SIZE + "b")
+                .build()
+        );
+        final BigArrays offHeapBigArrays = new BigArrays(recycler, new NoneCircuitBreakerService(), CircuitBreaker.REQUEST);
+        final long size = PageCacheRecycler.LONG_PAGE_SIZE + 1;
+        LongArray array = offHeapBigArrays.newLongArray(size);
+        assertThat(array, instanceOf(OffHeapBigLongArray.class));
+        assertEquals(array.ramBytesUsed(), recycler.getOffHeapBytesReserved());
+        final long[] ref = new long[(int) size];
+        for (int i = 0; i < size; ++i) {
+            ref[i] = randomLong();
+            array.set(i, ref[i]);
+        }
+
+        array = offHeapBigArrays.resize(array, (long) (limitInPages + 1) * PageCacheRecycler.LONG_PAGE_SIZE);
+        assertThat(array, instanceOf(BigLongArray.class));
+        assertEquals(0, recycler.getOffHeapBytesReserved());
+        for (int i = 0; i < size; ++i) {
+            assertEquals(ref[i], array.get(i));
+        }
+        array.close();
+    }
+
     public void testByteArrayBulkGet() {
         final byte[] array1 = new byte[randomIntBetween(1, 4000000)];
         random().nextBytes(array1);
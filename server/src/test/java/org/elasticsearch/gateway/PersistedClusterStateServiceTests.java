@@ -87,6 +87,7 @@ import static org.elasticsearch.gateway.PersistedClusterStateService.INDEX_TYPE_
 import static org.elasticsearch.gateway.PersistedClusterStateService.IS_LAST_PAGE;
 import static org.elasticsearch.gateway.PersistedClusterStateService.IS_NOT_LAST_PAGE;
 import static org.elasticsearch.gateway.PersistedClusterStateService.LAST_PAGE_FIELD_NAME;
+import static org.elasticsearch.gateway.PersistedClusterStateService.MAPPING_TYPE_NAME;
 import static org.elasticsearch.gateway.PersistedClusterStateService.METADATA_DIRECTORY_NAME;
 import static org.elasticsearch.gateway.PersistedClusterStateService.PAGE_FIELD_NAME;
 import static org.elasticsearch.gateway.PersistedClusterStateService.TYPE_FIELD_NAME;
@@ -1032,6 +1033,71 @@ public class PersistedClusterStateServiceTests extends ESTestCase {
         }
     }
 
+    public void testDeduplicatesMappingsOnDisk() throws IOException {
+        final Path dataPath = createTempDir();
+        try (NodeEnvironment nodeEnvironment = newNodeEnvironment(new Path[] { dataPath })) {
+            final PersistedClusterStateService persistedClusterStateService = newPersistedClusterStateService(nodeEnvironment);
+
+            final String sharedMapping = """
+                {"_doc":{"properties":{"message":{"type":"text"}}}}""";
+            final String otherMapping = """
+                {"_doc":{"properties":{"count":{"type":"long"}}}}""";
+            final int sharedMappingIndices = between(2, 10);
+
+            final Metadata.Builder metadataBuilder = Metadata.builder();
+            for (int i = 0; i < sharedMappingIndices; i++) {
+                metadataBuilder.put(indexMetadataWithMapping("shared-" + i, sharedMapping), false);
+            }
+            metadataBuilder.put(indexMetadataWithMapping("other", otherMapping), false);
+            final ClusterState clusterState = ClusterState.builder(ClusterName.DEFAULT).metadata(metadataBuilder).build();
+
+            try (Writer writer = persistedClusterStateService.createWriter()) {
+                writer.writeFullStateAndCommit(0L, clusterState);
+            }
+            assertThat(countDocuments(dataPath, MAPPING_TYPE_NAME), equalTo(2));
+
+            final ClusterState loadedState = loadPersistedClusterState(persistedClusterStateService);
+            assertEquals(clusterState.metadata().indices(), loadedState.metadata().indices());
+            assertEquals(clusterState.metadata().getMappingsByHash().keySet(), loadedState.metadata().getMappingsByHash().keySet());
+            assertSame(loadedState.metadata().index("shared-0").mapping(), loadedState.metadata().index("shared-1").mapping());
+
+            final ClusterState newClusterState = ClusterState.builder(loadedState)
+                .metadata(Metadata.builder(loadedState.metadata()).remove("other"))
+                .incrementVersion()
+                .build();
+            try (Writer writer = persistedClusterStateService.createWriter()) {
+                writer.writeFullStateAndCommit(0L, loadedState);
+                writer.writeIncrementalStateAndCommit(0L, loadedState, newClusterState);
+            }
+            assertThat(countDocuments(dataPath, MAPPING_TYPE_NAME), equalTo(1));
+
+            final ClusterState reloadedState = loadPersistedClusterState(persistedClusterStateService);
+            assertEquals(newClusterState.metadata().indices(), reloadedState.metadata().indices());
+        }
+    }
+
+    private static IndexMetadata indexMetadataWithMapping(String name, String mapping) {
+        return IndexMetadata.builder(name)
+            .settings(
+                Settings.builder()
+                    .put(IndexMetadata.INDEX_NUMBER_OF_SHARDS_SETTING.getKey(), 1)
+                    .put(IndexMetadata.INDEX_NUMBER_OF_REPLICAS_SETTING.getKey(), 0)
+                    .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                    .put(IndexMetadata.SETTING_INDEX_UUID, UUIDs.randomBase64UUID(random()))
+            )
+            .putMapping(mapping)
+            .build();
+    }
+
+    private static int countDocuments(Path dataPath, String typeName) throws IOException {
+        try (
+            Directory directory = new NIOFSDirectory(dataPath.resolve(METADATA_DIRECTORY_NAME));
+            DirectoryReader reader = DirectoryReader.open(directory)
+        ) {
+            return new IndexSearcher(reader).count(new TermQuery(new Term(TYPE_FIELD_NAME, typeName)));
+        }
+    }
+
     public void testHandlesShuffledDocuments() throws IOException {
         final Path dataPath = createTempDir();
         try (NodeEnvironment nodeEnvironment = newNodeEnvironment(new Path[] { dataPath })) {
@@ -1194,7 +1260,7 @@ public class PersistedClusterStateServiceTests extends ESTestCase {
                         Level.WARN,
                         """
                             writing full cluster state took [*] which is above the warn threshold of [*]; \
-                            wrote global metadata and metadata for [0] indices"""
+                            wrote global metadata, [0] mappings, and metadata for [0] indices"""
                     )
                 );
 
@@ -1210,7 +1276,7 @@ public class PersistedClusterStateServiceTests extends ESTestCase {
                         Level.WARN,
                         """
                             writing full cluster state took [*] which is above the warn threshold of [*]; \
-                            wrote global metadata and metadata for [0] indices"""
+                            wrote global metadata, [0] mappings, and metadata for [0] indices"""
                     )
                 );
 
@@ -1244,7 +1310,7 @@ public class PersistedClusterStateServiceTests extends ESTestCase {
                         Level.WARN,
                         """
                             writing full cluster state took [*] which is above the warn threshold of [*]; \
-                            wrote global metadata and metadata for [0] indices"""
+                            wrote global metadata, [0] mappings, and metadata for [0] indices"""
                     )
                 );
 
@@ -1277,6 +1343,7 @@ public class PersistedClusterStateServiceTests extends ESTestCase {
                         Level.WARN,
                         """
                             writing cluster state took [*] which is above the warn threshold of [*]; [skipped writing] global metadata, \
+                            wrote [0] new mappings, removed [0] mappings, \
                             wrote metadata for [1] new indices and [0] existing indices, removed metadata for [0] indices and \
                             skipped [0] unchanged indices"""
                     )
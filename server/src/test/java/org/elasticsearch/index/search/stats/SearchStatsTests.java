@@ -8,12 +8,19 @@
 
 package org.elasticsearch.index.search.stats;
 
+import org.elasticsearch.Version;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.index.search.stats.SearchStats.Stats;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xcontent.ToXContent;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
 public class SearchStatsTests extends ESTestCase {
 
     // https://github.com/elastic/elasticsearch/issues/7644
@@ -41,6 +48,57 @@ public class SearchStatsTests extends ESTestCase {
         assertStats(groupStats1.get("group1"), 3);
     }
 
+    public void testLatencyHistograms() throws Exception {
+        final long[] queryHistogram = randomHistogram();
+        final long[] fetchHistogram = randomHistogram();
+        final long[] dfsHistogram = randomHistogram();
+        final Stats stats = new Stats(1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, queryHistogram, fetchHistogram, dfsHistogram);
+
+        final Stats copy = copyWriteable(stats, writableRegistry(), Stats::readStats);
+        assertArrayEquals(queryHistogram, copy.getQueryLatencyHistogram());
+        assertArrayEquals(fetchHistogram, copy.getFetchLatencyHistogram());
+        assertArrayEquals(dfsHistogram, copy.getDfsLatencyHistogram());
+
+        final Stats bwcCopy = copyWriteable(stats, writableRegistry(), Stats::readStats, Version.V_8_0_0);
+        assertArrayEquals(new long[HandlingTimeTracker.BUCKET_COUNT], bwcCopy.getQueryLatencyHistogram());
+
+        final SearchStats searchStats = new SearchStats(stats, 0, null);
+        searchStats.add(new SearchStats(copy, 0, null));
+        final long[] queryTotal = searchStats.getTotal().getQueryLatencyHistogram();
+        final long[] dfsTotal = searchStats.getTotal().getDfsLatencyHistogram();
+        for (int i = 0; i < HandlingTimeTracker.BUCKET_COUNT; i++) {
+            assertEquals(2 * queryHistogram[i], queryTotal[i]);
+            assertEquals(2 * dfsHistogram[i], dfsTotal[i]);
+        }
+    }
+
+    public void testLatencyHistogramsRenderedOnlyWhenRequested() {
+        final Stats stats = new Stats(1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, randomHistogram(), randomHistogram(), randomHistogram());
+        final Map<String, Stats> groupStats = new HashMap<>();
+        groupStats.put("group1", stats);
+        final SearchStats searchStats = new SearchStats(stats, 0, groupStats);
+
+        final String defaultOutput = Strings.toString(searchStats);
+        assertThat(defaultOutput, containsString("query_total"));
+        assertThat(defaultOutput, not(containsString("latency_histogram")));
+
+        final String output = Strings.toString(
+            searchStats,
+            new ToXContent.MapParams(Map.of(SearchStats.INCLUDE_LATENCY_HISTOGRAMS, "true"))
+        );
+        assertThat(output, containsString("query_latency_histogram"));
+        assertThat(output, containsString("fetch_latency_histogram"));
+        assertThat(output, containsString("dfs_latency_histogram"));
+    }
+
+    private static long[] randomHistogram() {
+        final long[] histogram = new long[HandlingTimeTracker.BUCKET_COUNT];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = randomLongBetween(0, 1000);
+        }
+        return histogram;
+    }
+
     private static void assertStats(Stats stats, long equalTo) {
         assertEquals(equalTo, stats.getQueryCount());
         assertEquals(equalTo, stats.getQueryTimeInMillis());
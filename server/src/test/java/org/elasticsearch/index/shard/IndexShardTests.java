@@ -1542,6 +1542,51 @@ public class IndexShardTests extends IndexShardTestCase {
         closeShards(shard);
     }
 
+    public void testGroupedFsync() throws Exception {
+        final TimeValue syncWindow = TimeValue.timeValueMillis(randomIntBetween(1, 10));
+        final Settings settings = Settings.builder().put(IndexSettings.INDEX_TRANSLOG_SYNC_WINDOW_SETTING.getKey(), syncWindow).build();
+        final AtomicInteger syncs = new AtomicInteger();
+        final IndexShard shard = newStartedShard(randomBoolean(), settings, config -> new InternalEngine(config) {
+            @Override
+            public boolean ensureTranslogSynced(Stream<Translog.Location> locations) throws IOException {
+                syncs.incrementAndGet();
+                return super.ensureTranslogSynced(locations);
+            }
+        });
+
+        // block the write pool so that the group sync cannot run before all syncs were requested, however long that takes
+        final int writeThreads = threadPool.info(ThreadPool.Names.WRITE).getMax();
+        final CyclicBarrier barrier = new CyclicBarrier(writeThreads + 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < writeThreads; i++) {
+            threadPool.executor(ThreadPool.Names.WRITE).execute(() -> {
+                try {
+                    barrier.await();
+                    release.await();
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+            });
+        }
+        barrier.await();
+
+        final int numSyncs = randomIntBetween(2, 10);
+        final CountDownLatch latch = new CountDownLatch(numSyncs);
+        syncs.set(0);
+        for (int i = 0; i < numSyncs; i++) {
+            shard.sync(new Translog.Location(0, 0, 0), e -> {
+                assertNull(e);
+                latch.countDown();
+            });
+        }
+        assertThat(latch.getCount(), equalTo((long) numSyncs));
+        release.countDown();
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        // all syncs were requested before the group sync ran
+        assertThat(syncs.get(), equalTo(1));
+        closeShards(shard);
+    }
+
     public void testShardStats() throws IOException {
 
         IndexShard shard = newStartedShard();
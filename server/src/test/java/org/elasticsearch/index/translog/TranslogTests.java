@@ -35,6 +35,7 @@ import org.elasticsearch.common.UUIDs;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.Channels;
 import org.elasticsearch.common.io.DiskIoBufferPool;
 import org.elasticsearch.common.io.FileSystemUtils;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
@@ -690,6 +691,46 @@ public class TranslogTests extends ESTestCase {
         }
     }
 
+    public void testMmapSnapshot() throws IOException {
+        final int numOps = randomIntBetween(1, 100);
+        for (int i = 0; i < numOps; i++) {
+            translog.add(new Translog.Index(Integer.toString(i), i, primaryTerm.get(), randomByteArrayOfLength(randomIntBetween(1, 2048))));
+        }
+        final long generation = translog.currentFileGeneration();
+        translog.rollGeneration();
+        final Checkpoint checkpoint = Checkpoint.read(translog.location().resolve(Translog.getCommitCheckpointFileName(generation)));
+        final Path path = translog.location().resolve(Translog.getFilename(generation));
+        final long firstOperationOffset;
+        try (TranslogReader reader = translog.openReader(path, checkpoint)) {
+            firstOperationOffset = reader.getFirstOperationOffset();
+            try (
+                TranslogSnapshot positional = new TranslogSnapshot(reader, reader.sizeInBytes(), false);
+                TranslogSnapshot mapped = new TranslogSnapshot(reader, reader.sizeInBytes(), true)
+            ) {
+                for (int i = 0; i < numOps; i++) {
+                    assertThat(mapped.next(), equalTo(positional.next()));
+                }
+                assertNull(positional.next());
+                assertNull(mapped.next());
+            }
+        }
+
+        // flip the type of the first operation, it is covered by the checksum
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer type = ByteBuffer.allocate(1);
+            Channels.readFromFileChannelWithEofException(channel, firstOperationOffset + Integer.BYTES, type);
+            type.flip();
+            Channels.writeToChannel(new byte[] { (byte) (type.get() ^ 0xFF) }, channel, firstOperationOffset + Integer.BYTES);
+        }
+        try (
+            TranslogReader reader = translog.openReader(path, checkpoint);
+            TranslogSnapshot mapped = new TranslogSnapshot(reader, reader.sizeInBytes(), true)
+        ) {
+            TranslogCorruptedException e = expectThrows(TranslogCorruptedException.class, mapped::next);
+            assertThat(e.getMessage(), containsString("checksum verification failed"));
+        }
+    }
+
     public void testSnapshotOnClosedTranslog() throws IOException {
         assertTrue(Files.exists(translogDir.resolve(Translog.getFilename(1))));
         translog.add(new Translog.Index("1", 0, primaryTerm.get(), new byte[] { 1 }));
@@ -1293,19 +1334,19 @@ public class TranslogTests extends ESTestCase {
             )
         ) {
             assertEquals(lastSynced + 1, reader.totalOperations());
-            TranslogSnapshot snapshot = reader.newSnapshot();
-
-            for (int op = 0; op < translogOperations; op++) {
-                if (op <= lastSynced) {
-                    final Translog.Operation read = snapshot.next();
-                    assertEquals(Integer.toString(op), read.getSource().source.utf8ToString());
-                } else {
-                    Translog.Operation next = snapshot.next();
-                    assertNull(next);
+            try (TranslogSnapshot snapshot = reader.newSnapshot()) {
+                for (int op = 0; op < translogOperations; op++) {
+                    if (op <= lastSynced) {
+                        final Translog.Operation read = snapshot.next();
+                        assertEquals(Integer.toString(op), read.getSource().source.utf8ToString());
+                    } else {
+                        Translog.Operation next = snapshot.next();
+                        assertNull(next);
+                    }
                 }
+                Translog.Operation next = snapshot.next();
+                assertNull(next);
             }
-            Translog.Operation next = snapshot.next();
-            assertNull(next);
         }
         assertEquals(translogOperations + 1, translog.totalOperations());
         assertThat(checkpoint.globalCheckpoint, equalTo(lastSyncedGlobalCheckpoint));
@@ -3493,8 +3534,10 @@ public class TranslogTests extends ESTestCase {
                     final Set<Tuple<Long, Long>> generationSeenSeqNos = new HashSet<>();
                     int opCount = 0;
                     final Checkpoint checkpoint = Checkpoint.read(translog.location().resolve(Translog.getCommitCheckpointFileName(g)));
-                    try (TranslogReader reader = translog.openReader(translog.location().resolve(Translog.getFilename(g)), checkpoint)) {
-                        TranslogSnapshot snapshot = reader.newSnapshot();
+                    try (
+                        TranslogReader reader = translog.openReader(translog.location().resolve(Translog.getFilename(g)), checkpoint);
+                        TranslogSnapshot snapshot = reader.newSnapshot()
+                    ) {
                         Translog.Operation operation;
                         while ((operation = snapshot.next()) != null) {
                             generationSeenSeqNos.add(Tuple.tuple(operation.seqNo(), operation.primaryTerm()));
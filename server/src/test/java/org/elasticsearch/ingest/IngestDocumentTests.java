@@ -1066,6 +1066,94 @@ public class IngestDocumentTests extends ESTestCase {
         }
     }
 
+    public void testFieldPathCache() {
+        IngestDocument.FieldPathCache cache = new IngestDocument.FieldPathCache(randomIntBetween(1, 10));
+        IngestDocument.FieldPath fieldPath = cache.get("fizz.buzz");
+        assertArrayEquals(new String[] { "fizz", "buzz" }, fieldPath.pathElements);
+        assertThat(cache.size(), equalTo(1));
+        assertThat(cache.get("fizz.buzz"), sameInstance(fieldPath));
+        assertThat(cache.size(), equalTo(1));
+
+        // invalid paths are not cached
+        expectThrows(IllegalArgumentException.class, () -> cache.get("_ingest."));
+        expectThrows(IllegalArgumentException.class, () -> cache.get(""));
+        assertThat(cache.size(), equalTo(1));
+    }
+
+    public void testFieldPathCacheEvictsPathsThatAreNotUsedAgain() {
+        IngestDocument.FieldPathCache cache = new IngestDocument.FieldPathCache(4);
+        IngestDocument.FieldPath foo = cache.get("foo");
+        IngestDocument.FieldPath bar = cache.get("bar");
+        assertThat(cache.get("foo"), sameInstance(foo));
+        assertThat(cache.get("bar"), sameInstance(bar));
+        // paths that are only used once, like paths rendered from document values
+        IngestDocument.FieldPath once1 = cache.get("once1");
+        cache.get("once2");
+        assertThat(cache.size(), equalTo(4));
+
+        // a new path evicts the paths that were not used again, but keeps the ones in use
+        cache.get("once3");
+        assertThat(cache.size(), equalTo(3));
+        assertThat(cache.get("foo"), sameInstance(foo));
+        assertThat(cache.get("bar"), sameInstance(bar));
+        IngestDocument.FieldPath reparsed = cache.get("once1");
+        assertThat(reparsed, not(sameInstance(once1)));
+        assertArrayEquals(once1.pathElements, reparsed.pathElements);
+        assertThat(cache.size(), equalTo(4));
+
+        // many paths that are only used once don't evict the paths in use
+        for (int i = 0; i < 100; i++) {
+            cache.get("field" + i);
+            assertThat(cache.get("foo"), sameInstance(foo));
+            assertThat(cache.get("bar"), sameInstance(bar));
+            assertThat(cache.size(), lessThanOrEqualTo(4));
+        }
+    }
+
+    public void testFieldPathCacheDoesNotCacheNewPathsWhenAllPathsAreInUse() {
+        IngestDocument.FieldPathCache cache = new IngestDocument.FieldPathCache(2);
+        IngestDocument.FieldPath foo = cache.get("foo");
+        IngestDocument.FieldPath bar = cache.get("bar");
+        assertThat(cache.get("foo"), sameInstance(foo));
+        assertThat(cache.get("bar"), sameInstance(bar));
+
+        IngestDocument.FieldPath baz = cache.get("baz");
+        assertArrayEquals(new String[] { "baz" }, baz.pathElements);
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.get("foo"), sameInstance(foo));
+
+        // bar was not used since the previous eviction, so it makes room for baz now
+        IngestDocument.FieldPath cachedBaz = cache.get("baz");
+        assertThat(cachedBaz, not(sameInstance(baz)));
+        assertThat(cache.get("baz"), sameInstance(cachedBaz));
+        assertThat(cache.get("foo"), sameInstance(foo));
+        assertThat(cache.size(), equalTo(2));
+    }
+
+    public void testCachedFieldPathWithPrefixUsesContextOfEachDocument() {
+        IngestDocument.FieldPathCache cache = new IngestDocument.FieldPathCache(10);
+        IngestDocument otherDocument = new IngestDocument("index", "id", null, null, null, Map.of("foo", "baz"));
+
+        IngestDocument.FieldPath ingestPath = cache.get("_ingest.timestamp");
+        assertArrayEquals(new String[] { "timestamp" }, ingestPath.pathElements);
+        assertThat(ingestPath.initialContext(ingestDocument), sameInstance(ingestDocument.getIngestMetadata()));
+        assertThat(ingestPath.initialContext(otherDocument), sameInstance(otherDocument.getIngestMetadata()));
+
+        IngestDocument.FieldPath sourcePath = cache.get("_source.foo");
+        assertArrayEquals(new String[] { "foo" }, sourcePath.pathElements);
+        assertThat(sourcePath.initialContext(ingestDocument), sameInstance(ingestDocument.getSourceAndMetadata()));
+        assertThat(sourcePath.initialContext(otherDocument), sameInstance(otherDocument.getSourceAndMetadata()));
+
+        // the prefixed paths are cached separately from the unprefixed path they resolve to
+        assertThat(cache.get("foo"), not(sameInstance(sourcePath)));
+        assertThat(ingestDocument.getFieldValue("_source.foo", String.class), equalTo("bar"));
+        assertThat(otherDocument.getFieldValue("_source.foo", String.class), equalTo("baz"));
+        ingestDocument.setFieldValue("_ingest.custom", "first");
+        otherDocument.setFieldValue("_ingest.custom", "second");
+        assertThat(ingestDocument.getFieldValue("_ingest.custom", String.class), equalTo("first"));
+        assertThat(otherDocument.getFieldValue("_ingest.custom", String.class), equalTo("second"));
+    }
+
     public void testDeepCopy() {
         IngestDocument copiedDoc = new IngestDocument(
             IngestDocument.deepCopyMap(ingestDocument.getSourceAndMetadata()),
@@ -8,9 +8,11 @@
 
 package org.elasticsearch.ingest;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.collect.MapBuilder;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
@@ -18,6 +20,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,6 +35,26 @@ public class IngestStatsTests extends ESTestCase {
         assertIngestStats(ingestStats, serializedStats, true, true);
     }
 
+    public void testTimeInNanos() throws IOException {
+        long ingestTimeInNanos = randomLongBetween(0, TimeUnit.HOURS.toNanos(1));
+        IngestStats.Stats stats = new IngestStats.Stats(1, TimeValue.timeValueNanos(ingestTimeInNanos), 0, 0);
+        assertEquals(ingestTimeInNanos, stats.getIngestTimeInNanos());
+        assertEquals(TimeUnit.NANOSECONDS.toMillis(ingestTimeInNanos), stats.getIngestTimeInMillis());
+
+        IngestStats ingestStats = new IngestStats(stats, List.of(), Map.of());
+        assertEquals(ingestTimeInNanos, serialize(ingestStats).getTotalStats().getIngestTimeInNanos());
+
+        // older nodes only know about the time in millis
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(Version.V_8_0_0);
+        ingestStats.writeTo(out);
+        StreamInput in = out.bytes().streamInput();
+        in.setVersion(Version.V_8_0_0);
+        IngestStats.Stats fromOldNode = new IngestStats(in).getTotalStats();
+        assertEquals(stats.getIngestTimeInMillis(), fromOldNode.getIngestTimeInMillis());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(stats.getIngestTimeInMillis()), fromOldNode.getIngestTimeInNanos());
+    }
+
     private List<IngestStats.PipelineStat> createPipelineStats() {
         IngestStats.PipelineStat pipeline1Stats = new IngestStats.PipelineStat("pipeline1", new IngestStats.Stats(3, 3, 3, 3));
         IngestStats.PipelineStat pipeline2Stats = new IngestStats.PipelineStat("pipeline2", new IngestStats.Stats(47, 97, 197, 297));
@@ -112,6 +135,7 @@ public class IngestStatsTests extends ESTestCase {
         assertEquals(fromObject.getIngestCount(), fromStream.getIngestCount());
         assertEquals(fromObject.getIngestFailedCount(), fromStream.getIngestFailedCount());
         assertEquals(fromObject.getIngestTimeInMillis(), fromStream.getIngestTimeInMillis());
+        assertEquals(fromObject.getIngestTimeInNanos(), fromStream.getIngestTimeInNanos());
         assertEquals(fromObject.getIngestCurrent(), fromStream.getIngestCurrent());
     }
 
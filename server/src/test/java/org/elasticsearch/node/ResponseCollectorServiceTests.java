@@ -13,10 +13,16 @@ import org.elasticsearch.cluster.ClusterName;
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRoutingState;
+import org.elasticsearch.cluster.routing.TestShardRouting;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.transport.TransportAddress;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
@@ -26,6 +32,7 @@ import org.junit.Before;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 
@@ -62,6 +69,54 @@ public class ResponseCollectorServiceTests extends ESTestCase {
         assertThat(nodeStats.get("node1").serviceTime, equalTo(10.0));
     }
 
+    public void testShardStats() {
+        ShardId shardId = new ShardId("index", "_na_", 0);
+        collector.addShardStatistics(shardId, "node1", 100);
+        collector.addShardStatistics(shardId, "node2", 300);
+        assertThat(collector.getShardResponseTime(shardId, "node1").getAsDouble(), equalTo(100.0));
+        assertThat(collector.getShardResponseTime(shardId, "node2").getAsDouble(), equalTo(300.0));
+        assertFalse(collector.getShardResponseTime(shardId, "node3").isPresent());
+        assertFalse(collector.getShardResponseTime(new ShardId("index", "_na_", 1), "node1").isPresent());
+
+        collector.addShardStatistics(shardId, "node1", 200);
+        assertThat(collector.getShardResponseTime(shardId, "node1").getAsDouble(), closeTo(130.0, 0.001));
+        assertThat(collector.getAllShardStatistics().get("node2"), equalTo(Map.of(shardId, 300.0)));
+
+        collector.removeNode("node2");
+        assertFalse(collector.getShardResponseTime(shardId, "node2").isPresent());
+        collector.removeIndex(shardId.getIndex());
+        assertFalse(collector.getShardResponseTime(shardId, "node1").isPresent());
+    }
+
+    public void testShardStatsOfUnassignedCopiesAreRemoved() {
+        Index index = new Index("index", "_na_");
+        ShardId shardId = new ShardId(index, 0);
+        ShardId removedShardId = new ShardId(new Index("removed", "_na_"), 0);
+        collector.addShardStatistics(shardId, "node1", 100);
+        collector.addShardStatistics(shardId, "node2", 200);
+        collector.addShardStatistics(removedShardId, "node1", 300);
+
+        // the copy on node2 was relocated to node3 and the other index is gone
+        ClusterState previousState = ClusterState.builder(new ClusterName("cluster")).build();
+        ClusterState newState = ClusterState.builder(previousState)
+            .routingTable(
+                RoutingTable.builder()
+                    .add(
+                        IndexRoutingTable.builder(index)
+                            .addShard(TestShardRouting.newShardRouting(shardId, "node1", true, ShardRoutingState.STARTED))
+                            .addShard(TestShardRouting.newShardRouting(shardId, "node3", false, ShardRoutingState.STARTED))
+                    )
+                    .build()
+            )
+            .build();
+        collector.clusterChanged(new ClusterChangedEvent("test", newState, previousState));
+
+        assertThat(collector.getShardResponseTime(shardId, "node1").getAsDouble(), equalTo(100.0));
+        assertFalse(collector.getShardResponseTime(shardId, "node2").isPresent());
+        assertFalse(collector.getShardResponseTime(removedShardId, "node1").isPresent());
+        assertThat(collector.getAllShardStatistics(), equalTo(Map.of("node1", Map.of(shardId, 100.0))));
+    }
+
     /*
      * Test that concurrently adding values and removing nodes does not cause exceptions
      */
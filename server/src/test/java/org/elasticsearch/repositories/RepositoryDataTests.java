@@ -67,6 +67,44 @@ public class RepositoryDataTests extends ESTestCase {
         );
     }
 
+    public void testIndicesToUpdateAfterRemovingSeveralSnapshots() {
+        final RepositoryData repositoryData = generateRandomRepoData();
+        final List<SnapshotId> snapshotsToRemove = randomSubsetOf(repositoryData.getSnapshotIds());
+        final IndexId[] indicesToUpdate = repositoryData.getIndices().values().stream().filter(index -> {
+            final List<SnapshotId> snapshotIds = repositoryData.getSnapshots(index);
+            return snapshotIds.stream().anyMatch(snapshotsToRemove::contains) && snapshotsToRemove.containsAll(snapshotIds) == false;
+        }).toArray(IndexId[]::new);
+        assertThat(repositoryData.indicesToUpdateAfterRemovingSnapshot(snapshotsToRemove), containsInAnyOrder(indicesToUpdate));
+
+        final RepositoryData newRepositoryData = repositoryData.removeSnapshots(snapshotsToRemove, ShardGenerations.EMPTY);
+        for (IndexId indexId : newRepositoryData.getIndices().values()) {
+            final List<SnapshotId> snapshotIds = newRepositoryData.getSnapshots(indexId);
+            assertFalse(snapshotIds.isEmpty());
+            assertTrue(snapshotIds.stream().noneMatch(snapshotsToRemove::contains));
+        }
+    }
+
+    public void testShardGenerationsWithUpdatedGenerations() {
+        final List<IndexId> indices = randomList(1, 10, () -> new IndexId(randomAlphaOfLength(7), UUIDs.randomBase64UUID()));
+        final ShardGenerations existing = randomShardGenerations(indices);
+        final ShardGenerations updates = randomBoolean() ? ShardGenerations.EMPTY : randomShardGenerations(indices);
+        assertEquals(
+            ShardGenerations.builder().putAll(existing).putAll(updates).build(),
+            existing.withUpdatedGenerations(updates)
+        );
+    }
+
+    private static ShardGenerations randomShardGenerations(List<IndexId> indices) {
+        final ShardGenerations.Builder builder = ShardGenerations.builder();
+        for (IndexId indexId : randomSubsetOf(indices)) {
+            final int numberOfShards = between(1, 5);
+            for (int shardId = 0; shardId < numberOfShards; shardId++) {
+                builder.put(indexId, shardId, rarely() ? null : ShardGeneration.newGeneration(random()));
+            }
+        }
+        return builder.build();
+    }
+
     public void testXContent() throws IOException {
         RepositoryData repositoryData = generateRandomRepoData().withClusterUuid(UUIDs.randomBase64UUID(random()));
         XContentBuilder builder = JsonXContent.contentBuilder();
@@ -0,0 +1,117 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.aggregations;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.RandomIndexWriter;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class BatchingBucketCollectorTests extends ESTestCase {
+
+    private static class RecordingBucketCollector extends BucketCollector {
+        private final ScoreMode scoreMode;
+        private final List<Integer> docs = new ArrayList<>();
+        private final List<Long> buckets = new ArrayList<>();
+        private int batches;
+        private int maxBatchSize;
+
+        RecordingBucketCollector(ScoreMode scoreMode) {
+            this.scoreMode = scoreMode;
+        }
+
+        @Override
+        public LeafBucketCollector getLeafCollector(LeafReaderContext context) {
+            final int docBase = context == null ? 0 : context.docBase;
+            return new LeafBucketCollector() {
+                @Override
+                public void collect(int doc, long bucket) {
+                    docs.add(docBase + doc);
+                    buckets.add(bucket);
+                }
+
+                @Override
+                public void collect(int[] docs, int count, long bucket) throws IOException {
+                    batches++;
+                    maxBatchSize = Math.max(maxBatchSize, count);
+                    super.collect(docs, count, bucket);
+                }
+            };
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return scoreMode;
+        }
+
+        @Override
+        public void preCollection() {}
+
+        @Override
+        public void postCollection() {}
+    }
+
+    public void testCollectsAllDocsInBatches() throws IOException {
+        try (Directory dir = newDirectory()) {
+            RandomIndexWriter w = new RandomIndexWriter(random(), dir);
+            final int numDocs = randomIntBetween(1, 1000);
+            for (int i = 0; i < numDocs; ++i) {
+                w.addDocument(new Document());
+            }
+            try (IndexReader reader = w.getReader()) {
+                w.close();
+                IndexSearcher searcher = newSearcher(reader);
+                RecordingBucketCollector recording = new RecordingBucketCollector(ScoreMode.COMPLETE_NO_SCORES);
+                BatchingBucketCollector batching = new BatchingBucketCollector(recording);
+                searcher.search(new MatchAllDocsQuery(), batching);
+                batching.flush();
+
+                assertThat(recording.docs.size(), equalTo(numDocs));
+                for (int i = 0; i < numDocs; ++i) {
+                    assertThat(recording.docs.get(i), equalTo(i));
+                    assertThat(recording.buckets.get(i), equalTo(0L));
+                }
+                assertThat(recording.maxBatchSize, lessThanOrEqualTo(BatchingBucketCollector.BATCH_SIZE));
+                assertThat(recording.batches, lessThanOrEqualTo(numDocs));
+            }
+        }
+    }
+
+    public void testPreservesOrderWithOtherBuckets() throws IOException {
+        RecordingBucketCollector recording = new RecordingBucketCollector(ScoreMode.COMPLETE_NO_SCORES);
+        BatchingBucketCollector batching = new BatchingBucketCollector(recording);
+        LeafBucketCollector leaf = batching.getLeafCollector(null);
+        leaf.collect(0, 0);
+        leaf.collect(1, 0);
+        leaf.collect(2, 3);
+        leaf.collect(3, 0);
+        assertThat(recording.docs, equalTo(List.of(0, 1, 2)));
+        batching.flush();
+        assertThat(recording.docs, equalTo(List.of(0, 1, 2, 3)));
+        assertThat(recording.buckets, equalTo(List.of(0L, 0L, 3L, 0L)));
+    }
+
+    public void testRejectsCollectorsThatNeedScores() {
+        RecordingBucketCollector recording = new RecordingBucketCollector(ScoreMode.COMPLETE);
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> new BatchingBucketCollector(recording));
+        assertThat(e.getMessage(), equalTo("can't batch collection for collectors that need scores"));
+    }
+}
@@ -161,6 +161,32 @@ public class MaxAggregatorTests extends AggregatorTestCase {
         return new MaxAggregationBuilder("_name").field(fieldName);
     }
 
+    public void testCollectInBlocks() throws IOException {
+        MappedFieldType fieldType = new NumberFieldMapper.NumberFieldType("number", NumberFieldMapper.NumberType.INTEGER);
+        for (boolean multiValued : new boolean[] { false, true }) {
+            int numDocs = randomIntBetween(1, 500);
+            withIndex(iw -> {
+                for (int i = 0; i < numDocs; i++) {
+                    Document document = new Document();
+                    int numValues = multiValued ? randomIntBetween(0, 3) : randomIntBetween(0, 1);
+                    for (int v = 0; v < numValues; v++) {
+                        document.add(new SortedNumericDocValuesField("number", randomIntBetween(-1000, 1000)));
+                    }
+                    iw.addDocument(document);
+                }
+            }, searcher -> {
+                // blocks go to random buckets so the maxes grow with buckets that were never collected before
+                AggregationBuilder builder = new MaxAggregationBuilder("_name").field("number");
+                long seed = randomLong();
+                int numBuckets = randomIntBetween(1, 10);
+                int blockSize = randomIntBetween(1, 128);
+                InternalAggregation[] perDoc = collectInBuckets(builder, searcher, seed, numBuckets, blockSize, false, fieldType);
+                InternalAggregation[] inBlocks = collectInBuckets(builder, searcher, seed, numBuckets, blockSize, true, fieldType);
+                assertArrayEquals(perDoc, inBlocks);
+            });
+        }
+    }
+
     public void testNoDocs() throws IOException {
         testAggregation(new MatchAllDocsQuery(), iw -> {
             // Intentionally not writing any docs
@@ -50,6 +50,7 @@ import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.elasticsearch.search.aggregations.AggregatorTestCase;
 import org.elasticsearch.search.aggregations.BucketOrder;
+import org.elasticsearch.search.aggregations.InternalAggregation;
 import org.elasticsearch.search.aggregations.bucket.filter.Filter;
 import org.elasticsearch.search.aggregations.bucket.filter.FilterAggregationBuilder;
 import org.elasticsearch.search.aggregations.bucket.global.GlobalAggregationBuilder;
@@ -150,6 +151,32 @@ public class MinAggregatorTests extends AggregatorTestCase {
         return new ScriptService(Settings.EMPTY, engines, ScriptModule.CORE_CONTEXTS, () -> 1L);
     }
 
+    public void testCollectInBlocks() throws IOException {
+        MappedFieldType fieldType = new NumberFieldMapper.NumberFieldType("number", NumberFieldMapper.NumberType.INTEGER);
+        for (boolean multiValued : new boolean[] { false, true }) {
+            int numDocs = randomIntBetween(1, 500);
+            withIndex(iw -> {
+                for (int i = 0; i < numDocs; i++) {
+                    Document document = new Document();
+                    int numValues = multiValued ? randomIntBetween(0, 3) : randomIntBetween(0, 1);
+                    for (int v = 0; v < numValues; v++) {
+                        document.add(new SortedNumericDocValuesField("number", randomIntBetween(-1000, 1000)));
+                    }
+                    iw.addDocument(document);
+                }
+            }, searcher -> {
+                // blocks go to random buckets so the mins grow with buckets that were never collected before
+                AggregationBuilder builder = new MinAggregationBuilder("_name").field("number");
+                long seed = randomLong();
+                int numBuckets = randomIntBetween(1, 10);
+                int blockSize = randomIntBetween(1, 128);
+                InternalAggregation[] perDoc = collectInBuckets(builder, searcher, seed, numBuckets, blockSize, false, fieldType);
+                InternalAggregation[] inBlocks = collectInBuckets(builder, searcher, seed, numBuckets, blockSize, true, fieldType);
+                assertArrayEquals(perDoc, inBlocks);
+            });
+        }
+    }
+
     public void testNoMatchingField() throws IOException {
         testCase(new MatchAllDocsQuery(), iw -> {
             iw.addDocument(singleton(new SortedNumericDocValuesField("wrong_number", 7)));
@@ -7,6 +7,7 @@
  */
 package org.elasticsearch.search.aggregations.metrics;
 
+import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.SortedDocValuesField;
@@ -40,6 +41,7 @@ import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.elasticsearch.search.aggregations.AggregatorTestCase;
+import org.elasticsearch.search.aggregations.InternalAggregation;
 import org.elasticsearch.search.aggregations.support.AggregationInspectionHelper;
 import org.elasticsearch.search.aggregations.support.CoreValuesSourceType;
 import org.elasticsearch.search.aggregations.support.ValuesSourceType;
@@ -152,6 +154,34 @@ public class SumAggregatorTests extends AggregatorTestCase {
         );
     }
 
+    public void testCollectInBlocks() throws IOException {
+        MappedFieldType fieldType = defaultFieldType(NumberType.DOUBLE);
+        for (boolean multiValued : new boolean[] { false, true }) {
+            int numDocs = randomIntBetween(1, 500);
+            withIndex(iw -> {
+                for (int i = 0; i < numDocs; i++) {
+                    Document document = new Document();
+                    int numValues = multiValued ? randomIntBetween(0, 3) : randomIntBetween(0, 1);
+                    for (int v = 0; v < numValues; v++) {
+                        long value = NumericUtils.doubleToSortableLong(randomDoubleBetween(-1000, 1000, true));
+                        document.add(new SortedNumericDocValuesField(FIELD_NAME, value));
+                    }
+                    iw.addDocument(document);
+                }
+            }, searcher -> {
+                // single valued segments are summed in a tight loop, multi valued ones fall back to
+                // collecting a doc at a time
+                AggregationBuilder builder = sum("_name").field(FIELD_NAME);
+                long seed = randomLong();
+                int numBuckets = randomIntBetween(1, 10);
+                int blockSize = randomIntBetween(1, 128);
+                InternalAggregation[] perDoc = collectInBuckets(builder, searcher, seed, numBuckets, blockSize, false, fieldType);
+                InternalAggregation[] inBlocks = collectInBuckets(builder, searcher, seed, numBuckets, blockSize, true, fieldType);
+                assertArrayEquals(perDoc, inBlocks);
+            });
+        }
+    }
+
     public void testSummationAccuracy() throws IOException {
         // Summing up a normal array and expect an accurate value
         double[] values = new double[] { 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1.0, 1.1, 1.2, 1.3, 1.4, 1.5, 1.6, 1.7 };
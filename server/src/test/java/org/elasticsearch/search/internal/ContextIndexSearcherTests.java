@@ -27,6 +27,7 @@ import org.apache.lucene.index.Term;
 import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.search.BoostQuery;
 import org.apache.lucene.search.BulkScorer;
+import org.apache.lucene.search.CollectorManager;
 import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.Explanation;
@@ -40,6 +41,7 @@ import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHitCountCollector;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.Accountable;
@@ -63,15 +65,19 @@ import org.elasticsearch.test.IndexSettingsModule;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.elasticsearch.search.internal.ContextIndexSearcher.intersectScorerAndBitSet;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitableLeafReader;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitablePointValues;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitableTerms;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
 
 public class ContextIndexSearcherTests extends ESTestCase {
@@ -160,6 +166,70 @@ public class ContextIndexSearcherTests extends ESTestCase {
         directory.close();
     }
 
+    public void testConcurrentSearchWithCollectorManager() throws Exception {
+        Directory dir = newDirectory();
+        IndexWriter w = new IndexWriter(dir, new IndexWriterConfig(new StandardAnalyzer()).setMergePolicy(NoMergePolicy.INSTANCE));
+        int numSegments = randomIntBetween(6, 20);
+        int numDocs = 0;
+        for (int i = 0; i < numSegments; i++) {
+            int docsInSegment = randomIntBetween(1, 100);
+            for (int j = 0; j < docsInSegment; j++) {
+                Document doc = new Document();
+                doc.add(new StringField("foo", "bar", Field.Store.NO));
+                w.addDocument(doc);
+            }
+            numDocs += docsInSegment;
+            w.flush();
+        }
+        w.close();
+        DirectoryReader reader = DirectoryReader.open(dir);
+        ExecutorService executor = Executors.newFixedThreadPool(randomIntBetween(1, 4));
+        try {
+            ContextIndexSearcher searcher = new ContextIndexSearcher(
+                reader,
+                IndexSearcher.getDefaultSimilarity(),
+                IndexSearcher.getDefaultQueryCache(),
+                IndexSearcher.getDefaultQueryCachingPolicy(),
+                false,
+                executor
+            );
+            assertTrue(searcher.isConcurrent());
+            Set<TotalHitCountCollector> collectors = Collections.newSetFromMap(new IdentityHashMap<>());
+            CollectorManager<TotalHitCountCollector, Integer> collectorManager = new CollectorManager<>() {
+                @Override
+                public TotalHitCountCollector newCollector() {
+                    TotalHitCountCollector collector = new TotalHitCountCollector();
+                    collectors.add(collector);
+                    return collector;
+                }
+
+                @Override
+                public Integer reduce(Collection<TotalHitCountCollector> collectors) {
+                    return collectors.stream().mapToInt(TotalHitCountCollector::getTotalHits).sum();
+                }
+            };
+            assertEquals(numDocs, (int) searcher.searchConcurrently(new MatchAllDocsQuery(), collectorManager));
+            assertThat(collectors.size(), greaterThan(1));
+
+            // other searches with a collector manager don't use the executor
+            collectors.clear();
+            assertEquals(numDocs, (int) searcher.search(new MatchAllDocsQuery(), collectorManager));
+            assertEquals(1, collectors.size());
+
+            ContextIndexSearcher sequential = new ContextIndexSearcher(
+                reader,
+                IndexSearcher.getDefaultSimilarity(),
+                IndexSearcher.getDefaultQueryCache(),
+                IndexSearcher.getDefaultQueryCachingPolicy(),
+                false
+            );
+            assertFalse(sequential.isConcurrent());
+        } finally {
+            terminate(executor);
+            IOUtils.close(reader, dir);
+        }
+    }
+
     public void testContextIndexSearcherSparseNoDeletions() throws IOException {
         doTestContextIndexSearcher(true, false);
     }
@@ -11,6 +11,8 @@ package org.elasticsearch.transport;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefIterator;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionListener;
@@ -22,6 +24,8 @@ import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.logging.Loggers;
 import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.common.network.NetworkAddress;
@@ -191,6 +195,32 @@ public class OutboundHandlerTests extends ESTestCase {
         assertEquals("header_value", header.getHeaders().v1().get("header"));
     }
 
+    public void testSendZeroCopyRequest() throws IOException {
+        final Version version = randomFrom(Version.CURRENT, Version.CURRENT.minimumCompatibilityVersion());
+        final long requestId = randomLongBetween(0, 300);
+        final byte[] payload = randomByteArrayOfLength(randomIntBetween(1, 1 << 16));
+        final ZeroCopyRequest request = new ZeroCopyRequest(randomAlphaOfLength(10), new BytesArray(payload), randomAlphaOfLength(10));
+        handler.sendRequest(node, channel, requestId, "action", request, options, version, null, false);
+
+        final BytesReference reference = channel.getMessageCaptor().get();
+        channel.getListenerCaptor().get().onResponse(null);
+        boolean foundPayload = false;
+        final BytesRefIterator iterator = reference.iterator();
+        BytesRef slice;
+        while ((slice = iterator.next()) != null) {
+            foundPayload |= slice.bytes == payload;
+        }
+        assertTrue("payload must be sent without copying it", foundPayload);
+
+        pipeline.handleBytes(channel, new ReleasableBytesReference(reference, () -> {}));
+        final Tuple<Header, BytesReference> tuple = message.get();
+        assertFalse(tuple.v1().isCompressed());
+        final ZeroCopyRequest received = new ZeroCopyRequest(tuple.v2().streamInput());
+        assertEquals(request.header, received.header);
+        assertEquals(request.bytes, received.bytes);
+        assertEquals(request.trailer, received.trailer);
+    }
+
     public void testSendResponse() throws IOException {
         ThreadContext threadContext = threadPool.getThreadContext();
         Version version = randomFrom(Version.CURRENT, Version.CURRENT.minimumCompatibilityVersion());
@@ -348,4 +378,46 @@ public class OutboundHandlerTests extends ESTestCase {
             mockAppender.stop();
         }
     }
+
+    private static class ZeroCopyRequest extends TransportRequest implements ZeroCopyWriteable {
+        private final String header;
+        private final BytesReference bytes;
+        private final String trailer;
+
+        ZeroCopyRequest(String header, BytesReference bytes, String trailer) {
+            this.header = header;
+            this.bytes = bytes;
+            this.trailer = trailer;
+        }
+
+        ZeroCopyRequest(StreamInput in) throws IOException {
+            super(in);
+            header = in.readString();
+            bytes = in.readBytesReference();
+            trailer = in.readString();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            writeHeader(out);
+            out.writeBytesReference(bytes);
+            writeTrailer(out);
+        }
+
+        @Override
+        public void writeHeader(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            out.writeString(header);
+        }
+
+        @Override
+        public BytesReference zeroCopyBytes() {
+            return bytes;
+        }
+
+        @Override
+        public void writeTrailer(StreamOutput out) throws IOException {
+            out.writeString(trailer);
+        }
+    }
 }
@@ -151,9 +151,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyMap;
@@ -779,6 +781,48 @@ public abstract class AggregatorTestCase extends ESTestCase {
         verifyOutputFieldNames(builder, result);
     }
 
+    /**
+     * Collects every document of the index with a single {@link Aggregator}, handing the documents of each segment over in
+     * blocks of up to {@code blockSize} docs that each go to a bucket below {@code numBuckets} picked with the given seed.
+     * The docs of a block are collected with {@link LeafBucketCollector#collect(int[], int, long)} if {@code inBlocks} is
+     * set and one at a time otherwise. Returns the results for every bucket, which must not depend on {@code inBlocks}.
+     */
+    protected InternalAggregation[] collectInBuckets(
+        AggregationBuilder builder,
+        IndexSearcher searcher,
+        long seed,
+        int numBuckets,
+        int blockSize,
+        boolean inBlocks,
+        MappedFieldType... fieldTypes
+    ) throws IOException {
+        AggregationContext context = createAggregationContext(searcher, new MatchAllDocsQuery(), fieldTypes);
+        Aggregator aggregator = createAggregator(builder, context);
+        aggregator.preCollection();
+        Random random = new Random(seed);
+        int[] docs = new int[blockSize];
+        for (LeafReaderContext ctx : searcher.getIndexReader().leaves()) {
+            LeafBucketCollector leafCollector = aggregator.getLeafCollector(ctx);
+            int maxDoc = ctx.reader().maxDoc();
+            for (int start = 0; start < maxDoc; start += blockSize) {
+                int count = Math.min(blockSize, maxDoc - start);
+                for (int i = 0; i < count; i++) {
+                    docs[i] = start + i;
+                }
+                long bucket = random.nextInt(numBuckets);
+                if (inBlocks) {
+                    leafCollector.collect(docs, count, bucket);
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        leafCollector.collect(docs[i], bucket);
+                    }
+                }
+            }
+        }
+        aggregator.postCollection();
+        return aggregator.buildAggregations(LongStream.range(0, numBuckets).toArray());
+    }
+
     private void collectDebugInfo(String prefix, Aggregator aggregator, Map<String, Map<String, Object>> allDebug) {
         Map<String, Object> debug = new HashMap<>();
         aggregator.collectDebugInfo((key, value) -> {
@@ -14,6 +14,7 @@ import org.elasticsearch.action.support.master.MasterNodeRequest;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.tasks.TaskInfo;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.ToXContentObject;
@@ -274,17 +275,26 @@ public class EnrichStatsAction extends ActionType<EnrichStatsAction.Response> {
             private final long hits;
             private final long misses;
             private final long evictions;
+            private final long sizeInBytes;
 
-            public CacheStats(String nodeId, long count, long hits, long misses, long evictions) {
+            public CacheStats(String nodeId, long count, long hits, long misses, long evictions, long sizeInBytes) {
                 this.nodeId = nodeId;
                 this.count = count;
                 this.hits = hits;
                 this.misses = misses;
                 this.evictions = evictions;
+                this.sizeInBytes = sizeInBytes;
             }
 
             public CacheStats(StreamInput in) throws IOException {
-                this(in.readString(), in.readVLong(), in.readVLong(), in.readVLong(), in.readVLong());
+                this(
+                    in.readString(),
+                    in.readVLong(),
+                    in.readVLong(),
+                    in.readVLong(),
+                    in.readVLong(),
+                    in.getVersion().onOrAfter(Version.V_8_1_0) ? in.readVLong() : 0L
+                );
             }
 
             public String getNodeId() {
@@ -307,6 +317,10 @@ public class EnrichStatsAction extends ActionType<EnrichStatsAction.Response> {
                 return evictions;
             }
 
+            public long getSizeInBytes() {
+                return sizeInBytes;
+            }
+
             @Override
             public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
                 builder.field("node_id", nodeId);
@@ -314,6 +328,7 @@ public class EnrichStatsAction extends ActionType<EnrichStatsAction.Response> {
                 builder.field("hits", hits);
                 builder.field("misses", misses);
                 builder.field("evictions", evictions);
+                builder.humanReadableField("size_in_bytes", "size", new ByteSizeValue(sizeInBytes));
                 return builder;
             }
 
@@ -324,6 +339,9 @@ public class EnrichStatsAction extends ActionType<EnrichStatsAction.Response> {
                 out.writeVLong(hits);
                 out.writeVLong(misses);
                 out.writeVLong(evictions);
+                if (out.getVersion().onOrAfter(Version.V_8_1_0)) {
+                    out.writeVLong(sizeInBytes);
+                }
             }
 
             @Override
@@ -335,12 +353,13 @@ public class EnrichStatsAction extends ActionType<EnrichStatsAction.Response> {
                     && hits == that.hits
                     && misses == that.misses
                     && evictions == that.evictions
+                    && sizeInBytes == that.sizeInBytes
                     && nodeId.equals(that.nodeId);
             }
 
             @Override
             public int hashCode() {
-                return Objects.hash(nodeId, count, hits, misses, evictions);
+                return Objects.hash(nodeId, count, hits, misses, evictions, sizeInBytes);
             }
         }
     }
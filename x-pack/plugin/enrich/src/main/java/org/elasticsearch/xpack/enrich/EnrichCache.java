@@ -7,6 +7,7 @@
 
 package org.elasticsearch.xpack.enrich;
 
+import org.apache.lucene.util.RamUsageEstimator;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
@@ -14,7 +15,9 @@ import org.elasticsearch.cluster.metadata.IndexAbstraction;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.common.cache.Cache;
 import org.elasticsearch.common.cache.CacheBuilder;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.xpack.core.enrich.action.EnrichStatsAction;
 
@@ -39,22 +42,37 @@ import static org.elasticsearch.action.ActionListener.wrap;
  * resolves the alias to the actual enrich index and uses that for the cache key. This way
  * no stale entries will be returned if a policy execution happens and a new enrich index is created.
  *
- * There is no cleanup mechanism of stale entries in case a new enrich index is created
- * as part of a policy execution. This shouldn't be needed as cache entries for prior enrich
- * indices will be eventually evicted, because these entries will not end up being used. The
- * latest enrich index name will be used as cache key after an enrich policy execution.
- * (Also a cleanup mechanism also wouldn't be straightforward to implement,
- * since there is no easy check to see that an enrich index used as cache key no longer is the
- * current enrich index the enrich alias of an policy refers to. It would require checking
- * all cached entries on each cluster state update)
+ * The cache remembers which enrich index each alias it has seen pointed to. When a cluster state
+ * update moves one of these aliases to a new enrich index, the entries of the prior enrich index
+ * are invalidated, rather than taking up room in the cache until they are evicted.
+ *
+ * Lookups that matched no enrich document are cached as well, as an empty list. Failed lookups
+ * are not cached.
+ *
+ * The size of the cache is either a number of entries or, if it is created with a {@link ByteSizeValue},
+ * an estimate of the memory taken up by the cached enrich documents.
  */
 public class EnrichCache {
 
+    // the weight of a lookup that is still in flight, and of the key of an entry
+    private static final long PENDING_LOOKUP_BYTES = 1024;
+
     protected final Cache<CacheKey, CompletableFuture<List<Map<?, ?>>>> cache;
+    private final boolean weighedInBytes;
+    private final Map<String, String> enrichIndexByAlias = ConcurrentCollections.newConcurrentMap();
     private volatile Metadata metadata;
 
     EnrichCache(long maxSize) {
         this.cache = CacheBuilder.<CacheKey, CompletableFuture<List<Map<?, ?>>>>builder().setMaximumWeight(maxSize).build();
+        this.weighedInBytes = false;
+    }
+
+    EnrichCache(ByteSizeValue maxByteSize) {
+        this.cache = CacheBuilder.<CacheKey, CompletableFuture<List<Map<?, ?>>>>builder()
+            .setMaximumWeight(maxByteSize.getBytes())
+            .weigher((key, value) -> ramBytesUsed(value))
+            .build();
+        this.weighedInBytes = true;
     }
 
     /**
@@ -70,6 +88,35 @@ public class EnrichCache {
 
     void setMetadata(Metadata metadata) {
         this.metadata = metadata;
+        boolean promoted = false;
+        for (Map.Entry<String, String> entry : enrichIndexByAlias.entrySet()) {
+            String enrichIndex = resolveEnrichIndex(metadata, entry.getKey());
+            if (Objects.equals(enrichIndex, entry.getValue()) == false) {
+                promoted = true;
+                if (enrichIndex == null) {
+                    enrichIndexByAlias.remove(entry.getKey());
+                } else {
+                    enrichIndexByAlias.put(entry.getKey(), enrichIndex);
+                }
+            }
+        }
+        if (promoted) {
+            invalidateStaleEntries();
+        }
+    }
+
+    private void invalidateStaleEntries() {
+        List<CacheKey> staleKeys = new ArrayList<>();
+        for (CacheKey key : cache.keys()) {
+            if (isCurrent(key) == false) {
+                staleKeys.add(key);
+            }
+        }
+        staleKeys.forEach(cache::invalidate);
+    }
+
+    private boolean isCurrent(CacheKey key) {
+        return key.enrichIndex.equals(enrichIndexByAlias.get(key.searchRequest.indices()[0]));
     }
 
     public EnrichStatsAction.Response.CacheStats getStats(String localNodeId) {
@@ -79,10 +126,22 @@ public class EnrichCache {
             cache.count(),
             cacheStats.getHits(),
             cacheStats.getMisses(),
-            cacheStats.getEvictions()
+            cacheStats.getEvictions(),
+            ramBytesUsed()
         );
     }
 
+    private long ramBytesUsed() {
+        if (weighedInBytes) {
+            return cache.weight();
+        }
+        long ramBytesUsed = 0;
+        for (CompletableFuture<List<Map<?, ?>>> value : cache.values()) {
+            ramBytesUsed += ramBytesUsed(value);
+        }
+        return ramBytesUsed;
+    }
+
     /**
      * resolves the entry from the cache and provides reports the result to the `callBack` This method does not dispatch any logic
      * to another thread. Under contention the searchDispatcher is only called once when the value is not in the cache. The
@@ -100,14 +159,23 @@ public class EnrichCache {
     ) {
         CacheKey cacheKey = toKey(searchRequest);
         try {
+            final PendingLookup pendingLookup = new PendingLookup();
             CompletableFuture<List<Map<?, ?>>> cacheEntry = cache.computeIfAbsent(cacheKey, request -> {
-                CompletableFuture<List<Map<?, ?>>> completableFuture = new CompletableFuture<>();
                 searchDispatcher.accept(
                     searchRequest,
-                    wrap(response -> completableFuture.complete(toCacheValue(response)), completableFuture::completeExceptionally)
+                    wrap(response -> pendingLookup.complete(toCacheValue(response)), pendingLookup::completeExceptionally)
                 );
-                return completableFuture;
+                return pendingLookup;
             });
+            if (cacheEntry == pendingLookup) {
+                // The weight of an entry must not change while it is cached, so once the lookup is done the pending
+                // entry is replaced by a completed one that is weighed by the enrich documents it holds.
+                pendingLookup.thenAccept(value -> {
+                    if (isCurrent(cacheKey)) {
+                        cache.put(cacheKey, CompletableFuture.completedFuture(value));
+                    }
+                });
+            }
             cacheEntry.whenComplete((response, throwable) -> {
                 if (throwable != null) {
                     // Don't cache failures
@@ -134,7 +202,16 @@ public class EnrichCache {
     private String getEnrichIndexKey(SearchRequest searchRequest) {
         String alias = searchRequest.indices()[0];
         IndexAbstraction ia = metadata.getIndicesLookup().get(alias);
-        return ia.getIndices().get(0).getName();
+        String enrichIndex = ia.getIndices().get(0).getName();
+        if (enrichIndex.equals(enrichIndexByAlias.get(alias)) == false) {
+            enrichIndexByAlias.put(alias, enrichIndex);
+        }
+        return enrichIndex;
+    }
+
+    private static String resolveEnrichIndex(Metadata metadata, String alias) {
+        IndexAbstraction ia = metadata.getIndicesLookup().get(alias);
+        return ia == null ? null : ia.getIndices().get(0).getName();
     }
 
     private List<Map<?, ?>> toCacheValue(SearchResponse response) {
@@ -172,6 +249,45 @@ public class EnrichCache {
         }
     }
 
+    private static long ramBytesUsed(CompletableFuture<List<Map<?, ?>>> value) {
+        List<Map<?, ?>> enrichDocuments = value instanceof PendingLookup ? null : value.getNow(null);
+        if (enrichDocuments == null) {
+            return PENDING_LOOKUP_BYTES;
+        }
+        return PENDING_LOOKUP_BYTES + innerRamBytesUsed(enrichDocuments);
+    }
+
+    private static long innerRamBytesUsed(Object value) {
+        if (value instanceof Map<?, ?> mapValue) {
+            long ramBytesUsed = RamUsageEstimator.NUM_BYTES_OBJECT_HEADER + RamUsageEstimator.NUM_BYTES_ARRAY_HEADER;
+            for (Map.Entry<?, ?> entry : mapValue.entrySet()) {
+                ramBytesUsed += 2 * RamUsageEstimator.NUM_BYTES_OBJECT_REF + RamUsageEstimator.NUM_BYTES_OBJECT_HEADER;
+                ramBytesUsed += innerRamBytesUsed(entry.getKey()) + innerRamBytesUsed(entry.getValue());
+            }
+            return ramBytesUsed;
+        } else if (value instanceof List<?> listValue) {
+            long ramBytesUsed = RamUsageEstimator.NUM_BYTES_OBJECT_HEADER + RamUsageEstimator.NUM_BYTES_ARRAY_HEADER;
+            for (Object itemValue : listValue) {
+                ramBytesUsed += RamUsageEstimator.NUM_BYTES_OBJECT_REF + innerRamBytesUsed(itemValue);
+            }
+            return ramBytesUsed;
+        } else if (value instanceof byte[] bytes) {
+            return RamUsageEstimator.sizeOf(bytes);
+        } else if (value instanceof String stringValue) {
+            return RamUsageEstimator.sizeOf(stringValue);
+        } else if (value == null) {
+            return 0;
+        } else {
+            return RamUsageEstimator.NUM_BYTES_OBJECT_HEADER + Long.BYTES;
+        }
+    }
+
+    /**
+     * A cache entry for a lookup that is still in flight. It is always weighed the same, see
+     * {@link #resolveOrDispatchSearch(SearchRequest, BiConsumer, BiConsumer)}.
+     */
+    private static final class PendingLookup extends CompletableFuture<List<Map<?, ?>>> {}
+
     private static class CacheKey {
 
         final String enrichIndex;
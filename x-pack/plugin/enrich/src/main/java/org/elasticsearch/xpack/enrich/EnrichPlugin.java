@@ -20,6 +20,8 @@ import org.elasticsearch.common.settings.IndexScopedSettings;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.settings.SettingsFilter;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.MemorySizeValue;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.env.NodeEnvironment;
@@ -127,14 +129,44 @@ public class EnrichPlugin extends Plugin implements SystemIndexPlugin, IngestPlu
         return String.valueOf(maxConcurrentRequests * maxLookupsPerRequest);
     }, val -> Setting.parseInt(val, 1, Integer.MAX_VALUE, QUEUE_CAPACITY_SETTING_NAME), Setting.Property.NodeScope);
 
-    public static final Setting<Long> CACHE_SIZE = Setting.longSetting("enrich.cache_size", 1000, 0, Setting.Property.NodeScope);
+    private static final String CACHE_SIZE_SETTING_NAME = "enrich.cache_size";
+    /**
+     * Either a number of cache entries, or a memory size like {@code 100mb} or {@code 1%} of the heap.
+     */
+    public static final Setting<String> CACHE_SIZE = new Setting<>(CACHE_SIZE_SETTING_NAME, "1000", val -> {
+        parseCacheMemorySize(val);
+        return val;
+    }, Setting.Property.NodeScope);
 
     private final Settings settings;
     private final EnrichCache enrichCache;
 
     public EnrichPlugin(final Settings settings) {
         this.settings = settings;
-        this.enrichCache = new EnrichCache(CACHE_SIZE.get(settings));
+        this.enrichCache = createEnrichCache(CACHE_SIZE.get(settings));
+    }
+
+    static EnrichCache createEnrichCache(String cacheSize) {
+        ByteSizeValue maxByteSize = parseCacheMemorySize(cacheSize);
+        return maxByteSize == null ? new EnrichCache(Long.parseLong(cacheSize)) : new EnrichCache(maxByteSize);
+    }
+
+    /**
+     * @return the memory size the enrich cache is limited to, or {@code null} if it is limited to a number of entries
+     */
+    private static ByteSizeValue parseCacheMemorySize(String cacheSize) {
+        long maxEntries;
+        try {
+            maxEntries = Long.parseLong(cacheSize);
+        } catch (NumberFormatException e) {
+            return MemorySizeValue.parseBytesSizeValueOrHeapRatio(cacheSize, CACHE_SIZE_SETTING_NAME);
+        }
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException(
+                "Failed to parse value [" + cacheSize + "] for setting [" + CACHE_SIZE_SETTING_NAME + "] must be >= 0"
+            );
+        }
+        return null;
     }
 
     @Override
@@ -6,11 +6,13 @@
  */
 package org.elasticsearch.xpack.enrich;
 
+import org.elasticsearch.ElasticsearchParseException;
 import org.elasticsearch.Version;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.cluster.metadata.AliasMetadata;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.index.query.MatchQueryBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.test.ESTestCase;
@@ -28,6 +30,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -123,7 +127,8 @@ public class EnrichCacheTests extends ESTestCase {
             .build();
         enrichCache.setMetadata(metadata);
 
-        // Because enrich index has changed, cache can't serve cached entries
+        // Because enrich index has changed, the cached entries have been invalidated
+        assertThat(enrichCache.getStats("_id").getCount(), equalTo(0L));
         assertThat(enrichCache.get(searchRequest1), nullValue());
         assertThat(enrichCache.get(searchRequest2), nullValue());
         assertThat(enrichCache.get(searchRequest3), nullValue());
@@ -143,7 +148,64 @@ public class EnrichCacheTests extends ESTestCase {
         assertThat(cacheStats.getCount(), equalTo(3L));
         assertThat(cacheStats.getHits(), equalTo(6L));
         assertThat(cacheStats.getMisses(), equalTo(6L));
-        assertThat(cacheStats.getEvictions(), equalTo(4L));
+        assertThat(cacheStats.getEvictions(), equalTo(1L));
+    }
+
+    public void testCachingInBytes() {
+        var metadata = Metadata.builder()
+            .put(
+                IndexMetadata.builder(EnrichPolicy.getBaseName("policy1") + "-1")
+                    .settings(settings(Version.CURRENT))
+                    .numberOfShards(1)
+                    .numberOfReplicas(0)
+                    .putAlias(AliasMetadata.builder(EnrichPolicy.getBaseName("policy1")).build())
+            )
+            .build();
+        var enrichCache = new EnrichCache(ByteSizeValue.ofKb(4)) {
+            void warmCache(SearchRequest searchRequest, List<Map<?, ?>> entry) {
+                this.cache.put(toKey(searchRequest), CompletableFuture.completedFuture(entry));
+            }
+        };
+        enrichCache.setMetadata(metadata);
+
+        var smallSearchRequest = new SearchRequest(EnrichPolicy.getBaseName("policy1")).source(
+            new SearchSourceBuilder().query(new MatchQueryBuilder("match_field", "1"))
+        );
+        var largeSearchRequest = new SearchRequest(EnrichPolicy.getBaseName("policy1")).source(
+            new SearchSourceBuilder().query(new MatchQueryBuilder("match_field", "2"))
+        );
+        var noMatchSearchRequest = new SearchRequest(EnrichPolicy.getBaseName("policy1")).source(
+            new SearchSourceBuilder().query(new MatchQueryBuilder("match_field", "3"))
+        );
+
+        // A lookup without matches is cached too:
+        enrichCache.warmCache(noMatchSearchRequest, List.of());
+        enrichCache.warmCache(smallSearchRequest, List.of(Map.of("test", "entry")));
+        var cacheStats = enrichCache.getStats("_id");
+        assertThat(cacheStats.getCount(), equalTo(2L));
+        assertThat(cacheStats.getSizeInBytes(), greaterThan(0L));
+        assertThat(cacheStats.getSizeInBytes(), lessThanOrEqualTo(ByteSizeValue.ofKb(4).getBytes()));
+        long sizeInBytes = cacheStats.getSizeInBytes();
+
+        // A single large entry takes the room of the others:
+        enrichCache.warmCache(largeSearchRequest, List.of(Map.of("test", randomAlphaOfLength(1024))));
+        cacheStats = enrichCache.getStats("_id");
+        assertThat(cacheStats.getCount(), equalTo(1L));
+        assertThat(cacheStats.getEvictions(), equalTo(2L));
+        assertThat(cacheStats.getSizeInBytes(), greaterThan(sizeInBytes));
+        assertThat(enrichCache.get(largeSearchRequest), notNullValue());
+        assertThat(enrichCache.get(smallSearchRequest), nullValue());
+    }
+
+    public void testCreateEnrichCache() {
+        var enrichCache = EnrichPlugin.createEnrichCache("1000");
+        assertThat(enrichCache.getStats("_id").getCount(), equalTo(0L));
+        enrichCache = EnrichPlugin.createEnrichCache("10mb");
+        assertThat(enrichCache.getStats("_id").getSizeInBytes(), equalTo(0L));
+        enrichCache = EnrichPlugin.createEnrichCache("1%");
+        assertThat(enrichCache.getStats("_id").getSizeInBytes(), equalTo(0L));
+        expectThrows(IllegalArgumentException.class, () -> EnrichPlugin.createEnrichCache("-1"));
+        expectThrows(ElasticsearchParseException.class, () -> EnrichPlugin.createEnrichCache("lots"));
     }
 
     public void testNonblocking() throws ExecutionException {
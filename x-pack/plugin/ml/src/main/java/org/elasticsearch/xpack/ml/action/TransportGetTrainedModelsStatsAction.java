@@ -23,6 +23,7 @@ import org.elasticsearch.common.document.DocumentField;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.metrics.CounterMetric;
 import org.elasticsearch.common.util.set.Sets;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -300,20 +301,25 @@ public class TransportGetTrainedModelsStatsAction extends HandledTransportAction
             .filter(pipelineStat -> pipelineIds.contains(pipelineStat.getPipelineId()))
             .collect(Collectors.toList());
         CounterMetric ingestCount = new CounterMetric();
-        CounterMetric ingestTimeInMillis = new CounterMetric();
+        CounterMetric ingestTimeInNanos = new CounterMetric();
         CounterMetric ingestCurrent = new CounterMetric();
         CounterMetric ingestFailedCount = new CounterMetric();
 
         filteredPipelineStats.forEach(pipelineStat -> {
             IngestStats.Stats stats = pipelineStat.getStats();
             ingestCount.inc(stats.getIngestCount());
-            ingestTimeInMillis.inc(stats.getIngestTimeInMillis());
+            ingestTimeInNanos.inc(stats.getIngestTimeInNanos());
             ingestCurrent.inc(stats.getIngestCurrent());
             ingestFailedCount.inc(stats.getIngestFailedCount());
         });
 
         return new IngestStats(
-            new IngestStats.Stats(ingestCount.count(), ingestTimeInMillis.count(), ingestCurrent.count(), ingestFailedCount.count()),
+            new IngestStats.Stats(
+                ingestCount.count(),
+                TimeValue.timeValueNanos(ingestTimeInNanos.count()),
+                ingestCurrent.count(),
+                ingestFailedCount.count()
+            ),
             filteredPipelineStats,
             filteredProcessorStats
         );
@@ -364,7 +370,7 @@ public class TransportGetTrainedModelsStatsAction extends HandledTransportAction
 
     private static class IngestStatsAccumulator {
         CounterMetric ingestCount = new CounterMetric();
-        CounterMetric ingestTimeInMillis = new CounterMetric();
+        CounterMetric ingestTimeInNanos = new CounterMetric();
         CounterMetric ingestCurrent = new CounterMetric();
         CounterMetric ingestFailedCount = new CounterMetric();
 
@@ -378,14 +384,19 @@ public class TransportGetTrainedModelsStatsAction extends HandledTransportAction
 
         IngestStatsAccumulator inc(IngestStats.Stats s) {
             ingestCount.inc(s.getIngestCount());
-            ingestTimeInMillis.inc(s.getIngestTimeInMillis());
+            ingestTimeInNanos.inc(s.getIngestTimeInNanos());
             ingestCurrent.inc(s.getIngestCurrent());
             ingestFailedCount.inc(s.getIngestFailedCount());
             return this;
         }
 
         IngestStats.Stats build() {
-            return new IngestStats.Stats(ingestCount.count(), ingestTimeInMillis.count(), ingestCurrent.count(), ingestFailedCount.count());
+            return new IngestStats.Stats(
+                ingestCount.count(),
+                TimeValue.timeValueNanos(ingestTimeInNanos.count()),
+                ingestCurrent.count(),
+                ingestFailedCount.count()
+            );
         }
     }
 
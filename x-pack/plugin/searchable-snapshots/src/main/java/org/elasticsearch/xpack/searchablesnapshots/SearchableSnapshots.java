@@ -305,6 +305,8 @@ public class SearchableSnapshots extends Plugin implements IndexStorePlugin, Eng
             FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING,
             FrozenCacheService.SHARED_CACHE_RANGE_SIZE_SETTING,
             FrozenCacheService.SHARED_CACHE_RECOVERY_RANGE_SIZE_SETTING,
+            FrozenCacheService.SHARED_CACHE_COALESCE_DISTANCE_SETTING,
+            FrozenCacheService.SHARED_CACHE_FETCH_PART_SIZE_SETTING,
             FrozenCacheService.SHARED_CACHE_MAX_FREQ_SETTING,
             FrozenCacheService.SHARED_CACHE_DECAY_INTERVAL_SETTING,
             FrozenCacheService.SHARED_CACHE_MIN_TIME_DELTA_SETTING,
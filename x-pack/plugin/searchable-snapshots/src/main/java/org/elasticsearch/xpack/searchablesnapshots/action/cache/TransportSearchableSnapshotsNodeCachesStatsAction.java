@@ -6,6 +6,7 @@
  */
 package org.elasticsearch.xpack.searchablesnapshots.action.cache;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionType;
 import org.elasticsearch.action.FailedNodeException;
 import org.elasticsearch.action.support.ActionFilters;
@@ -134,7 +135,10 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             frozenCacheStats.getWriteBytes(),
             frozenCacheStats.getReadCount(),
             frozenCacheStats.getReadBytes(),
-            frozenCacheStats.getEvictCount()
+            frozenCacheStats.getEvictCount(),
+            frozenCacheStats.getHitCount(),
+            frozenCacheStats.getMissCount(),
+            frozenCacheStats.getPrefetchCount()
         );
     }
 
@@ -178,6 +182,9 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
         private final long reads;
         private final long bytesRead;
         private final long evictions;
+        private final long hits;
+        private final long misses;
+        private final long prefetches;
 
         public NodeCachesStatsResponse(
             DiscoveryNode node,
@@ -188,7 +195,10 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             long bytesWritten,
             long reads,
             long bytesRead,
-            long evictions
+            long evictions,
+            long hits,
+            long misses,
+            long prefetches
         ) {
             super(node);
             this.numRegions = numRegions;
@@ -199,6 +209,9 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             this.reads = reads;
             this.bytesRead = bytesRead;
             this.evictions = evictions;
+            this.hits = hits;
+            this.misses = misses;
+            this.prefetches = prefetches;
         }
 
         public NodeCachesStatsResponse(StreamInput in) throws IOException {
@@ -211,6 +224,15 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             this.reads = in.readVLong();
             this.bytesRead = in.readVLong();
             this.evictions = in.readVLong();
+            if (in.getVersion().onOrAfter(Version.V_8_1_0)) {
+                this.hits = in.readVLong();
+                this.misses = in.readVLong();
+                this.prefetches = in.readVLong();
+            } else {
+                this.hits = 0L;
+                this.misses = 0L;
+                this.prefetches = 0L;
+            }
         }
 
         @Override
@@ -224,6 +246,11 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             out.writeVLong(reads);
             out.writeVLong(bytesRead);
             out.writeVLong(evictions);
+            if (out.getVersion().onOrAfter(Version.V_8_1_0)) {
+                out.writeVLong(hits);
+                out.writeVLong(misses);
+                out.writeVLong(prefetches);
+            }
         }
 
         @Override
@@ -237,6 +264,9 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
                     builder.field("writes", writes);
                     builder.humanReadableField("bytes_written_in_bytes", "bytes_written", ByteSizeValue.ofBytes(bytesWritten));
                     builder.field("evictions", evictions);
+                    builder.field("hits", hits);
+                    builder.field("misses", misses);
+                    builder.field("prefetches", prefetches);
                     builder.field("num_regions", numRegions);
                     builder.humanReadableField("size_in_bytes", "size", ByteSizeValue.ofBytes(size));
                     builder.humanReadableField("region_size_in_bytes", "region_size", ByteSizeValue.ofBytes(regionSize));
@@ -278,6 +308,18 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
         public long getEvictions() {
             return evictions;
         }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getPrefetches() {
+            return prefetches;
+        }
     }
 
     public static class NodesCachesStatsResponse extends BaseNodesResponse<NodeCachesStatsResponse> implements ToXContentObject {
@@ -153,38 +153,44 @@ public class PersistentCache implements Closeable {
             if (Files.exists(snapshotCacheDir) == false) {
                 continue; // searchable snapshot shard is not present on this node path, not need to run a query
             }
-            try (IndexReader indexReader = DirectoryReader.open(writer.indexWriter)) {
-                final IndexSearcher searcher = new IndexSearcher(indexReader);
-                searcher.setQueryCache(null);
-                final Weight weight = searcher.createWeight(
-                    new BooleanQuery.Builder().add(
-                        new TermQuery(new Term(SNAPSHOT_ID_FIELD, snapshotId.getUUID())),
-                        BooleanClause.Occur.MUST
-                    )
-                        .add(new TermQuery(new Term(SHARD_INDEX_ID_FIELD, shardId.getIndex().getUUID())), BooleanClause.Occur.MUST)
-                        .add(new TermQuery(new Term(SHARD_ID_FIELD, String.valueOf(shardId.getId()))), BooleanClause.Occur.MUST)
-                        .build(),
-                    ScoreMode.COMPLETE_NO_SCORES,
-                    0.0f
-                );
-                for (LeafReaderContext leafReaderContext : searcher.getIndexReader().leaves()) {
-                    final Scorer scorer = weight.scorer(leafReaderContext);
-                    if (scorer != null) {
-                        final Bits liveDocs = leafReaderContext.reader().getLiveDocs();
-                        final IntPredicate isLiveDoc = liveDocs == null ? i -> true : liveDocs::get;
-                        final DocIdSetIterator docIdSetIterator = scorer.iterator();
-                        while (docIdSetIterator.nextDoc() != DocIdSetIterator.NO_MORE_DOCS) {
-                            if (isLiveDoc.test(docIdSetIterator.docID())) {
-                                final Document document = leafReaderContext.reader().document(docIdSetIterator.docID());
-                                final String cacheFileId = getValue(document, CACHE_ID_FIELD);
-                                if (predicate.test(snapshotCacheDir.resolve(cacheFileId))) {
-                                    long size = buildCacheFileRanges(document).stream().mapToLong(ByteRange::length).sum();
-                                    logger.trace("cache file [{}] has size [{}]", getValue(document, CACHE_ID_FIELD), size);
-                                    aggregateSize += size;
+            try {
+                final DirectoryReader indexReader = writer.acquireReader();
+                try {
+                    final IndexSearcher searcher = new IndexSearcher(indexReader);
+                    searcher.setQueryCache(null);
+                    final Weight weight = searcher.createWeight(
+                        new BooleanQuery.Builder().add(
+                            new TermQuery(new Term(SNAPSHOT_ID_FIELD, snapshotId.getUUID())),
+                            BooleanClause.Occur.MUST
+                        )
+                            .add(new TermQuery(new Term(SHARD_INDEX_ID_FIELD, shardId.getIndex().getUUID())), BooleanClause.Occur.MUST)
+                            .add(new TermQuery(new Term(SHARD_ID_FIELD, String.valueOf(shardId.getId()))), BooleanClause.Occur.MUST)
+                            .build(),
+                        ScoreMode.COMPLETE_NO_SCORES,
+                        0.0f
+                    );
+                    for (LeafReaderContext leafReaderContext : searcher.getIndexReader().leaves()) {
+                        final Scorer scorer = weight.scorer(leafReaderContext);
+                        if (scorer != null) {
+                            final Bits liveDocs = leafReaderContext.reader().getLiveDocs();
+                            final IntPredicate isLiveDoc = liveDocs == null ? i -> true : liveDocs::get;
+                            final DocIdSetIterator docIdSetIterator = scorer.iterator();
+                            while (docIdSetIterator.nextDoc() != DocIdSetIterator.NO_MORE_DOCS) {
+                                if (isLiveDoc.test(docIdSetIterator.docID())) {
+                                    final Document document = leafReaderContext.reader()
+                                        .document(docIdSetIterator.docID(), SIZE_FIELDS_TO_LOAD);
+                                    final String cacheFileId = getValue(document, CACHE_ID_FIELD);
+                                    if (predicate.test(snapshotCacheDir.resolve(cacheFileId))) {
+                                        long size = buildCacheFileRanges(document).stream().mapToLong(ByteRange::length).sum();
+                                        logger.trace("cache file [{}] has size [{}]", getValue(document, CACHE_ID_FIELD), size);
+                                        aggregateSize += size;
+                                    }
                                 }
                             }
                         }
                     }
+                } finally {
+                    indexReader.decRef();
                 }
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
@@ -235,7 +241,7 @@ public class PersistentCache implements Closeable {
                                             final Document cacheDocument = documents.get(id);
                                             if (cacheDocument != null) {
                                                 logger.trace("indexing cache file with id [{}] in persistent cache index", id);
-                                                writer.updateCacheFile(id, cacheDocument);
+                                                writer.addCacheFile(id, cacheDocument);
 
                                                 final CacheKey cacheKey = buildCacheKey(cacheDocument);
                                                 final long fileLength = getFileLength(cacheDocument);
@@ -483,6 +489,8 @@ public class PersistentCache implements Closeable {
         private final IndexWriter indexWriter;
         private final Directory directory;
 
+        private DirectoryReader reader; // guarded by this, opened on first use by acquireReader()
+
         private CacheIndexWriter(NodeEnvironment.NodePath nodePath, Directory directory, IndexWriter indexWriter) {
             this.nodePath = nodePath;
             this.directory = directory;
@@ -503,6 +511,32 @@ public class PersistentCache implements Closeable {
             indexWriter.updateDocument(term, cacheFileDocument);
         }
 
+        /**
+         * Adds the document of a cache file that is known not to be in the index yet, which is cheaper than updating it.
+         */
+        void addCacheFile(String cacheFileId, Document cacheFileDocument) throws IOException {
+            logger.debug("adding document for cache file [{}]", cacheFileId);
+            indexWriter.addDocument(cacheFileDocument);
+        }
+
+        /**
+         * Returns a near-real-time reader over this index, which is only reopened if the index changed since the last call. The caller
+         * must call {@link DirectoryReader#decRef()} on the returned reader once it is done with it.
+         */
+        synchronized DirectoryReader acquireReader() throws IOException {
+            if (reader == null) {
+                reader = DirectoryReader.open(indexWriter);
+            } else {
+                final DirectoryReader newReader = DirectoryReader.openIfChanged(reader, indexWriter);
+                if (newReader != null) {
+                    reader.decRef();
+                    reader = newReader;
+                }
+            }
+            reader.incRef();
+            return reader;
+        }
+
         void deleteCacheFile(CacheFile cacheFile) throws IOException {
             deleteCacheFile(buildId(cacheFile));
         }
@@ -527,7 +561,12 @@ public class PersistentCache implements Closeable {
         @Override
         public void close() throws IOException {
             logger.debug("closing persistent cache index");
-            IOUtils.close(indexWriter, directory);
+            final DirectoryReader currentReader;
+            synchronized (this) {
+                currentReader = reader;
+                reader = null;
+            }
+            IOUtils.close(currentReader, indexWriter, directory);
         }
 
         @Override
@@ -547,6 +586,9 @@ public class PersistentCache implements Closeable {
     private static final String FILE_NAME_FIELD = "file_name";
     private static final String FILE_LENGTH_FIELD = "file_length";
 
+    // stored fields needed to compute the size of a cache file
+    private static final Set<String> SIZE_FIELDS_TO_LOAD = Set.of(CACHE_ID_FIELD, CACHE_RANGES_FIELD, FILE_LENGTH_FIELD);
+
     private static String buildId(CacheFile cacheFile) {
         return buildId(cacheFile.getFile());
     }
@@ -9,6 +9,7 @@ package org.elasticsearch.xpack.searchablesnapshots.cache.shared;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.apache.lucene.store.AlreadyClosedException;
 import org.elasticsearch.Assertions;
 import org.elasticsearch.action.ActionListener;
@@ -88,6 +89,22 @@ public class FrozenCacheService implements Releasable {
         Setting.Property.NodeScope
     );
 
+    public static final Setting<ByteSizeValue> SHARED_CACHE_COALESCE_DISTANCE_SETTING = new Setting<>(
+        SHARED_CACHE_SETTINGS_PREFIX + "coalesce_distance",
+        ByteSizeValue.ofMb(1L).getStringRep(),
+        s -> ByteSizeValue.parseBytesSizeValue(s, SHARED_CACHE_SETTINGS_PREFIX + "coalesce_distance"),
+        getPageSizeAlignedByteSizeValueValidator(SHARED_CACHE_SETTINGS_PREFIX + "coalesce_distance"),
+        Setting.Property.NodeScope
+    );
+
+    public static final Setting<ByteSizeValue> SHARED_CACHE_FETCH_PART_SIZE_SETTING = new Setting<>(
+        SHARED_CACHE_SETTINGS_PREFIX + "fetch_part_size",
+        ByteSizeValue.ofMb(4L).getStringRep(),
+        s -> ByteSizeValue.parseBytesSizeValue(s, SHARED_CACHE_SETTINGS_PREFIX + "fetch_part_size"),
+        getPositivePageSizeAlignedByteSizeValueValidator(SHARED_CACHE_SETTINGS_PREFIX + "fetch_part_size"),
+        Setting.Property.NodeScope
+    );
+
     private static Setting.Validator<ByteSizeValue> getPageSizeAlignedByteSizeValueValidator(String settingName) {
         return value -> {
             if (value.getBytes() == -1) {
@@ -242,6 +259,8 @@ public class FrozenCacheService implements Releasable {
     private final long regionSize;
     private final ByteSizeValue rangeSize;
     private final ByteSizeValue recoveryRangeSize;
+    private final long coalesceDistance;
+    private final long fetchPartSize;
 
     private final int numRegions;
     private final ConcurrentLinkedQueue<Integer> freeRegions = new ConcurrentLinkedQueue<>();
@@ -251,6 +270,8 @@ public class FrozenCacheService implements Releasable {
 
     private final AtomicReference<CacheFileRegion>[] regionOwners; // to assert exclusive access of regions
 
+    private final FrequencySketch frequencySketch; // guarded by this
+
     private final CacheDecayTask decayTask;
 
     private final LongAdder writeCount = new LongAdder();
@@ -261,6 +282,10 @@ public class FrozenCacheService implements Releasable {
 
     private final LongAdder evictCount = new LongAdder();
 
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder prefetchCount = new LongAdder();
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public FrozenCacheService(NodeEnvironment environment, Settings settings, ThreadPool threadPool) {
         this.currentTimeSupplier = threadPool::relativeTimeInMillis;
@@ -290,6 +315,7 @@ public class FrozenCacheService implements Releasable {
         this.maxFreq = SHARED_CACHE_MAX_FREQ_SETTING.get(settings);
         this.minTimeDelta = SHARED_CACHE_MIN_TIME_DELTA_SETTING.get(settings).millis();
         freqs = new Entry[maxFreq];
+        frequencySketch = new FrequencySketch(numRegions, maxFreq);
         try {
             sharedBytes = new SharedBytes(numRegions, regionSize, environment, writeBytes::add, readBytes::add);
         } catch (IOException e) {
@@ -299,6 +325,8 @@ public class FrozenCacheService implements Releasable {
         decayTask.rescheduleIfNecessary();
         this.rangeSize = SHARED_CACHE_RANGE_SIZE_SETTING.get(settings);
         this.recoveryRangeSize = SHARED_CACHE_RECOVERY_RANGE_SIZE_SETTING.get(settings);
+        this.coalesceDistance = SHARED_CACHE_COALESCE_DISTANCE_SETTING.get(settings).getBytes();
+        this.fetchPartSize = SHARED_CACHE_FETCH_PART_SIZE_SETTING.get(settings).getBytes();
     }
 
     static long calculateCacheSize(Settings settings, long totalFsSize) {
@@ -372,6 +400,10 @@ public class FrozenCacheService implements Releasable {
     }
 
     public CacheFileRegion get(CacheKey cacheKey, long fileLength, int region) {
+        return get(cacheKey, fileLength, region, false);
+    }
+
+    private CacheFileRegion get(CacheKey cacheKey, long fileLength, int region, boolean prefetch) {
         final long effectiveRegionSize = getRegionSize(fileLength, region);
         try (Releasable ignore = keyedLock.acquire(cacheKey)) {
             final RegionKey regionKey = new RegionKey(cacheKey, region);
@@ -385,25 +417,28 @@ public class FrozenCacheService implements Releasable {
                 assert entry.freq == 0;
                 assert entry.prev == null;
                 assert entry.next == null;
+                if (prefetch == false) {
+                    missCount.increment();
+                }
                 final Integer freeSlot = freeRegions.poll();
                 if (freeSlot != null) {
                     // no need to evict an item, just add
                     entry.chunk.sharedBytesPos = freeSlot;
                     assert regionOwners[freeSlot].compareAndSet(null, entry.chunk);
                     synchronized (this) {
-                        pushEntryToBack(entry);
+                        admitEntry(entry, prefetch);
                     }
                 } else {
                     // need to evict something
                     synchronized (this) {
-                        maybeEvict();
+                        maybeEvict(prefetch, now);
                     }
                     final Integer freeSlotRetry = freeRegions.poll();
                     if (freeSlotRetry != null) {
                         entry.chunk.sharedBytesPos = freeSlotRetry;
                         assert regionOwners[freeSlotRetry].compareAndSet(null, entry.chunk);
                         synchronized (this) {
-                            pushEntryToBack(entry);
+                            admitEntry(entry, prefetch);
                         }
                     } else {
                         boolean removed = keyMapping.remove(regionKey, entry);
@@ -412,12 +447,18 @@ public class FrozenCacheService implements Releasable {
                     }
                 }
             } else {
+                if (prefetch) {
+                    // the region is not being used yet so there is no reason to promote it
+                    return entry.chunk;
+                }
+                hitCount.increment();
                 // check if we need to promote item
                 synchronized (this) {
                     if (now - entry.lastAccessed >= minTimeDelta && entry.freq + 1 < maxFreq) {
                         unlink(entry);
                         entry.freq++;
                         entry.lastAccessed = now;
+                        frequencySketch.increment(regionKey.hashCode());
                         pushEntryToBack(entry);
                     }
                 }
@@ -426,6 +467,23 @@ public class FrozenCacheService implements Releasable {
         }
     }
 
+    /**
+     * Adds a new entry to the cache. Rather than starting at the lowest frequency, an entry for a region which was recently evicted
+     * resumes at the frequency it had earned before, according to the {@link FrequencySketch}. This way a region that is only read once
+     * (e.g. by a large scan) remains the first candidate for eviction, and cannot push out a frequently-used region for good. A region
+     * that is only prefetched has not been used, so its admission is not counted in the sketch.
+     */
+    private void admitEntry(final Entry<CacheFileRegion> entry, boolean prefetch) {
+        assert Thread.holdsLock(this);
+        assert entry.freq == 0;
+        final int hash = entry.chunk.regionKey.hashCode();
+        entry.freq = Math.min(Math.max(frequencySketch.frequency(hash) - 1, 0), maxFreq - 1);
+        if (prefetch == false) {
+            frequencySketch.increment(hash);
+        }
+        pushEntryToBack(entry);
+    }
+
     public void onClose(CacheFileRegion chunk) {
         assert regionOwners[chunk.sharedBytesPos].compareAndSet(chunk, null);
         freeRegions.add(chunk.sharedBytesPos);
@@ -442,6 +500,9 @@ public class FrozenCacheService implements Releasable {
             cacheSize,
             regionSize,
             evictCount.sum(),
+            hitCount.sum(),
+            missCount.sum(),
+            prefetchCount.sum(),
             writeCount.sum(),
             writeBytes.sum(),
             readCount.sum(),
@@ -478,10 +539,18 @@ public class FrozenCacheService implements Releasable {
         return true;
     }
 
-    private void maybeEvict() {
+    /**
+     * Evicts the least frequently used region, if any. A prefetch may only evict a region that was not used since it was added and
+     * that was added at least {@code minTimeDelta} ago, so that it does not push out a region that a reader has only just started on.
+     */
+    private void maybeEvict(boolean prefetch, long now) {
         assert Thread.holdsLock(this);
-        for (int i = 0; i < maxFreq; i++) {
+        final int maxFrequency = prefetch ? 1 : maxFreq;
+        for (int i = 0; i < maxFrequency; i++) {
             for (Entry<CacheFileRegion> entry = freqs[i]; entry != null; entry = entry.next) {
+                if (prefetch && now - entry.lastAccessed < minTimeDelta) {
+                    continue;
+                }
                 boolean evicted = entry.chunk.tryEvict();
                 if (evicted) {
                     unlink(entry);
@@ -635,10 +704,12 @@ public class FrozenCacheService implements Releasable {
         RegionKey(CacheKey file, int region) {
             this.file = file;
             this.region = region;
+            this.hashCode = Objects.hash(file, region);
         }
 
         final CacheKey file;
         final int region;
+        private final int hashCode;
 
         @Override
         public boolean equals(Object o) {
@@ -650,7 +721,7 @@ public class FrozenCacheService implements Releasable {
 
         @Override
         public int hashCode() {
-            return Objects.hash(file, region);
+            return hashCode;
         }
 
         @Override
@@ -659,6 +730,60 @@ public class FrozenCacheService implements Releasable {
         }
     }
 
+    /**
+     * An approximate count of how many times each region was admitted to or promoted within the cache, which also covers regions that
+     * have since been evicted. This is a count-min sketch with saturating counters that are all halved periodically, so that counts
+     * from long ago fade away. Not thread-safe.
+     */
+    static final class FrequencySketch {
+
+        private static final int DEPTH = 4;
+        private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F };
+
+        private final int[] counters;
+        private final int mask;
+        private final int maxCount;
+        private final int resetThreshold;
+        private int additions;
+
+        FrequencySketch(int numRegions, int maxCount) {
+            final int width = Math.max(16, Integer.highestOneBit(Math.max(1, numRegions - 1)) << 1);
+            this.counters = new int[width * DEPTH];
+            this.mask = width - 1;
+            this.maxCount = maxCount;
+            this.resetThreshold = width * 10;
+        }
+
+        int frequency(int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < DEPTH; i++) {
+                frequency = Math.min(frequency, counters[index(hash, i)]);
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            for (int i = 0; i < DEPTH; i++) {
+                final int index = index(hash, i);
+                if (counters[index] < maxCount) {
+                    counters[index]++;
+                }
+            }
+            if (++additions >= resetThreshold) {
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] >>>= 1;
+                }
+                additions >>>= 1;
+            }
+        }
+
+        private int index(int hash, int row) {
+            int h = hash * SEEDS[row];
+            h ^= h >>> 16;
+            return row * (mask + 1) + (h & mask);
+        }
+    }
+
     static class Entry<T> {
         final T chunk;
         Entry<T> prev;
@@ -757,45 +882,113 @@ public class FrozenCacheService implements Releasable {
                 listener.whenComplete(integer -> fileChannel.decRef(), e -> fileChannel.decRef());
                 final ActionListener<Void> rangeListener = rangeListener(rangeToRead, reader, listener, fileChannel);
                 final List<SparseFileTracker.Gap> gaps = tracker.waitForRange(rangeToWrite, rangeToRead, rangeListener);
-
-                for (SparseFileTracker.Gap gap : gaps) {
-                    executor.execute(new AbstractRunnable() {
-
-                        @Override
-                        protected void doRun() throws Exception {
-                            if (CacheFileRegion.this.tryIncRef() == false) {
-                                throw new AlreadyClosedException("Cache file channel has been released and closed");
-                            }
-                            try {
-                                ensureOpen();
-                                final long start = gap.start();
-                                assert regionOwners[sharedBytesPos].get() == CacheFileRegion.this;
-                                writer.fillCacheRange(
-                                    fileChannel,
-                                    physicalStartOffset() + gap.start(),
-                                    gap.start(),
-                                    gap.end() - gap.start(),
-                                    progress -> gap.onProgress(start + progress)
-                                );
-                                writeCount.increment();
-                            } finally {
-                                decRef();
-                            }
-                            gap.onCompletion();
-                        }
-
-                        @Override
-                        public void onFailure(Exception e) {
-                            gap.onFailure(e);
-                        }
-                    });
-                }
+                fillGaps(gaps, fileChannel, writer, executor);
             } catch (Exception e) {
                 releaseAndFail(listener, decrementRef, e);
             }
             return listener;
         }
 
+        /**
+         * Populates the given range of this region without reading from it, completing the returned listener once the range is
+         * available.
+         */
+        StepListener<Void> populate(final ByteRange rangeToWrite, final RangeMissingHandler writer, final Executor executor) {
+            final StepListener<Void> listener = new StepListener<>();
+            Releasable decrementRef = null;
+            try {
+                ensureOpen();
+                incRef();
+                decrementRef = Releasables.releaseOnce(this::decRef);
+                ensureOpen();
+                Releasable finalDecrementRef = decrementRef;
+                listener.whenComplete(ignored -> finalDecrementRef.close(), throwable -> finalDecrementRef.close());
+                final SharedBytes.IO fileChannel = sharedBytes.getFileChannel(sharedBytesPos);
+                listener.whenComplete(ignored -> fileChannel.decRef(), e -> fileChannel.decRef());
+                final List<SparseFileTracker.Gap> gaps = tracker.waitForRange(rangeToWrite, rangeToWrite, listener);
+                fillGaps(gaps, fileChannel, writer, executor);
+            } catch (Exception e) {
+                try {
+                    Releasables.close(decrementRef);
+                } catch (Exception ex) {
+                    e.addSuppressed(ex);
+                }
+                listener.onFailure(e);
+            }
+            return listener;
+        }
+
+        /**
+         * Fills the given gaps, which must be sorted and non-overlapping. Gaps that are at most {@link #coalesceDistance} apart are
+         * fetched together with a single read, also (re)writing the bytes between them, in order to reduce the number of requests made
+         * to the blob store. Each such group of gaps is then split into parts of {@link #fetchPartSize} which are fetched in parallel.
+         */
+        private void fillGaps(
+            final List<SparseFileTracker.Gap> gaps,
+            final SharedBytes.IO fileChannel,
+            final RangeMissingHandler writer,
+            final Executor executor
+        ) {
+            int groupStart = 0;
+            for (int i = 1; i <= gaps.size(); i++) {
+                if (i == gaps.size() || gaps.get(i).start() - gaps.get(i - 1).end() > coalesceDistance) {
+                    fillCoalescedGaps(gaps.subList(groupStart, i), fileChannel, writer, executor);
+                    groupStart = i;
+                }
+            }
+        }
+
+        private void fillCoalescedGaps(
+            final List<SparseFileTracker.Gap> gaps,
+            final SharedBytes.IO fileChannel,
+            final RangeMissingHandler writer,
+            final Executor executor
+        ) {
+            final long start = gaps.get(0).start();
+            final long end = gaps.get(gaps.size() - 1).end();
+            // parts other than the last one must end on a page boundary since the last write of each part is padded to a full page
+            final long partSize = start % SharedBytes.PAGE_SIZE == 0L ? fetchPartSize : end - start;
+            final int numberOfParts = Math.toIntExact((end - start + partSize - 1L) / partSize);
+            final CoalescedGapsProgress progress = new CoalescedGapsProgress(gaps, start, end, partSize, numberOfParts);
+            if (gaps.size() > 1 || numberOfParts > 1) {
+                logger.trace("filling {} gaps between [{}-{}] with [{}] reads for {}", gaps.size(), start, end, numberOfParts, regionKey);
+            }
+            for (int part = 0; part < numberOfParts; part++) {
+                final int partIndex = part;
+                final long partStart = start + part * partSize;
+                final long partLength = Math.min(end, partStart + partSize) - partStart;
+                executor.execute(new AbstractRunnable() {
+
+                    @Override
+                    protected void doRun() throws Exception {
+                        if (CacheFileRegion.this.tryIncRef() == false) {
+                            throw new AlreadyClosedException("Cache file channel has been released and closed");
+                        }
+                        try {
+                            ensureOpen();
+                            assert regionOwners[sharedBytesPos].get() == CacheFileRegion.this;
+                            writer.fillCacheRange(
+                                fileChannel,
+                                physicalStartOffset() + partStart,
+                                partStart,
+                                partLength,
+                                bytesWritten -> progress.onProgress(partIndex, bytesWritten)
+                            );
+                            writeCount.increment();
+                        } finally {
+                            decRef();
+                        }
+                        progress.onProgress(partIndex, partLength);
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        progress.onFailure(e);
+                    }
+                });
+            }
+        }
+
         private ActionListener<Void> rangeListener(
             ByteRange rangeToRead,
             RangeAvailableHandler reader,
@@ -839,6 +1032,77 @@ public class FrozenCacheService implements Releasable {
         }
     }
 
+    /**
+     * Tracks the progress of the parts of a group of coalesced gaps, which may complete in any order, and notifies each gap of the
+     * progress made on the contiguous range of bytes that were written from the start of the group.
+     */
+    private static final class CoalescedGapsProgress {
+
+        private final List<SparseFileTracker.Gap> gaps;
+        private final long start;
+        private final long end;
+        private final long partSize;
+        private final long[] partsProgress;
+
+        private int currentGap; // index of the first gap that is not completed yet
+        private long currentGapProgress; // last progress reported to the current gap
+        private boolean failed;
+
+        CoalescedGapsProgress(List<SparseFileTracker.Gap> gaps, long start, long end, long partSize, int numberOfParts) {
+            this.gaps = gaps;
+            this.start = start;
+            this.end = end;
+            this.partSize = partSize;
+            this.partsProgress = new long[numberOfParts];
+            this.currentGapProgress = gaps.get(0).start();
+        }
+
+        synchronized void onProgress(int part, long bytesWritten) {
+            if (failed) {
+                return;
+            }
+            final long partLength = Math.min(end, start + (part + 1) * partSize) - (start + part * partSize);
+            assert bytesWritten <= partLength : bytesWritten + " vs " + partLength;
+            partsProgress[part] = Math.max(partsProgress[part], bytesWritten);
+
+            long position = start;
+            for (long partProgress : partsProgress) {
+                position += partProgress;
+                if (partProgress < partSize) {
+                    break;
+                }
+            }
+            position = Math.min(position, end);
+
+            while (currentGap < gaps.size()) {
+                final SparseFileTracker.Gap gap = gaps.get(currentGap);
+                final long gapProgress = Math.min(position, gap.end());
+                if (gapProgress > currentGapProgress) {
+                    gap.onProgress(gapProgress);
+                    currentGapProgress = gapProgress;
+                }
+                if (gapProgress < gap.end()) {
+                    break;
+                }
+                gap.onCompletion();
+                currentGap += 1;
+                if (currentGap < gaps.size()) {
+                    currentGapProgress = gaps.get(currentGap).start();
+                }
+            }
+        }
+
+        synchronized void onFailure(Exception e) {
+            if (failed) {
+                return;
+            }
+            failed = true;
+            for (int i = currentGap; i < gaps.size(); i++) {
+                gaps.get(i).onFailure(e);
+            }
+        }
+    }
+
     public class FrozenCacheFile {
 
         private final CacheKey cacheKey;
@@ -908,6 +1172,52 @@ public class FrozenCacheService implements Releasable {
             return stepListener;
         }
 
+        /**
+         * Returns the range of this file covered by the cache region that contains the given position.
+         */
+        public ByteRange getRegionRange(long position) {
+            assert position >= 0L && position < length : position + " vs " + length;
+            final int region = getRegion(position);
+            return ByteRange.of(getRegionStart(region), Math.min(getRegionEnd(region), length));
+        }
+
+        /**
+         * Asynchronously populates the cache region covering the given range of this file, which must be exactly one region as
+         * returned by {@link #getRegionRange}. Allocating the region, which may evict another one, and fetching the missing data both
+         * happen on the given executor so that the caller never waits for them. Used to read ahead of sequential readers, so failures
+         * are only logged.
+         */
+        public void prefetchRegion(final ByteRange regionRange, final RangeMissingHandler writer, final Executor executor) {
+            final int region = getRegion(regionRange.start());
+            assert regionRange.equals(getRegionRange(regionRange.start())) : regionRange + " is not a region of " + this;
+            executor.execute(new AbstractRunnable() {
+                @Override
+                protected void doRun() {
+                    final CacheFileRegion fileRegion;
+                    try {
+                        fileRegion = get(cacheKey, length, region, true);
+                    } catch (AlreadyClosedException e) {
+                        logger.trace(
+                            () -> new ParameterizedMessage("unable to prefetch region [{}] of {}", region, FrozenCacheFile.this),
+                            e
+                        );
+                        return;
+                    }
+                    if (fileRegion.tracker.getAbsentRangeWithin(ByteRange.of(0L, regionRange.length())) == null) {
+                        return; // already populated
+                    }
+                    prefetchCount.increment();
+                    fileRegion.populate(ByteRange.of(0L, regionRange.length()), writer, executor)
+                        .whenComplete(ignored -> {}, this::onFailure);
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    logger.debug(() -> new ParameterizedMessage("failed to prefetch region [{}] of {}", region, FrozenCacheFile.this), e);
+                }
+            });
+        }
+
         @Override
         public String toString() {
             return "FrozenCacheFile{" + "cacheKey=" + cacheKey + ", length=" + length + '}';
@@ -933,12 +1243,15 @@ public class FrozenCacheService implements Releasable {
 
     public static class Stats {
 
-        public static final Stats EMPTY = new Stats(0, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
+        public static final Stats EMPTY = new Stats(0, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
 
         private final int numberOfRegions;
         private final long size;
         private final long regionSize;
         private final long evictCount;
+        private final long hitCount;
+        private final long missCount;
+        private final long prefetchCount;
         private final long writeCount;
         private final long writeBytes;
         private final long readCount;
@@ -949,6 +1262,9 @@ public class FrozenCacheService implements Releasable {
             long size,
             long regionSize,
             long evictCount,
+            long hitCount,
+            long missCount,
+            long prefetchCount,
             long writeCount,
             long writeBytes,
             long readCount,
@@ -958,6 +1274,9 @@ public class FrozenCacheService implements Releasable {
             this.size = size;
             this.regionSize = regionSize;
             this.evictCount = evictCount;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.prefetchCount = prefetchCount;
             this.writeCount = writeCount;
             this.writeBytes = writeBytes;
             this.readCount = readCount;
@@ -980,6 +1299,18 @@ public class FrozenCacheService implements Releasable {
             return evictCount;
         }
 
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getPrefetchCount() {
+            return prefetchCount;
+        }
+
         public long getWriteCount() {
             return writeCount;
         }
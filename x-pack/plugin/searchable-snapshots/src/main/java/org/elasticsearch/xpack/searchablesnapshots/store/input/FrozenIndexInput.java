@@ -29,6 +29,7 @@ import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.Locale;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 
@@ -38,8 +39,21 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
 
     private static final Logger logger = LogManager.getLogger(FrozenIndexInput.class);
 
+    /**
+     * The next cache region is fetched ahead of the reader once it has read at least this fraction of a region sequentially and is
+     * within this fraction of a region from the end of the current one.
+     */
+    private static final int PREFETCH_REGION_FRACTION = 4;
+
     private final FrozenCacheFile frozenCacheFile;
 
+    // the absolute position at which the last read ended, used to detect sequential reads
+    private long lastReadEnd = -1L;
+    // the number of bytes read sequentially up to lastReadEnd
+    private long sequentialBytes;
+    // the absolute position of the last region that was prefetched, shared with clones and slices to avoid prefetching it again
+    private final AtomicLong lastPrefetchedRegionStart;
+
     public FrozenIndexInput(
         String name,
         SearchableSnapshotDirectory directory,
@@ -60,6 +74,7 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
             fileInfo.length(),
             new CacheFileReference(directory, fileInfo.physicalName(), fileInfo.length()),
             directory.getFrozenCacheFile(name, fileInfo.length()),
+            new AtomicLong(-1L),
             rangeSize,
             recoveryRangeSize,
             directory.getBlobCacheByteRange(name, fileInfo.length()),
@@ -79,6 +94,7 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
         long length,
         CacheFileReference cacheFileReference,
         FrozenCacheFile frozenCacheFile,
+        AtomicLong lastPrefetchedRegionStart,
         int defaultRangeSize,
         int recoveryRangeSize,
         ByteRange headerBlobCacheByteRange,
@@ -101,6 +117,7 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
             footerBlobCacheByteRange
         );
         this.frozenCacheFile = frozenCacheFile;
+        this.lastPrefetchedRegionStart = lastPrefetchedRegionStart;
     }
 
     @Override
@@ -130,6 +147,8 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
 
         logger.trace("readInternal: read [{}-{}] ([{}] bytes) from [{}]", position, position + length, length, this);
 
+        maybePrefetchNextRegion(position, length);
+
         try {
             final ByteRange startRangeToWrite = computeRange(position);
             final ByteRange endRangeToWrite = computeRange(position + length - 1);
@@ -176,6 +195,42 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
         }
     }
 
+    /**
+     * Once this input has been read sequentially for a while and the reader gets close to the end of a cache region, fetches the region
+     * that follows it in the background so that the reader does not have to wait for the blob store when it gets there.
+     */
+    private void maybePrefetchNextRegion(long position, int length) {
+        if (position == lastReadEnd) {
+            sequentialBytes += length;
+        } else {
+            sequentialBytes = length;
+        }
+        lastReadEnd = position + length;
+        if (directory.isRecoveryFinalized() == false) {
+            return;
+        }
+
+        final ByteRange currentRegionRange = frozenCacheFile.getRegionRange(lastReadEnd - 1L);
+        final long threshold = currentRegionRange.length() / PREFETCH_REGION_FRACTION;
+        if (sequentialBytes < threshold || currentRegionRange.end() - lastReadEnd > threshold) {
+            return;
+        }
+
+        final long nextRegionStart = currentRegionRange.end();
+        if (nextRegionStart >= offset + length() || lastPrefetchedRegionStart.getAndSet(nextRegionStart) == nextRegionStart) {
+            return;
+        }
+
+        final ByteRange regionRange = frozenCacheFile.getRegionRange(nextRegionStart);
+        logger.trace("prefetching region [{}] of [{}]", regionRange, this);
+        frozenCacheFile.prefetchRegion(regionRange, (channel, channelPos, relativePos, len, progressUpdater) -> {
+            final long startTimeNanos = stats.currentTimeNanos();
+            try (InputStream input = openInputStreamFromBlobStore(regionRange.start() + relativePos, len)) {
+                writeCacheFile(channel, input, channelPos, relativePos, len, progressUpdater, startTimeNanos);
+            }
+        }, directory.cacheFetchAsyncExecutor());
+    }
+
     private static int positionalWrite(SharedBytes.IO fc, long start, ByteBuffer byteBuffer) throws IOException {
         assert assertCurrentThreadMayWriteCacheFile();
         byteBuffer.flip();
@@ -352,7 +407,11 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
 
     @Override
     public FrozenIndexInput clone() {
-        return (FrozenIndexInput) super.clone();
+        final FrozenIndexInput clone = (FrozenIndexInput) super.clone();
+        // clones are read independently of each other, so each one detects its own sequential reads
+        clone.lastReadEnd = -1L;
+        clone.sequentialBytes = 0L;
+        return clone;
     }
 
     @Override
@@ -407,6 +466,7 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
             sliceLength,
             cacheFileReference,
             frozenCacheFile,
+            lastPrefetchedRegionStart,
             defaultRangeSize,
             recoveryRangeSize,
             sliceHeaderByteRange,
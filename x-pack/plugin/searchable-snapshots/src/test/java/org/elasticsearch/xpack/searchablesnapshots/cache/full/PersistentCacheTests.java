@@ -10,6 +10,7 @@ package org.elasticsearch.xpack.searchablesnapshots.cache.full;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.mockfile.FilterFileChannel;
 import org.apache.lucene.mockfile.FilterFileSystemProvider;
 import org.apache.lucene.mockfile.FilterPath;
@@ -146,6 +147,36 @@ public class PersistentCacheTests extends AbstractSearchableSnapshotsTestCase {
         }
     }
 
+    public void testCacheIndexWriterReusesReaderUntilIndexChanges() throws Exception {
+        final NodeEnvironment.NodePath nodePath = randomFrom(nodeEnvironment.nodePaths());
+        try (PersistentCache.CacheIndexWriter writer = createCacheIndexWriter(nodePath)) {
+            final Document document = new Document();
+            document.add(new StringField("cache_id", "0", Field.Store.YES));
+            writer.addCacheFile("0", document);
+
+            final DirectoryReader reader = writer.acquireReader();
+            try {
+                assertThat(reader.numDocs(), equalTo(1));
+                final DirectoryReader sameReader = writer.acquireReader();
+                assertThat(sameReader, sameInstance(reader));
+                sameReader.decRef();
+
+                writer.deleteCacheFile("0");
+                final DirectoryReader newReader = writer.acquireReader();
+                try {
+                    assertThat(newReader, not(sameInstance(reader)));
+                    assertThat(newReader.numDocs(), equalTo(0));
+                } finally {
+                    newReader.decRef();
+                }
+                // the previous reader remains usable until released
+                assertThat(reader.numDocs(), equalTo(1));
+            } finally {
+                reader.decRef();
+            }
+        }
+    }
+
     public void testRepopulateCache() throws Exception {
         final CacheService cacheService = defaultCacheService();
         cacheService.setCacheSyncInterval(TimeValue.ZERO);
@@ -7,6 +7,7 @@
 
 package org.elasticsearch.xpack.searchablesnapshots.cache.shared;
 
+import org.elasticsearch.action.StepListener;
 import org.elasticsearch.cluster.node.DiscoveryNodeRole;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
@@ -29,6 +30,7 @@ import org.elasticsearch.xpack.searchablesnapshots.cache.common.CacheKey;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService.CacheFileRegion;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -209,6 +211,169 @@ public class FrozenCacheServiceTests extends ESTestCase {
         }
     }
 
+    public void testReadmissionUsesAccessFrequency() throws IOException {
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(500)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        try (
+            NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings));
+            FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool())
+        ) {
+            final CacheKey cacheKey = generateCacheKey();
+            final CacheFileRegion region0 = cacheService.get(cacheKey, size(250), 0);
+            assertEquals(0, cacheService.getFreq(region0));
+
+            taskQueue.advanceTime();
+            taskQueue.runAllRunnableTasks();
+            assertSame(region0, cacheService.get(cacheKey, size(250), 0));
+            assertEquals(1, cacheService.getFreq(region0));
+
+            // a region that was evicted after being accessed repeatedly is re-admitted with its previous frequency
+            cacheService.removeFromCache(cacheKey);
+            assertTrue(region0.isEvicted());
+            final CacheFileRegion region0Again = cacheService.get(cacheKey, size(250), 0);
+            assertNotSame(region0, region0Again);
+            assertEquals(1, cacheService.getFreq(region0Again));
+
+            // a region seen for the first time starts at the bottom
+            final CacheFileRegion region1 = cacheService.get(cacheKey, size(250), 1);
+            assertEquals(0, cacheService.getFreq(region1));
+
+            final FrozenCacheService.Stats stats = cacheService.getStats();
+            assertEquals(1L, stats.getHitCount());
+            assertEquals(3L, stats.getMissCount());
+            assertEquals(0L, stats.getPrefetchCount());
+        }
+    }
+
+    public void testPrefetchOnlyEvictsUnusedRegionsAndIsNotCounted() throws IOException {
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(200)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        try (
+            NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings));
+            FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool())
+        ) {
+            final CacheKey cacheKey = generateCacheKey();
+            final long fileLength = size(400);
+            final FrozenCacheService.FrozenCacheFile cacheFile = cacheService.getFrozenCacheFile(cacheKey, fileLength);
+            final FrozenCacheService.RangeMissingHandler writer = (channel, channelPos, relativePos, length, progressUpdater) -> {
+                progressUpdater.accept(length);
+            };
+            final ThreadPool threadPool = taskQueue.getThreadPool();
+
+            final CacheFileRegion region0 = cacheService.get(cacheKey, fileLength, 0);
+            final CacheFileRegion region1 = cacheService.get(cacheKey, fileLength, 1);
+            taskQueue.advanceTime();
+            taskQueue.runAllRunnableTasks();
+            assertSame(region0, cacheService.get(cacheKey, fileLength, 0));
+            assertSame(region1, cacheService.get(cacheKey, fileLength, 1));
+            assertEquals(1, cacheService.getFreq(region0));
+            assertEquals(1, cacheService.getFreq(region1));
+
+            // the cache is full of regions that were used more than once, so a prefetch does not evict any of them
+            cacheFile.prefetchRegion(cacheFile.getRegionRange(size(200)), writer, threadPool.generic());
+            taskQueue.runAllRunnableTasks();
+            assertFalse(region0.isEvicted());
+            assertFalse(region1.isEvicted());
+            assertEquals(0L, cacheService.getStats().getPrefetchCount());
+
+            // but a read does
+            final CacheFileRegion region2 = cacheService.get(cacheKey, fileLength, 2);
+            assertTrue(region0.isEvicted() || region1.isEvicted());
+            assertEquals(0, cacheService.getFreq(region2));
+
+            // a prefetch does not evict a region that was only used once if it was added within the min time delta
+            cacheFile.prefetchRegion(cacheFile.getRegionRange(size(300)), writer, threadPool.generic());
+            assertFalse("the prefetch runs on the given executor", region2.isEvicted());
+            taskQueue.runAllRunnableTasks();
+            assertFalse(region2.isEvicted());
+            assertEquals(0L, cacheService.getStats().getPrefetchCount());
+
+            // but it may evict it once the min time delta has elapsed
+            taskQueue.advanceTime();
+            taskQueue.runAllRunnableTasks();
+            cacheFile.prefetchRegion(cacheFile.getRegionRange(size(300)), writer, threadPool.generic());
+            taskQueue.runAllRunnableTasks();
+            assertTrue(region2.isEvicted());
+            assertEquals(1L, cacheService.getStats().getPrefetchCount());
+
+            // prefetching a region repeatedly does not count as using it
+            cacheService.removeFromCache(cacheKey);
+            cacheFile.prefetchRegion(cacheFile.getRegionRange(size(300)), writer, threadPool.generic());
+            taskQueue.runAllRunnableTasks();
+            cacheService.removeFromCache(cacheKey);
+            final CacheFileRegion region3 = cacheService.get(cacheKey, fileLength, 3);
+            assertEquals(0, cacheService.getFreq(region3));
+
+            final FrozenCacheService.Stats stats = cacheService.getStats();
+            assertEquals(2L, stats.getHitCount());
+            assertEquals(4L, stats.getMissCount());
+            assertEquals(2L, stats.getPrefetchCount());
+        }
+    }
+
+    public void testCoalescesAndSplitsGaps() throws Exception {
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(500)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_COALESCE_DISTANCE_SETTING.getKey(), new ByteSizeValue(size(2)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_FETCH_PART_SIZE_SETTING.getKey(), new ByteSizeValue(size(20)).getStringRep())
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        try (
+            NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings));
+            FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool())
+        ) {
+            final CacheFileRegion region = cacheService.get(generateCacheKey(), size(250), 0);
+            final List<ByteRange> reads = new ArrayList<>();
+            final FrozenCacheService.RangeMissingHandler writer = (channel, channelPos, relativePos, length, progressUpdater) -> {
+                reads.add(ByteRange.of(relativePos, relativePos + length));
+                progressUpdater.accept(length);
+            };
+            final ThreadPool threadPool = taskQueue.getThreadPool();
+
+            // populate a couple of ranges so that the next populate has gaps at various distances from each other
+            region.populate(ByteRange.of(size(10), size(11)), writer, threadPool.generic());
+            region.populate(ByteRange.of(size(30), size(35)), writer, threadPool.generic());
+            taskQueue.runAllRunnableTasks();
+            reads.clear();
+
+            final StepListener<Void> listener = region.populate(ByteRange.of(0L, size(80)), writer, threadPool.generic());
+            while (taskQueue.hasRunnableTasks()) {
+                assertFalse(listener.asFuture().isDone());
+                taskQueue.runRandomTask();
+            }
+            assertTrue(listener.asFuture().isDone());
+            listener.result();
+
+            // the gaps [0-10] and [11-30] are only one page apart so they are read together, and split in parts of 20 pages
+            assertThat(
+                reads.stream().sorted().collect(Collectors.toList()),
+                equalTo(
+                    List.of(
+                        ByteRange.of(0L, size(20)),
+                        ByteRange.of(size(20), size(30)),
+                        ByteRange.of(size(35), size(55)),
+                        ByteRange.of(size(55), size(75)),
+                        ByteRange.of(size(75), size(80))
+                    )
+                )
+            );
+            assertNull(region.tracker.getAbsentRangeWithin(ByteRange.of(0L, size(80))));
+        }
+    }
+
     public void testCacheSizeRejectedOnNonFrozenNodes() {
         String cacheSize = randomBoolean() ? new ByteSizeValue(size(500)).getStringRep() : new RatioValue(between(1, 100)).toString();
         final Settings settings = Settings.builder()
@@ -7,6 +7,7 @@
 
 package org.elasticsearch.xpack.searchablesnapshots.store.input;
 
+import org.apache.lucene.store.IOContext;
 import org.apache.lucene.store.IndexInput;
 import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionListener;
@@ -39,6 +40,7 @@ import java.nio.file.Path;
 import java.util.List;
 
 import static org.elasticsearch.xpack.searchablesnapshots.cache.full.CacheService.resolveSnapshotCache;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
 
 public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
@@ -124,6 +126,70 @@ public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
         }
     }
 
+    public void testSequentialReadsPrefetchNextRegion() throws Exception {
+        final String fileName = randomAlphaOfLength(5) + randomFileExtension();
+        final ByteSizeValue regionSize = new ByteSizeValue(SharedBytes.PAGE_SIZE);
+        final Tuple<String, byte[]> bytes = randomChecksumBytes(Math.toIntExact(randomIntBetween(8, 16) * regionSize.getBytes()));
+
+        final byte[] fileData = bytes.v2();
+        final FileInfo fileInfo = new FileInfo(
+            randomAlphaOfLength(10),
+            new StoreFileMetadata(fileName, fileData.length, bytes.v1(), Version.CURRENT.luceneVersion.toString()),
+            new ByteSizeValue(fileData.length)
+        );
+
+        final Settings settings = Settings.builder()
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), regionSize)
+            .put(FrozenCacheService.SHARED_CACHE_RANGE_SIZE_SETTING.getKey(), regionSize)
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(32L * regionSize.getBytes()))
+            .put("path.home", createTempDir())
+            .build();
+        final Environment environment = TestEnvironment.newEnvironment(settings);
+        for (Path path : environment.dataFiles()) {
+            Files.createDirectories(path);
+        }
+        SnapshotId snapshotId = new SnapshotId("_name", "_uuid");
+        final Path shardDir = randomShardPath(SHARD_ID);
+        final ShardPath shardPath = new ShardPath(false, shardDir, shardDir, SHARD_ID);
+        final Path cacheDir = Files.createDirectories(resolveSnapshotCache(shardDir).resolve(snapshotId.getUUID()));
+        try (
+            NodeEnvironment nodeEnvironment = new NodeEnvironment(settings, environment);
+            FrozenCacheService frozenCacheService = new FrozenCacheService(nodeEnvironment, settings, threadPool);
+            CacheService cacheService = randomCacheService();
+            TestSearchableSnapshotDirectory directory = new TestSearchableSnapshotDirectory(
+                frozenCacheService,
+                cacheService,
+                fileInfo,
+                snapshotId,
+                fileData,
+                shardPath,
+                cacheDir
+            )
+        ) {
+            cacheService.start();
+            directory.loadSnapshot(createRecoveryState(true), ActionListener.wrap(() -> {}));
+
+            final IndexInput indexInput = directory.openInput(fileName, IOContext.DEFAULT);
+            assertThat(indexInput, instanceOf(FrozenIndexInput.class));
+            assertEquals(0L, frozenCacheService.getStats().getPrefetchCount());
+
+            // reading byte by byte makes the input refill its buffer with sequential reads
+            final byte[] result = new byte[fileData.length];
+            final int firstRegionLength = Math.toIntExact(regionSize.getBytes());
+            for (int i = 0; i < firstRegionLength; i++) {
+                result[i] = indexInput.readByte();
+            }
+            // the reader is at the end of the first region, so a region ahead of it is fetched in the background
+            assertBusy(() -> assertThat(frozenCacheService.getStats().getPrefetchCount(), greaterThan(0L)));
+
+            for (int i = firstRegionLength; i < result.length; i++) {
+                result[i] = indexInput.readByte();
+            }
+            assertArrayEquals(fileData, result);
+            indexInput.close();
+        }
+    }
+
     private class TestSearchableSnapshotDirectory extends SearchableSnapshotDirectory {
 
         TestSearchableSnapshotDirectory(
@@ -9,6 +9,8 @@ package org.elasticsearch.xpack.vectors.action;
 
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.common.Strings;
+import org.elasticsearch.index.query.AbstractQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.StoredFieldsContext;
@@ -37,11 +39,18 @@ class KnnSearchRequestBuilder {
     static final String ROUTING_PARAM = "routing";
 
     static final ParseField KNN_SECTION_FIELD = new ParseField("knn");
+    static final ParseField FILTER_FIELD = new ParseField("filter");
     private static final ObjectParser<KnnSearchRequestBuilder, Void> PARSER;
 
     static {
         PARSER = new ObjectParser<>("knn-search");
         PARSER.declareField(KnnSearchRequestBuilder::knnSearch, KnnSearch::parse, KNN_SECTION_FIELD, ObjectParser.ValueType.OBJECT);
+        PARSER.declareFieldArray(
+            KnnSearchRequestBuilder::filter,
+            (p, c) -> AbstractQueryBuilder.parseInnerQueryBuilder(p),
+            FILTER_FIELD,
+            ObjectParser.ValueType.OBJECT_ARRAY
+        );
         PARSER.declareField(
             (p, request, c) -> request.fetchSource(FetchSourceContext.fromXContent(p)),
             SearchSourceBuilder._SOURCE_FIELD,
@@ -86,6 +95,7 @@ class KnnSearchRequestBuilder {
     private final String[] indices;
     private String routing;
     private KnnSearch knnSearch;
+    private List<QueryBuilder> filters;
 
     private FetchSourceContext fetchSource;
     private List<FieldAndFormat> fields;
@@ -103,6 +113,14 @@ class KnnSearchRequestBuilder {
         this.knnSearch = knnSearch;
     }
 
+    /**
+     * Defines the queries that all hits must match. They are applied during the kNN search, so that the search
+     * still finds the requested number of nearest neighbors among the matching documents.
+     */
+    private void filter(List<QueryBuilder> filters) {
+        this.filters = filters;
+    }
+
     /**
      * A comma separated list of routing values to control the shards the search will be executed on.
      */
@@ -152,7 +170,7 @@ class KnnSearchRequestBuilder {
         if (knnSearch == null) {
             throw new IllegalArgumentException("missing required [" + KNN_SECTION_FIELD.getPreferredName() + "] section in search body");
         }
-        knnSearch.build(sourceBuilder);
+        knnSearch.build(sourceBuilder, filters == null ? List.of() : filters);
 
         sourceBuilder.fetchSource(fetchSource);
         sourceBuilder.storedFields(storedFields);
@@ -221,7 +239,7 @@ class KnnSearchRequestBuilder {
             this.numCands = numCands;
         }
 
-        void build(SearchSourceBuilder builder) {
+        void build(SearchSourceBuilder builder, List<QueryBuilder> filters) {
             // We perform validation here instead of the constructor because it makes the errors
             // much clearer. Otherwise, the error message is deeply nested under parsing exceptions.
             if (k < 1) {
@@ -236,7 +254,7 @@ class KnnSearchRequestBuilder {
                 throw new IllegalArgumentException("[" + NUM_CANDS_FIELD.getPreferredName() + "] cannot exceed [" + NUM_CANDS_LIMIT + "]");
             }
 
-            builder.query(new KnnVectorQueryBuilder(field, queryVector, numCands));
+            builder.query(new KnnVectorQueryBuilder(field, queryVector, numCands).addFilterQueries(filters));
             builder.size(k);
         }
 
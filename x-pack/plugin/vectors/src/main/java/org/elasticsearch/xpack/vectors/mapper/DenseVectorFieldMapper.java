@@ -39,6 +39,7 @@ import org.elasticsearch.search.lookup.SearchLookup;
 import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser.Token;
+import org.elasticsearch.xpack.vectors.query.FilteredKnnVectorQuery;
 import org.elasticsearch.xpack.vectors.query.KnnVectorFieldExistsQuery;
 import org.elasticsearch.xpack.vectors.query.VectorIndexFieldData;
 
@@ -302,6 +303,23 @@ public class DenseVectorFieldMapper extends FieldMapper implements PerFieldKnnVe
         }
 
         public KnnVectorQuery createKnnQuery(float[] queryVector, int numCands) {
+            checkKnnQuery(queryVector);
+            return new KnnVectorQuery(name(), queryVector, numCands);
+        }
+
+        /**
+         * Creates a kNN query whose hits all match the given filter. The filter is applied while searching the
+         * vectors, so the query still returns {@code numCands} hits per shard if enough documents match the filter.
+         */
+        public Query createKnnQuery(float[] queryVector, int numCands, Query filter) {
+            if (filter == null) {
+                return createKnnQuery(queryVector, numCands);
+            }
+            checkKnnQuery(queryVector);
+            return new FilteredKnnVectorQuery(name(), queryVector, numCands, filter, similarity.function);
+        }
+
+        private void checkKnnQuery(float[] queryVector) {
             if (isIndexed() == false) {
                 throw new IllegalArgumentException(
                     "to perform knn search on field [" + name() + "], its mapping must have [index] set to [true]"
@@ -321,7 +339,6 @@ public class DenseVectorFieldMapper extends FieldMapper implements PerFieldKnnVe
                 }
                 checkVectorMagnitude(queryVector, squaredMagnitude);
             }
-            return new KnnVectorQuery(name(), queryVector, numCands);
         }
 
         private void checkVectorMagnitude(float[] vector, float squaredMagnitude) {
@@ -11,11 +11,19 @@ import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.Version;
 import org.elasticsearch.xpack.vectors.query.DenseVectorScriptDocValues;
 
-import java.nio.ByteBuffer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 
 public final class VectorEncoderDecoder {
     public static final byte INT_BYTES = 4;
 
+    /**
+     * Reads the big-endian floats of an encoded vector straight out of its bytes. Unlike wrapping the bytes in a
+     * {@link java.nio.ByteBuffer}, this allocates nothing, and the JIT compiles each read to a single load.
+     */
+    private static final VarHandle BIG_ENDIAN_FLOAT = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.BIG_ENDIAN);
+
     private VectorEncoderDecoder() {}
 
     public static int denseVectorLength(Version indexVersion, BytesRef vectorBR) {
@@ -29,8 +37,7 @@ public final class VectorEncoderDecoder {
      */
     public static float decodeMagnitude(Version indexVersion, BytesRef vectorBR) {
         assert indexVersion.onOrAfter(Version.V_7_5_0);
-        ByteBuffer byteBuffer = ByteBuffer.wrap(vectorBR.bytes, vectorBR.offset, vectorBR.length);
-        return byteBuffer.getFloat(vectorBR.offset + vectorBR.length - INT_BYTES);
+        return (float) BIG_ENDIAN_FLOAT.get(vectorBR.bytes, vectorBR.offset + vectorBR.length - INT_BYTES);
     }
 
     /**
@@ -38,10 +45,9 @@ public final class VectorEncoderDecoder {
      */
     private static float calculateMagnitude(Version indexVersion, BytesRef vectorBR) {
         final int length = denseVectorLength(indexVersion, vectorBR);
-        ByteBuffer byteBuffer = ByteBuffer.wrap(vectorBR.bytes, vectorBR.offset, vectorBR.length);
         double magnitude = 0.0f;
         for (int i = 0; i < length; i++) {
-            float value = byteBuffer.getFloat();
+            float value = decodeFloat(vectorBR, i);
             magnitude += value * value;
         }
         magnitude = Math.sqrt(magnitude);
@@ -68,10 +74,55 @@ public final class VectorEncoderDecoder {
         if (vectorBR == null) {
             throw new IllegalArgumentException(DenseVectorScriptDocValues.MISSING_VECTOR_FIELD_MESSAGE);
         }
-        ByteBuffer byteBuffer = ByteBuffer.wrap(vectorBR.bytes, vectorBR.offset, vectorBR.length);
         for (int dim = 0; dim < vector.length; dim++) {
-            vector[dim] = byteBuffer.getFloat();
+            vector[dim] = decodeFloat(vectorBR, dim);
+        }
+    }
+
+    /**
+     * Decodes the value of the given dimension of a dense vector encoded in a BytesRef
+     */
+    public static float decodeFloat(BytesRef vectorBR, int dim) {
+        return (float) BIG_ENDIAN_FLOAT.get(vectorBR.bytes, vectorBR.offset + dim * INT_BYTES);
+    }
+
+    /*
+     * The functions below compare a query vector to an encoded vector without decoding it into a float[] first. They sum
+     * strictly from the first dimension to the last, like the ByteBuffer loops they replace, so scores don't change.
+     */
+
+    /**
+     * Calculates the dot product of a query vector and a dense vector encoded in a BytesRef
+     */
+    public static double dotProduct(BytesRef vectorBR, float[] queryVector) {
+        double dotProduct = 0;
+        for (int dim = 0; dim < queryVector.length; dim++) {
+            dotProduct += queryVector[dim] * decodeFloat(vectorBR, dim);
+        }
+        return dotProduct;
+    }
+
+    /**
+     * Calculates the l1 norm (Manhattan distance) between a query vector and a dense vector encoded in a BytesRef
+     */
+    public static double l1Norm(BytesRef vectorBR, float[] queryVector) {
+        double l1norm = 0;
+        for (int dim = 0; dim < queryVector.length; dim++) {
+            l1norm += Math.abs(queryVector[dim] - decodeFloat(vectorBR, dim));
+        }
+        return l1norm;
+    }
+
+    /**
+     * Calculates the l2 norm (Euclidean distance) between a query vector and a dense vector encoded in a BytesRef
+     */
+    public static double l2Norm(BytesRef vectorBR, float[] queryVector) {
+        double l2norm = 0;
+        for (int dim = 0; dim < queryVector.length; dim++) {
+            double diff = queryVector[dim] - decodeFloat(vectorBR, dim);
+            l2norm += diff * diff;
         }
+        return Math.sqrt(l2norm);
     }
 
 }
@@ -0,0 +1,363 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.vectors.query;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.index.VectorValues;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.Explanation;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.util.BitSetIterator;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.FixedBitSet;
+import org.apache.lucene.util.PriorityQueue;
+import org.apache.lucene.util.VectorUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A kNN query that only returns documents matching a filter. Unlike post-filtering the hits of a kNN search, which may
+ * return fewer than {@code k} hits, the filter is applied while searching: for each segment the matching documents are
+ * collected into a bitset once, and the HNSW graph search only accepts documents in that bitset as neighbors. When the
+ * filter matches at most {@code k} documents of a segment, walking the graph is more expensive than scoring those
+ * documents directly, so their vectors are compared to the query vector exhaustively instead.
+ * <p>
+ * Like Lucene's {@link org.apache.lucene.search.KnnVectorQuery}, the search happens when the query is rewritten, and the
+ * query rewrites to a query that matches the top {@code k} documents with their scores.
+ */
+public class FilteredKnnVectorQuery extends Query {
+
+    private final String field;
+    private final float[] target;
+    private final int k;
+    private final Query filter;
+    private final VectorSimilarityFunction similarityFunction;
+
+    public FilteredKnnVectorQuery(String field, float[] target, int k, Query filter, VectorSimilarityFunction similarityFunction) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1, got: " + k);
+        }
+        this.field = Objects.requireNonNull(field);
+        this.target = Objects.requireNonNull(target);
+        this.k = k;
+        this.filter = Objects.requireNonNull(filter);
+        this.similarityFunction = Objects.requireNonNull(similarityFunction);
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public float[] getTarget() {
+        return target;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public Query getFilter() {
+        return filter;
+    }
+
+    @Override
+    public Query rewrite(IndexReader reader) throws IOException {
+        IndexSearcher searcher = new IndexSearcher(reader);
+        searcher.setQueryCache(null);
+        Weight filterWeight = searcher.createWeight(searcher.rewrite(filter), ScoreMode.COMPLETE_NO_SCORES, 1f);
+
+        List<ScoreDoc> hits = new ArrayList<>();
+        for (LeafReaderContext context : reader.leaves()) {
+            for (ScoreDoc scoreDoc : searchLeaf(context, filterWeight)) {
+                hits.add(new ScoreDoc(scoreDoc.doc + context.docBase, scoreDoc.score));
+            }
+        }
+        if (hits.isEmpty()) {
+            return new MatchNoDocsQuery();
+        }
+        hits.sort(Comparator.comparingDouble((ScoreDoc scoreDoc) -> scoreDoc.score).reversed().thenComparingInt(scoreDoc -> scoreDoc.doc));
+        return new DocAndScoreQuery(hits.subList(0, Math.min(k, hits.size())));
+    }
+
+    private ScoreDoc[] searchLeaf(LeafReaderContext context, Weight filterWeight) throws IOException {
+        Scorer filterScorer = filterWeight.scorer(context);
+        if (filterScorer == null) {
+            return new ScoreDoc[0];
+        }
+
+        Bits liveDocs = context.reader().getLiveDocs();
+        FixedBitSet acceptDocs = new FixedBitSet(context.reader().maxDoc());
+        int cost = 0;
+        DocIdSetIterator iterator = filterScorer.iterator();
+        for (int doc = iterator.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = iterator.nextDoc()) {
+            if (liveDocs == null || liveDocs.get(doc)) {
+                acceptDocs.set(doc);
+                cost++;
+            }
+        }
+
+        if (cost <= k) {
+            return exactSearch(context, new BitSetIterator(acceptDocs, cost));
+        }
+        TopDocs results = context.reader().searchNearestVectors(field, target, k, acceptDocs);
+        if (results == null) {
+            return new ScoreDoc[0];
+        }
+        if (results.scoreDocs.length < k) {
+            // the graph search can stop early when few of the explored neighbors pass the filter
+            return exactSearch(context, new BitSetIterator(acceptDocs, cost));
+        }
+        return results.scoreDocs;
+    }
+
+    private ScoreDoc[] exactSearch(LeafReaderContext context, DocIdSetIterator acceptIterator) throws IOException {
+        VectorValues vectorValues = context.reader().getVectorValues(field);
+        if (vectorValues == null) {
+            return new ScoreDoc[0];
+        }
+
+        PriorityQueue<ScoreDoc> queue = new PriorityQueue<>(k) {
+            @Override
+            protected boolean lessThan(ScoreDoc a, ScoreDoc b) {
+                return a.score < b.score || (a.score == b.score && a.doc > b.doc);
+            }
+        };
+        for (int doc = acceptIterator.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = acceptIterator.nextDoc()) {
+            int vectorDoc = vectorValues.docID();
+            if (vectorDoc < doc) {
+                vectorDoc = vectorValues.advance(doc);
+            }
+            if (vectorDoc == DocIdSetIterator.NO_MORE_DOCS) {
+                break;
+            }
+            if (vectorDoc == doc) {
+                queue.insertWithOverflow(new ScoreDoc(doc, score(vectorValues.vectorValue())));
+            }
+        }
+
+        ScoreDoc[] topDocs = new ScoreDoc[queue.size()];
+        for (int i = topDocs.length - 1; i >= 0; i--) {
+            topDocs[i] = queue.pop();
+        }
+        return topDocs;
+    }
+
+    /**
+     * Scores a vector the same way as the HNSW graph search does, so that the scores of segments that were searched
+     * exhaustively are comparable to the scores of segments whose graph was searched.
+     */
+    private float score(float[] vector) {
+        switch (similarityFunction) {
+            case EUCLIDEAN:
+                return 1 / (1 + VectorUtil.squareDistance(target, vector));
+            case DOT_PRODUCT:
+                return (1 + VectorUtil.dotProduct(target, vector)) / 2;
+            case COSINE:
+                return (1 + VectorUtil.cosine(target, vector)) / 2;
+            default:
+                throw new IllegalStateException("unsupported similarity function [" + similarityFunction + "]");
+        }
+    }
+
+    @Override
+    public void visit(QueryVisitor visitor) {
+        if (visitor.acceptField(field)) {
+            visitor.visitLeaf(this);
+        }
+        filter.visit(visitor.getSubVisitor(BooleanClause.Occur.FILTER, this));
+    }
+
+    @Override
+    public String toString(String field) {
+        return "FilteredKnnVectorQuery [field=" + this.field + ", k=" + k + ", filter=" + filter.toString(field) + "]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (sameClassAs(other) == false) {
+            return false;
+        }
+        FilteredKnnVectorQuery that = (FilteredKnnVectorQuery) other;
+        return k == that.k
+            && field.equals(that.field)
+            && Arrays.equals(target, that.target)
+            && filter.equals(that.filter)
+            && similarityFunction == that.similarityFunction;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(classHash(), field, k, Arrays.hashCode(target), filter, similarityFunction);
+    }
+
+    /**
+     * Matches a fixed set of documents, identified by their top-level doc id, with fixed scores.
+     */
+    static class DocAndScoreQuery extends Query {
+        private final int[] docs;
+        private final float[] scores;
+
+        DocAndScoreQuery(List<ScoreDoc> scoreDocs) {
+            List<ScoreDoc> sorted = new ArrayList<>(scoreDocs);
+            sorted.sort(Comparator.comparingInt(scoreDoc -> scoreDoc.doc));
+            this.docs = new int[sorted.size()];
+            this.scores = new float[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                docs[i] = sorted.get(i).doc;
+                scores[i] = sorted.get(i).score;
+            }
+        }
+
+        /**
+         * The index of the first document whose top-level doc id is greater than or equal to {@code doc}.
+         */
+        private int lowerBound(int doc) {
+            int index = Arrays.binarySearch(docs, doc);
+            return index >= 0 ? index : -1 - index;
+        }
+
+        @Override
+        public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) {
+            return new Weight(this) {
+                @Override
+                public Explanation explain(LeafReaderContext context, int doc) {
+                    int index = Arrays.binarySearch(docs, context.docBase + doc);
+                    if (index < 0) {
+                        return Explanation.noMatch("not in top k");
+                    }
+                    return Explanation.match(scores[index] * boost, "within top k nearest neighbors");
+                }
+
+                @Override
+                public Scorer scorer(LeafReaderContext context) {
+                    int start = lowerBound(context.docBase);
+                    int end = lowerBound(context.docBase + context.reader().maxDoc());
+                    if (start == end) {
+                        return null;
+                    }
+                    return new DocAndScoreScorer(this, context.docBase, start, end, boost);
+                }
+
+                @Override
+                public boolean isCacheable(LeafReaderContext context) {
+                    // doc ids are only meaningful for the reader the query was rewritten against
+                    return false;
+                }
+            };
+        }
+
+        private class DocAndScoreScorer extends Scorer {
+            private final int docBase;
+            private final int start;
+            private final int end;
+            private final float boost;
+            private int index;
+
+            private final DocIdSetIterator iterator = new DocIdSetIterator() {
+                @Override
+                public int docID() {
+                    if (index < start) {
+                        return -1;
+                    }
+                    return index < end ? docs[index] - docBase : NO_MORE_DOCS;
+                }
+
+                @Override
+                public int nextDoc() {
+                    if (index < end) {
+                        index++;
+                    }
+                    return docID();
+                }
+
+                @Override
+                public int advance(int target) throws IOException {
+                    return slowAdvance(target);
+                }
+
+                @Override
+                public long cost() {
+                    return end - start;
+                }
+            };
+
+            DocAndScoreScorer(Weight weight, int docBase, int start, int end, float boost) {
+                super(weight);
+                this.docBase = docBase;
+                this.start = start;
+                this.end = end;
+                this.boost = boost;
+                this.index = start - 1;
+            }
+
+            @Override
+            public int docID() {
+                return iterator.docID();
+            }
+
+            @Override
+            public DocIdSetIterator iterator() {
+                return iterator;
+            }
+
+            @Override
+            public float getMaxScore(int upTo) {
+                float maxScore = 0;
+                for (int i = Math.max(index, start); i < end && docs[i] - docBase <= upTo; i++) {
+                    maxScore = Math.max(maxScore, scores[i]);
+                }
+                return maxScore * boost;
+            }
+
+            @Override
+            public float score() {
+                return scores[index] * boost;
+            }
+        }
+
+        @Override
+        public void visit(QueryVisitor visitor) {
+            visitor.visitLeaf(this);
+        }
+
+        @Override
+        public String toString(String field) {
+            return "DocAndScoreQuery [" + docs.length + " docs]";
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (sameClassAs(other) == false) {
+                return false;
+            }
+            DocAndScoreQuery that = (DocAndScoreQuery) other;
+            return Arrays.equals(docs, that.docs) && Arrays.equals(scores, that.scores);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(classHash(), Arrays.hashCode(docs), Arrays.hashCode(scores));
+        }
+    }
+}
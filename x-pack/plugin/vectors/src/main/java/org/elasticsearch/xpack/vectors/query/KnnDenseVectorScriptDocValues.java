@@ -112,7 +112,7 @@ public class KnnDenseVectorScriptDocValues extends DenseVectorScriptDocValues {
 
     @Override
     public double l2Norm(float[] queryVector) {
-        return Math.sqrt(VectorUtil.squareDistance(getVectorValue(), queryVector));
+        return Math.sqrt(VectorUtil.squareDistance(getVectorChecked(), queryVector));
     }
 
     @Override
@@ -7,18 +7,26 @@
 
 package org.elasticsearch.xpack.vectors.query;
 
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.Query;
+import org.elasticsearch.Version;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.index.mapper.MappedFieldType;
 import org.elasticsearch.index.query.AbstractQueryBuilder;
+import org.elasticsearch.index.query.MatchNoneQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryRewriteContext;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xpack.vectors.mapper.DenseVectorFieldMapper;
 import org.elasticsearch.xpack.vectors.mapper.DenseVectorFieldMapper.DenseVectorFieldType;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 public class KnnVectorQueryBuilder extends AbstractQueryBuilder<KnnVectorQueryBuilder> {
@@ -27,6 +35,7 @@ public class KnnVectorQueryBuilder extends AbstractQueryBuilder<KnnVectorQueryBu
     private final String fieldName;
     private final float[] queryVector;
     private final int numCands;
+    private final List<QueryBuilder> filterQueries = new ArrayList<>();
 
     public KnnVectorQueryBuilder(String fieldName, float[] queryVector, int numCands) {
         this.fieldName = fieldName;
@@ -39,6 +48,9 @@ public class KnnVectorQueryBuilder extends AbstractQueryBuilder<KnnVectorQueryBu
         this.fieldName = in.readString();
         this.numCands = in.readVInt();
         this.queryVector = in.readFloatArray();
+        if (in.getVersion().onOrAfter(Version.V_8_1_0)) {
+            this.filterQueries.addAll(in.readNamedWriteableList(QueryBuilder.class));
+        }
     }
 
     public String getFieldName() {
@@ -53,16 +65,51 @@ public class KnnVectorQueryBuilder extends AbstractQueryBuilder<KnnVectorQueryBu
         return numCands;
     }
 
+    public List<QueryBuilder> filterQueries() {
+        return filterQueries;
+    }
+
+    /**
+     * Adds a filter that all hits must match. Filters are applied while searching for the nearest neighbors rather
+     * than to the nearest neighbors that were found, so the query returns {@code numCands} hits per shard as long
+     * as enough documents match the filters.
+     */
+    public KnnVectorQueryBuilder addFilterQuery(QueryBuilder filterQuery) {
+        this.filterQueries.add(Objects.requireNonNull(filterQuery));
+        return this;
+    }
+
+    public KnnVectorQueryBuilder addFilterQueries(List<QueryBuilder> filterQueries) {
+        for (QueryBuilder filterQuery : filterQueries) {
+            addFilterQuery(filterQuery);
+        }
+        return this;
+    }
+
     @Override
     protected void doWriteTo(StreamOutput out) throws IOException {
         out.writeString(fieldName);
         out.writeVInt(numCands);
         out.writeFloatArray(queryVector);
+        if (out.getVersion().onOrAfter(Version.V_8_1_0)) {
+            out.writeNamedWriteableList(filterQueries);
+        } else if (filterQueries.isEmpty() == false) {
+            throw new IllegalArgumentException(
+                "[" + NAME + "] queries with filters are not supported on nodes older than [" + Version.V_8_1_0 + "]"
+            );
+        }
     }
 
     @Override
     protected void doXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject(NAME).field("field", fieldName).field("vector", queryVector).field("num_candidates", numCands);
+        if (filterQueries.isEmpty() == false) {
+            builder.startArray("filter");
+            for (QueryBuilder filterQuery : filterQueries) {
+                filterQuery.toXContent(builder, params);
+            }
+            builder.endArray();
+        }
         builder.endObject();
     }
 
@@ -72,7 +119,27 @@ public class KnnVectorQueryBuilder extends AbstractQueryBuilder<KnnVectorQueryBu
     }
 
     @Override
-    protected Query doToQuery(SearchExecutionContext context) {
+    protected QueryBuilder doRewrite(QueryRewriteContext queryRewriteContext) throws IOException {
+        boolean changed = false;
+        List<QueryBuilder> rewrittenFilters = new ArrayList<>(filterQueries.size());
+        for (QueryBuilder filterQuery : filterQueries) {
+            QueryBuilder rewrittenFilter = filterQuery.rewrite(queryRewriteContext);
+            if (rewrittenFilter instanceof MatchNoneQueryBuilder) {
+                return rewrittenFilter;
+            }
+            changed |= rewrittenFilter != filterQuery;
+            rewrittenFilters.add(rewrittenFilter);
+        }
+        if (changed) {
+            return new KnnVectorQueryBuilder(fieldName, queryVector, numCands).addFilterQueries(rewrittenFilters)
+                .boost(boost)
+                .queryName(queryName);
+        }
+        return this;
+    }
+
+    @Override
+    protected Query doToQuery(SearchExecutionContext context) throws IOException {
         MappedFieldType fieldType = context.getFieldType(fieldName);
         if (fieldType == null) {
             throw new IllegalArgumentException("field [" + fieldName + "] does not exist in the mapping");
@@ -85,16 +152,29 @@ public class KnnVectorQueryBuilder extends AbstractQueryBuilder<KnnVectorQueryBu
         }
 
         DenseVectorFieldType vectorFieldType = (DenseVectorFieldType) fieldType;
-        return vectorFieldType.createKnnQuery(queryVector, numCands);
+        Query filter = null;
+        if (filterQueries.size() == 1) {
+            filter = filterQueries.get(0).toQuery(context);
+        } else if (filterQueries.size() > 1) {
+            BooleanQuery.Builder builder = new BooleanQuery.Builder();
+            for (QueryBuilder filterQuery : filterQueries) {
+                builder.add(filterQuery.toQuery(context), BooleanClause.Occur.FILTER);
+            }
+            filter = builder.build();
+        }
+        return vectorFieldType.createKnnQuery(queryVector, numCands, filter);
     }
 
     @Override
     protected int doHashCode() {
-        return Objects.hash(fieldName, Arrays.hashCode(queryVector), numCands);
+        return Objects.hash(fieldName, Arrays.hashCode(queryVector), numCands, filterQueries);
     }
 
     @Override
     protected boolean doEquals(KnnVectorQueryBuilder other) {
-        return Objects.equals(fieldName, other.fieldName) && Arrays.equals(queryVector, other.queryVector) && numCands == other.numCands;
+        return Objects.equals(fieldName, other.fieldName)
+            && Arrays.equals(queryVector, other.queryVector)
+            && numCands == other.numCands
+            && Objects.equals(filterQueries, other.filterQueries);
     }
 }
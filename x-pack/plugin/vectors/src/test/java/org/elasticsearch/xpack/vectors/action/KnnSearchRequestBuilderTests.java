@@ -11,12 +11,17 @@ import org.elasticsearch.action.search.SearchAction;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.rest.RestRequest;
+import org.elasticsearch.search.SearchModule;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.search.fetch.subphase.FieldAndFormat;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.rest.FakeRestRequest;
+import org.elasticsearch.xcontent.NamedXContentRegistry;
 import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentType;
@@ -26,6 +31,7 @@ import org.elasticsearch.xpack.vectors.query.KnnVectorQueryBuilder;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.elasticsearch.search.RandomSearchRequestGenerator.randomSearchSourceBuilder;
@@ -33,6 +39,11 @@ import static org.hamcrest.Matchers.containsString;
 
 public class KnnSearchRequestBuilderTests extends ESTestCase {
 
+    @Override
+    protected NamedXContentRegistry xContentRegistry() {
+        return new NamedXContentRegistry(new SearchModule(Settings.EMPTY, List.of()).getNamedXContents());
+    }
+
     public void testBuildSearchRequest() throws IOException {
         // Choose random REST parameters
         Map<String, String> params = new HashMap<>();
@@ -126,6 +137,37 @@ public class KnnSearchRequestBuilderTests extends ESTestCase {
         assertArrayEquals(new String[] { "field1", "field2", "field3" }, fetchSource.includes());
     }
 
+    public void testParseFilter() throws IOException {
+        XContentType xContentType = randomFrom(XContentType.values());
+        XContentBuilder builder = XContentBuilder.builder(xContentType.xContent());
+
+        KnnSearch knnSearch = randomKnnSearch();
+        builder.startObject()
+            .startObject(KnnSearchRequestBuilder.KNN_SECTION_FIELD.getPreferredName())
+            .field(KnnSearch.FIELD_FIELD.getPreferredName(), knnSearch.field)
+            .field(KnnSearch.K_FIELD.getPreferredName(), knnSearch.k)
+            .field(KnnSearch.NUM_CANDS_FIELD.getPreferredName(), knnSearch.numCands)
+            .field(KnnSearch.QUERY_VECTOR_FIELD.getPreferredName(), knnSearch.queryVector)
+            .endObject();
+
+        List<QueryBuilder> filters;
+        if (randomBoolean()) {
+            filters = List.of(QueryBuilders.termQuery("category", "books"));
+            builder.field(KnnSearchRequestBuilder.FILTER_FIELD.getPreferredName(), filters.get(0));
+        } else {
+            filters = List.of(QueryBuilders.termQuery("category", "books"), QueryBuilders.termQuery("format", "hardcover"));
+            builder.field(KnnSearchRequestBuilder.FILTER_FIELD.getPreferredName(), filters);
+        }
+        builder.endObject();
+
+        SearchRequestBuilder searchRequestBuilder = buildSearchRequest(builder);
+        SearchRequest searchRequest = searchRequestBuilder.request();
+
+        KnnVectorQueryBuilder query = new KnnVectorQueryBuilder(knnSearch.field, knnSearch.queryVector, knnSearch.numCands)
+            .addFilterQueries(filters);
+        assertEquals(query, searchRequest.source().query());
+    }
+
     public void testMissingKnnSection() throws IOException {
         XContentType xContentType = randomFrom(XContentType.values());
         XContentBuilder builder = XContentBuilder.builder(xContentType.xContent())
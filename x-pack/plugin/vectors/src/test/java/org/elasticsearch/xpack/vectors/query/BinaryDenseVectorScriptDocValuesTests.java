@@ -89,6 +89,42 @@ public class BinaryDenseVectorScriptDocValuesTests extends ESTestCase {
         }
     }
 
+    public void testSimilarityFunctionsMatchScalarLoops() {
+        int dims = randomIntBetween(1, 100);
+        float[] docVector = new float[dims];
+        float[] queryVector = new float[dims];
+        for (int i = 0; i < dims; i++) {
+            docVector[i] = randomFloat() * 100 - 50;
+            queryVector[i] = randomFloat() * 100 - 50;
+        }
+
+        // encode the vector in the middle of a larger array to check that the offset is honored
+        int offset = randomIntBetween(0, 16);
+        ByteBuffer byteBuffer = ByteBuffer.allocate(offset + VectorEncoderDecoder.INT_BYTES * (dims + 1) + randomIntBetween(0, 16));
+        byteBuffer.position(offset);
+        for (float value : docVector) {
+            byteBuffer.putFloat(value);
+        }
+        BytesRef vectorBR = new BytesRef(byteBuffer.array(), offset, VectorEncoderDecoder.INT_BYTES * (dims + 1));
+
+        double dotProduct = 0;
+        double l1Norm = 0;
+        double l2Norm = 0;
+        for (int i = 0; i < dims; i++) {
+            assertEquals(docVector[i], VectorEncoderDecoder.decodeFloat(vectorBR, i), 0f);
+            dotProduct += queryVector[i] * docVector[i];
+            l1Norm += Math.abs(queryVector[i] - docVector[i]);
+            double diff = queryVector[i] - docVector[i];
+            l2Norm += diff * diff;
+        }
+        l2Norm = Math.sqrt(l2Norm);
+
+        // the functions sum in the same order as the scalar loops, so the scores are exactly the same
+        assertEquals(dotProduct, VectorEncoderDecoder.dotProduct(vectorBR, queryVector), 0d);
+        assertEquals(l1Norm, VectorEncoderDecoder.l1Norm(vectorBR, queryVector), 0d);
+        assertEquals(l2Norm, VectorEncoderDecoder.l2Norm(vectorBR, queryVector), 0d);
+    }
+
     static BinaryDocValues wrap(float[][] vectors, Version indexVersion) {
         return new BinaryDocValues() {
             int idx = -1;
@@ -10,7 +10,9 @@ package org.elasticsearch.xpack.vectors.query;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.plugins.Plugin;
+import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.test.ESSingleNodeTestCase;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentFactory;
@@ -67,6 +69,52 @@ public class KnnSearchActionTests extends ESSingleNodeTestCase {
         assertEquals(2, response.getHits().getHits().length);
     }
 
+    public void testFilteredSearch() throws IOException {
+        Settings indexSettings = Settings.builder().put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1).build();
+        XContentBuilder builder = XContentFactory.jsonBuilder()
+            .startObject()
+            .startObject("properties")
+            .startObject("vector")
+            .field("type", "dense_vector")
+            .field("dims", VECTOR_DIMENSION)
+            .field("index", true)
+            .field("similarity", "l2_norm")
+            .endObject()
+            .startObject("category")
+            .field("type", "keyword")
+            .endObject()
+            .endObject()
+            .endObject();
+        createIndex("index", indexSettings, builder);
+
+        int numDocs = randomIntBetween(50, 200);
+        int numMatching = 0;
+        for (int doc = 0; doc < numDocs; doc++) {
+            String category = doc % 10 == 0 ? "rare" : "common";
+            numMatching += doc % 10 == 0 ? 1 : 0;
+            client().prepareIndex("index")
+                .setId(String.valueOf(doc))
+                .setSource("vector", randomVector(), "category", category)
+                .get();
+            if (rarely()) {
+                client().admin().indices().prepareRefresh("index").get();
+            }
+        }
+        client().admin().indices().prepareRefresh("index").get();
+
+        // Filtering the nearest neighbors after the search would almost always return fewer than num_cands hits
+        int numCands = randomIntBetween(1, numMatching);
+        KnnVectorQueryBuilder query = new KnnVectorQueryBuilder("vector", randomVector(), numCands).addFilterQuery(
+            QueryBuilders.termQuery("category", "rare")
+        );
+        SearchResponse response = client().prepareSearch("index").setQuery(query).setSize(numCands).get();
+
+        assertHitCount(response, numCands);
+        for (SearchHit hit : response.getHits().getHits()) {
+            assertEquals(0, Integer.parseInt(hit.getId()) % 10);
+        }
+    }
+
     private float[] randomVector() {
         float[] vector = new float[VECTOR_DIMENSION];
         for (int i = 0; i < vector.length; i++) {
@@ -7,11 +7,16 @@
 
 package org.elasticsearch.xpack.vectors.query;
 
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.KnnVectorQuery;
 import org.apache.lucene.search.Query;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.plugins.Plugin;
 import org.elasticsearch.test.AbstractBuilderTestCase;
@@ -71,16 +76,44 @@ public class KnnVectorQueryBuilderTests extends AbstractQueryTestCase<KnnVectorQ
             vector[i] = randomFloat();
         }
         int numCands = randomIntBetween(1, 1000);
-        return new KnnVectorQueryBuilder(fieldName, vector, numCands);
+        KnnVectorQueryBuilder queryBuilder = new KnnVectorQueryBuilder(fieldName, vector, numCands);
+        int numFilters = randomIntBetween(0, 3);
+        for (int i = 0; i < numFilters; i++) {
+            queryBuilder.addFilterQuery(QueryBuilders.termQuery(AbstractBuilderTestCase.KEYWORD_FIELD_NAME, randomAlphaOfLength(5)));
+        }
+        return queryBuilder;
     }
 
     @Override
-    protected void doAssertLuceneQuery(KnnVectorQueryBuilder queryBuilder, Query query, SearchExecutionContext context) {
-        assertTrue(query instanceof KnnVectorQuery);
-        KnnVectorQuery knnVectorQuery = (KnnVectorQuery) query;
+    protected void doAssertLuceneQuery(KnnVectorQueryBuilder queryBuilder, Query query, SearchExecutionContext context)
+        throws IOException {
+        if (queryBuilder.filterQueries().isEmpty()) {
+            assertTrue(query instanceof KnnVectorQuery);
+            KnnVectorQuery knnVectorQuery = (KnnVectorQuery) query;
+
+            // The field should always be resolved to the concrete field
+            assertThat(knnVectorQuery, equalTo(new KnnVectorQuery(VECTOR_FIELD, queryBuilder.queryVector(), queryBuilder.numCands())));
+            return;
+        }
 
-        // The field should always be resolved to the concrete field
-        assertThat(knnVectorQuery, equalTo(new KnnVectorQuery(VECTOR_FIELD, queryBuilder.queryVector(), queryBuilder.numCands())));
+        Query expectedFilter;
+        if (queryBuilder.filterQueries().size() == 1) {
+            expectedFilter = queryBuilder.filterQueries().get(0).toQuery(context);
+        } else {
+            BooleanQuery.Builder builder = new BooleanQuery.Builder();
+            for (QueryBuilder filterQuery : queryBuilder.filterQueries()) {
+                builder.add(filterQuery.toQuery(context), BooleanClause.Occur.FILTER);
+            }
+            expectedFilter = builder.build();
+        }
+        Query expected = new FilteredKnnVectorQuery(
+            VECTOR_FIELD,
+            queryBuilder.queryVector(),
+            queryBuilder.numCands(),
+            expectedFilter,
+            VectorSimilarityFunction.EUCLIDEAN
+        );
+        assertThat(query, equalTo(expected));
     }
 
     public void testWrongDimension() {
@@ -126,6 +159,35 @@ public class KnnVectorQueryBuilderTests extends AbstractQueryTestCase<KnnVectorQ
         assertEquals(expected, query.toString());
     }
 
+    public void testValidOutputWithFilter() {
+        KnnVectorQueryBuilder query = new KnnVectorQueryBuilder(VECTOR_FIELD, new float[] { 1.0f, 2.0f, 3.0f }, 10).addFilterQuery(
+            QueryBuilders.termQuery("category", "books")
+        );
+        String expected = """
+            {
+              "knn" : {
+                "field" : "vector",
+                "vector" : [
+                  1.0,
+                  2.0,
+                  3.0
+                ],
+                "num_candidates" : 10,
+                "filter" : [
+                  {
+                    "term" : {
+                      "category" : {
+                        "value" : "books",
+                        "boost" : 1.0
+                      }
+                    }
+                  }
+                ]
+              }
+            }""";
+        assertEquals(expected, query.toString());
+    }
+
     @Override
     public void testUnknownObjectException() throws IOException {
         // Test isn't relevant, since query is never parsed from xContent